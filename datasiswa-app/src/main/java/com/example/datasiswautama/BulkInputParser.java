@@ -10,15 +10,13 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 
-import java.util.HashSet;
-import java.util.Set;
-
 public class BulkInputParser extends Application {
 
     private TextArea inputArea;
     private TreeTableView<Student> treeTable;
     private ObservableList<Student> dataList;
-    private Set<String> existingNames;
+    private final StudentStore store = new StudentStore();
+    private NameIndex existingNames;
     private Label countLabel;
 
     public static void main(String[] args) { launch(args); }
@@ -28,7 +26,7 @@ public class BulkInputParser extends Application {
         stage.setTitle("📊 Bulk Input Data Siswa");
 
         dataList = FXCollections.observableArrayList();
-        existingNames = new HashSet<>();
+        existingNames = new NameIndex(store);
 
         inputArea = new TextArea();
         inputArea.setPromptText("Masukkan data siswa tiap baris: Nama,Kelas,Jurusan");
@@ -42,10 +40,8 @@ public class BulkInputParser extends Application {
         treeTable.setShowRoot(false);
         treeTable.setEditable(true);
 
-        TreeTableColumn<Student,String> noCol = new TreeTableColumn<>("No");
-        noCol.setCellValueFactory(c -> new SimpleStringProperty(
-                String.valueOf(dataList.indexOf(c.getValue().getValue())+1)
-        ));
+        TreeTableColumn<Student,TreeItem<Student>> noCol = new TreeTableColumn<>("No");
+        RowNumberTreeTableCell.install(noCol, item -> true);
         noCol.setPrefWidth(50);
 
         TreeTableColumn<Student,String> nameCol = new TreeTableColumn<>("Nama");
@@ -75,43 +71,39 @@ public class BulkInputParser extends Application {
         String text = inputArea.getText().trim();
         if (text.isEmpty()) return;
 
+        // baris kosong/nama kosong/sudah ada dilewati oleh StudentImporter (engine yang sama dengan SmartDataParser)
+        StudentImporter importer = new StudentImporter(store, existingNames, StudentImporter.DEFAULT_BATCH,
+                (ids, count) -> { for (int i = 0; i < count; i++) dataList.add(new Student(store, ids[i])); });
         String[] lines = text.split("\\r?\\n");
         for (String line : lines) {
             String[] parts = line.split(",");
             if (parts.length < 3) continue;
-
-            String nama = parts[0].trim();
-            String kelas = parts[1].trim();
-            String jurusan = parts[2].trim();
-
-            if (!existingNames.contains(nama.toLowerCase())) {
-                Student s = new Student(nama, kelas, jurusan);
-                dataList.add(s);
-                existingNames.add(nama.toLowerCase());
-            }
+            importer.offer(parts[0].trim(), parts[1].trim(), parts[2].trim(), "");
         }
+        importer.flush();
         refreshTree();
     }
 
     private void refreshTree() {
-        TreeItem<Student> root = new TreeItem<>(new Student("","",""));
+        TreeItem<Student> root = new TreeItem<>(); // root disembunyikan, tidak perlu nilai
         for (Student s : dataList) root.getChildren().add(new TreeItem<>(s));
         treeTable.setRoot(root);
         treeTable.refresh();
         countLabel.setText("👥 Total siswa: " + dataList.size());
     }
 
+    // Pegangan ke baris StudentStore; property hanya dibuat untuk sel yang tampil.
     public static class Student {
-        private final StringProperty nama, kelas, jurusan;
+        private final StudentStore store;
+        private final int id;
 
-        public Student(String nama, String kelas, String jurusan) {
-            this.nama = new SimpleStringProperty(nama);
-            this.kelas = new SimpleStringProperty(kelas);
-            this.jurusan = new SimpleStringProperty(jurusan);
+        public Student(StudentStore store, int id) {
+            this.store = store;
+            this.id = id;
         }
 
-        public StringProperty namaProperty() { return nama; }
-        public StringProperty kelasProperty() { return kelas; }
-        public StringProperty jurusanProperty() { return jurusan; }
+        public StringProperty namaProperty() { return new SimpleStringProperty(this, "nama", store.nama(id)); }
+        public StringProperty kelasProperty() { return new SimpleStringProperty(this, "kelas", store.kelas(id)); }
+        public StringProperty jurusanProperty() { return new SimpleStringProperty(this, "jurusan", store.jurusan(id)); }
     }
 }
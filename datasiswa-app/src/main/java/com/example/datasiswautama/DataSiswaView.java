@@ -0,0 +1,235 @@
+package com.example.datasiswautama;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Application;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class DataSiswaView extends Application {
+
+    // Hasil pencarian besar tidak dihitung sampai habis (label menampilkan "100.000+").
+    private static final int SEARCH_COUNT_CAP = 100_000;
+    private static final String SEMUA = "Semua";
+
+    private final SiswaRepository repository = SiswaRepository.createDefault();
+    private TableView<Siswa> table;
+    private Label info;
+    private PagedSiswaList items;
+    private TextField tfCari;
+    private ComboBox<String> cbSekolah, cbJurusan, cbKelas;
+    private Map<TableColumn<Siswa, ?>, SiswaQuery.Kolom> sortColumns;
+    private int generation; // reload terbaru; hasil hitung yang lebih lama diabaikan
+    private boolean updatingOptions; // pilihan filter sedang diganti: jangan reload
+    private String sortKey = ""; // urutan yang terakhir dimuat
+
+    @Override
+    public void start(Stage stage) {
+        stage.setTitle("📄 Data Siswa (Database)");
+
+        table = new TableView<>();
+        table.setPlaceholder(new Label("Belum ada data siswa di database."));
+        // tinggi baris tetap: TableView tidak perlu mengukur baris yang belum dimuat
+        table.setFixedCellSize(24);
+
+        TableColumn<Siswa, String> colNama = new TableColumn<>("Nama");
+        colNama.setCellValueFactory(data -> data.getValue().namaProperty());
+
+        TableColumn<Siswa, String> colKelas = new TableColumn<>("Kelas");
+        colKelas.setCellValueFactory(data -> data.getValue().kelasProperty());
+
+        TableColumn<Siswa, String> colJurusan = new TableColumn<>("Jurusan");
+        colJurusan.setCellValueFactory(data -> data.getValue().jurusanProperty());
+
+        TableColumn<Siswa, String> colSekolah = new TableColumn<>("Sekolah");
+        colSekolah.setCellValueFactory(data -> data.getValue().sekolahProperty());
+
+        table.getColumns().addAll(colNama, colKelas, colJurusan, colSekolah);
+        sortColumns = Map.of(colNama, SiswaQuery.Kolom.NAMA, colKelas, SiswaQuery.Kolom.KELAS,
+                colJurusan, SiswaQuery.Kolom.JURUSAN, colSekolah, SiswaQuery.Kolom.SEKOLAH);
+        // sort dikerjakan database: klik header hanya mengganti ORDER BY lalu memuat ulang
+        table.setSortPolicy(t -> {
+            // TableView juga memanggil sort saat items diganti; muat ulang hanya kalau urutannya berubah
+            String key = t.getSortOrder().isEmpty() ? ""
+                    : t.getSortOrder().get(0).getText() + t.getSortOrder().get(0).getSortType();
+            if (!key.equals(sortKey)) {
+                sortKey = key;
+                reload();
+            }
+            return true;
+        });
+
+        // 🔸 Cari & filter (WHERE di database)
+        tfCari = new TextField();
+        tfCari.setPromptText("🔍 Cari awalan nama...");
+        PauseTransition debounce = new PauseTransition(Duration.millis(250));
+        debounce.setOnFinished(e -> reload());
+        tfCari.textProperty().addListener((obs, o, v) -> debounce.playFromStart());
+
+        // nilai Kategori dulu, lalu ditambah nilai yang ada di database (loadFilterOptions)
+        cbSekolah = filterBox(Kategori.labels(Kategori.Sekolah.values()));
+        cbJurusan = filterBox(Kategori.labels(Kategori.Jurusan.values()));
+        cbKelas = filterBox(Kategori.labels(Kategori.Kelas.values()));
+
+        info = new Label("⏳ Menghitung data...");
+        Button btnRefresh = new Button("🔄 Muat Ulang");
+        btnRefresh.setOnAction(e -> {
+            loadFilterOptions();
+            reload();
+        });
+
+        HBox top = new HBox(10, new Label("Daftar Data Siswa"), btnRefresh, info);
+        HBox filters = new HBox(8, tfCari, cbSekolah, cbJurusan, cbKelas);
+        VBox root = new VBox(10, top, filters, table);
+        root.setPadding(new Insets(15));
+
+        stage.setScene(new Scene(root, 720, 440));
+        stage.setOnHidden(e -> {
+            if (items != null) items.dispose();
+        });
+        stage.show();
+        loadFilterOptions();
+        reload();
+    }
+
+    private ComboBox<String> filterBox(String... values) {
+        ComboBox<String> cb = new ComboBox<>();
+        cb.getItems().add(SEMUA);
+        cb.getItems().addAll(values);
+        cb.setValue(SEMUA);
+        cb.valueProperty().addListener((obs, o, v) -> {
+            if (!updatingOptions) reload();
+        });
+        return cb;
+    }
+
+    // Sekolah/jurusan/kelas di luar Kategori (mis. "Tidak Diketahui" atau nilai bebas dari import
+    // CSV) tetap bisa difilter: pilihan diisi dari SELECT DISTINCT per kolom.
+    private void loadFilterOptions() {
+        Task<List<List<String>>> task = new Task<>() {
+            @Override
+            protected List<List<String>> call() throws Exception {
+                return List.of(repository.distinct(SiswaQuery.Kolom.SEKOLAH),
+                        repository.distinct(SiswaQuery.Kolom.JURUSAN),
+                        repository.distinct(SiswaQuery.Kolom.KELAS));
+            }
+        };
+        task.setOnSucceeded(e -> {
+            setOptions(cbSekolah, task.getValue().get(0));
+            setOptions(cbJurusan, task.getValue().get(1));
+            setOptions(cbKelas, task.getValue().get(2));
+        });
+        // gagal: pilihan Kategori tetap dipakai; error koneksi sudah ditampilkan reload()
+        Thread t = new Thread(task, "datasiswa-filter-options");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void setOptions(ComboBox<String> cb, List<String> values) {
+        Set<String> options = new LinkedHashSet<>(cb.getItems());
+        for (String v : values) {
+            if (v != null && !v.isEmpty()) options.add(v);
+        }
+        if (options.size() == cb.getItems().size()) return;
+        String current = cb.getValue();
+        updatingOptions = true;
+        try {
+            cb.getItems().setAll(options);
+            cb.setValue(current);
+        } finally {
+            updatingOptions = false;
+        }
+    }
+
+    private SiswaQuery buildQuery() {
+        SiswaQuery q = new SiswaQuery()
+                .namaPrefix(tfCari.getText())
+                .sekolah(filterValue(cbSekolah))
+                .jurusan(filterValue(cbJurusan))
+                .kelas(filterValue(cbKelas));
+        if (!table.getSortOrder().isEmpty()) {
+            TableColumn<Siswa, ?> c = table.getSortOrder().get(0);
+            q.sortBy(sortColumns.get(c), c.getSortType() == TableColumn.SortType.DESCENDING);
+        }
+        return q;
+    }
+
+    private static String filterValue(ComboBox<String> cb) {
+        return SEMUA.equals(cb.getValue()) ? null : cb.getValue();
+    }
+
+    // Hitung ulang jumlah baris lalu pasang list berhalaman yang baru (cache lama dibuang).
+    private void reload() {
+        if (tfCari == null) return; // sort policy bisa terpanggil sebelum UI selesai dibuat
+        SiswaQuery query = buildQuery();
+        int gen = ++generation;
+        long cap = query.isFiltered() ? SEARCH_COUNT_CAP + 1 : 0;
+        Task<Long> count = new Task<>() {
+            @Override
+            protected Long call() throws Exception {
+                return repository.count(query, cap);
+            }
+        };
+        count.setOnSucceeded(e -> {
+            if (gen != generation) return;
+            if (items != null) items.dispose();
+            long total = count.getValue();
+            int n = (int) Math.min(total, cap > 0 ? SEARCH_COUNT_CAP : Integer.MAX_VALUE);
+            items = new PagedSiswaList(repository, query, n, ex -> info.setText("❌ Gagal memuat: " + ex.getMessage()));
+            table.setItems(items);
+            info.setText(total > n ? String.format("👥 %,d+ siswa", n) : String.format("👥 %,d siswa", n));
+        });
+        count.setOnFailed(e -> {
+            if (gen == generation) info.setText("❌ Gagal koneksi ke database: " + count.getException().getMessage());
+        });
+        Thread t = new Thread(count, "datasiswa-count");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    // Baris tabel (read-only).
+    // Property dibuat saat pertama kali diminta oleh sel tabel, bukan di constructor.
+    public static class Siswa {
+        private final String nama, kelas, jurusan, sekolah;
+        private javafx.beans.property.SimpleStringProperty namaProp, kelasProp, jurusanProp, sekolahProp;
+
+        public Siswa(String nama, String kelas, String jurusan, String sekolah) {
+            this.nama = nama;
+            this.kelas = kelas;
+            this.jurusan = jurusan;
+            this.sekolah = sekolah;
+        }
+
+        public String getNama() { return nama; }
+        public String getKelas() { return kelas; }
+        public String getJurusan() { return jurusan; }
+        public String getSekolah() { return sekolah; }
+
+        public javafx.beans.property.StringProperty namaProperty() {
+            if (namaProp == null) namaProp = new javafx.beans.property.SimpleStringProperty(nama);
+            return namaProp;
+        }
+        public javafx.beans.property.StringProperty kelasProperty() {
+            if (kelasProp == null) kelasProp = new javafx.beans.property.SimpleStringProperty(kelas);
+            return kelasProp;
+        }
+        public javafx.beans.property.StringProperty jurusanProperty() {
+            if (jurusanProp == null) jurusanProp = new javafx.beans.property.SimpleStringProperty(jurusan);
+            return jurusanProp;
+        }
+        public javafx.beans.property.StringProperty sekolahProperty() {
+            if (sekolahProp == null) sekolahProp = new javafx.beans.property.SimpleStringProperty(sekolah);
+            return sekolahProp;
+        }
+    }
+}
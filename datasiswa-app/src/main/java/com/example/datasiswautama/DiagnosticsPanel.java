@@ -0,0 +1,128 @@
+package com.example.datasiswautama;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Application;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+// Jendela "Diagnostik": isi Metrics (parse, dedupe, pohon, CSV/snapshot, JDBC) dengan p50/p99,
+// diperbarui tiap detik selama jendela terbuka. Timer ditampilkan dalam milidetik.
+public class DiagnosticsPanel extends Application {
+
+    private TableView<Metrics.Metric> table;
+    private Label info;
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    @Override
+    public void start(Stage stage) {
+        stage.setTitle("🩺 Diagnostik");
+
+        CheckBox cbEnabled = new CheckBox("Aktifkan metrik");
+        cbEnabled.setSelected(Metrics.isEnabled());
+        cbEnabled.selectedProperty().addListener((obs, o, on) -> Metrics.setEnabled(on));
+        cbEnabled.setTooltip(new Tooltip("Saat mati, pengukuran hampir tanpa biaya (satu cek flag per titik ukur)"));
+
+        table = new TableView<>();
+        table.setPlaceholder(new Label("Belum ada metrik."));
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        TableColumn<Metrics.Metric, String> colNama = column("Metrik", m -> m.name);
+        colNama.setCellFactory(c -> new TableCell<>() {
+            @Override
+            protected void updateItem(String item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty ? null : item);
+                Metrics.Metric m = empty || getTableRow() == null ? null : getTableRow().getItem();
+                setTooltip(m == null ? null : new Tooltip(m.help));
+            }
+        });
+        table.getColumns().add(colNama);
+        table.getColumns().add(column("Jenis", m -> m.type()));
+        table.getColumns().add(column("Jumlah", m -> m instanceof Metrics.Counter c
+                ? String.format("%,d", c.value())
+                : String.format("%,d", ((Metrics.Histogram) m).count())));
+        table.getColumns().add(column("p50", m -> value(m, h -> h.percentile(0.50))));
+        table.getColumns().add(column("p99", m -> value(m, h -> h.percentile(0.99))));
+        table.getColumns().add(column("Maks", m -> value(m, Metrics.Histogram::max)));
+        table.getColumns().add(column("Total", m -> value(m, Metrics.Histogram::sum)));
+
+        Button btnExport = new Button("📤 Ekspor...");
+        btnExport.setOnAction(e -> export(stage));
+        Button btnReset = new Button("♻️ Reset");
+        btnReset.setOnAction(e -> {
+            Metrics.reset();
+            refresh();
+        });
+
+        info = new Label();
+        HBox top = new HBox(10, cbEnabled, btnExport, btnReset);
+        top.setAlignment(Pos.CENTER_LEFT);
+        VBox root = new VBox(8, top, table, info);
+        root.setPadding(new Insets(12));
+
+        Timeline ticker = new Timeline(new KeyFrame(Duration.seconds(1), e -> refresh()));
+        ticker.setCycleCount(Timeline.INDEFINITE);
+        stage.setOnShown(e -> ticker.play());
+        stage.setOnHidden(e -> ticker.stop());
+
+        refresh();
+        stage.setScene(new Scene(root, 720, 420));
+        stage.show();
+    }
+
+    private void refresh() {
+        // metrik didaftarkan saat kelas pemakainya dimuat, jadi daftarnya bisa bertambah
+        table.getItems().setAll(Metrics.all());
+        table.refresh();
+        String endpoint = Metrics.endpoint();
+        info.setText((Metrics.isEnabled() ? "Metrik aktif" : "Metrik mati")
+                + (endpoint == null ? "" : " • " + endpoint) + " • timer dalam ms");
+    }
+
+    private void export(Stage stage) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Ekspor metrik");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("JSON", "*.json"),
+                new FileChooser.ExtensionFilter("Teks Prometheus", "*.prom", "*.txt"));
+        chooser.setInitialFileName("metrics.json");
+        File file = chooser.showSaveDialog(stage);
+        if (file == null) return;
+        try {
+            Metrics.write(file.toPath());
+            info.setText("✅ Metrik disimpan ke " + file.getName());
+        } catch (IOException ex) {
+            new Alert(Alert.AlertType.ERROR, "Gagal menyimpan metrik: " + ex.getMessage()).showAndWait();
+        }
+    }
+
+    private static TableColumn<Metrics.Metric, String> column(String title, Function<Metrics.Metric, String> text) {
+        TableColumn<Metrics.Metric, String> col = new TableColumn<>(title);
+        col.setCellValueFactory(c -> new SimpleStringProperty(text.apply(c.getValue())));
+        col.setSortable(false);
+        return col;
+    }
+
+    private static String value(Metrics.Metric m, ToLongFunction<Metrics.Histogram> f) {
+        if (!(m instanceof Metrics.Histogram h)) return "";
+        return h instanceof Metrics.Timer
+                ? String.format("%,.3f", h.scaled(f.applyAsLong(h)))
+                : String.format("%,d", f.applyAsLong(h));
+    }
+}
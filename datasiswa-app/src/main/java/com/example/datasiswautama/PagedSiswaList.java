@@ -0,0 +1,179 @@
+package com.example.datasiswautama;
+
+import com.example.datasiswautama.DataSiswaView.Siswa;
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+// ObservableList read-only untuk TableView yang isinya dibaca dari tabel siswa per halaman.
+// Ukuran list = COUNT(*); get(i) untuk halaman yang belum dimuat mengembalikan baris "Memuat..."
+// dan meminta halaman itu (plus tetangganya) ke thread loader. Setelah halaman tiba, baris-baris
+// itu diganti (nextSet) sehingga sel yang tampil diperbarui.
+//
+// Filter dan urutan berasal dari SiswaQuery (dikerjakan di database). Halaman dicari dengan keyset
+// (sesudah key baris terakhir halaman sebelumnya, atau sebelum key baris pertama halaman
+// sesudahnya). Hanya lompatan jauh tanpa tetangga di cache yang memakai OFFSET, sekali.
+// Cache halaman LRU dengan jumlah tetap, jadi memori tidak bergantung pada jumlah siswa.
+//
+// Semua state cache hanya disentuh FX thread; loader hanya menjalankan query.
+public final class PagedSiswaList extends ObservableListBase<Siswa> {
+
+    public static final int PAGE_SIZE = 200;
+    public static final int MAX_PAGES = 32;
+    private static final Siswa LOADING = new Siswa("⏳ Memuat...", "", "", "");
+
+    private final SiswaRepository repository;
+    private final SiswaQuery query;
+    private final int size;
+    private final Consumer<Exception> onError;
+    private final Map<Integer, Page> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Page> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+    private final Set<Integer> requested = new HashSet<>();
+    private final Deque<Request> queue = new ArrayDeque<>(); // dijaga oleh queue; diambil dari belakang (LIFO)
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "datasiswa-page-loader");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile int wantedPage;
+    private boolean disposed;
+
+    // query tidak boleh diubah lagi setelah diberikan ke sini (dibaca thread loader).
+    public PagedSiswaList(SiswaRepository repository, SiswaQuery query, int size, Consumer<Exception> onError) {
+        this.repository = repository;
+        this.query = query;
+        this.size = size;
+        this.onError = onError;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Siswa get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        int p = index / PAGE_SIZE;
+        Page page = pages.get(p);
+        if (page == null) {
+            wantedPage = p;
+            request(p);
+            request(p + 1); // prefetch ke arah scroll yang paling umum
+            request(p - 1);
+            return LOADING;
+        }
+        int offset = index - p * PAGE_SIZE;
+        if (offset == PAGE_SIZE - PAGE_SIZE / 4) request(p + 1); // sudah 3/4 halaman: siapkan berikutnya
+        return offset < page.rows.length ? page.rows[offset] : LOADING;
+    }
+
+    // Hentikan loader (dipanggil saat jendela ditutup atau list diganti).
+    public void dispose() {
+        disposed = true;
+        loader.shutdownNow();
+    }
+
+    private void request(int p) {
+        if (disposed || p < 0 || p * (long) PAGE_SIZE >= size || pages.containsKey(p) || !requested.add(p)) return;
+        // kunci keyset diambil sekarang (FX thread), dari halaman tetangga yang ada di cache
+        Page before = pages.get(p - 1);
+        Page after = pages.get(p + 1);
+        Request r = new Request(p,
+                before != null ? before.last : null,
+                before == null && after != null ? after.first : null);
+        synchronized (queue) {
+            queue.addLast(r);
+        }
+        loader.execute(this::loadNext);
+    }
+
+    // Thread loader: halaman yang paling baru diminta didahulukan; yang sudah jauh dari posisi
+    // scroll dibuang tanpa query.
+    private void loadNext() {
+        Request r;
+        synchronized (queue) {
+            r = queue.pollLast();
+        }
+        if (r == null) return;
+        if (Math.abs(r.page - wantedPage) > MAX_PAGES / 2) {
+            Platform.runLater(() -> requested.remove(r.page));
+            return;
+        }
+        try {
+            List<String[]> rows;
+            if (r.after != null) {
+                rows = repository.pageAfter(query, r.after, PAGE_SIZE);
+            } else if (r.before != null) {
+                rows = repository.pageBefore(query, r.before, PAGE_SIZE);
+            } else if (r.page == 0) {
+                rows = repository.pageAfter(query, null, PAGE_SIZE);
+            } else {
+                SiswaQuery.Key seek = repository.keyAt(query, (long) r.page * PAGE_SIZE - 1);
+                rows = seek == null ? List.of() : repository.pageAfter(query, seek, PAGE_SIZE);
+            }
+            Siswa[] siswa = new Siswa[rows.size()];
+            for (int i = 0; i < siswa.length; i++) {
+                String[] row = rows.get(i);
+                siswa[i] = new Siswa(row[0], row[1], row[2], row[3]);
+            }
+            Page page = rows.isEmpty() ? new Page(siswa, null, null)
+                    : new Page(siswa, query.keyOf(rows.get(0)), query.keyOf(rows.get(rows.size() - 1)));
+            Platform.runLater(() -> install(r.page, page));
+        } catch (Exception e) {
+            Platform.runLater(() -> {
+                requested.remove(r.page);
+                if (!disposed) onError.accept(e);
+            });
+        }
+    }
+
+    private void install(int p, Page page) {
+        requested.remove(p);
+        if (disposed) return;
+        pages.put(p, page);
+        int from = p * PAGE_SIZE;
+        int to = Math.min(size, from + PAGE_SIZE);
+        beginChange();
+        for (int i = from; i < to; i++) nextSet(i, LOADING);
+        endChange();
+    }
+
+    private static final class Page {
+        final Siswa[] rows;
+        final SiswaQuery.Key first;
+        final SiswaQuery.Key last;
+
+        Page(Siswa[] rows, SiswaQuery.Key first, SiswaQuery.Key last) {
+            this.rows = rows;
+            this.first = first;
+            this.last = last;
+        }
+    }
+
+    private static final class Request {
+        final int page;
+        final SiswaQuery.Key after;
+        final SiswaQuery.Key before;
+
+        Request(int page, SiswaQuery.Key after, SiswaQuery.Key before) {
+            this.page = page;
+            this.after = after;
+            this.before = before;
+        }
+    }
+}
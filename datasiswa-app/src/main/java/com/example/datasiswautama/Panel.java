@@ -2,6 +2,7 @@
 package com.example.datasiswautama;
 
 import javafx.application.Application;
+import javafx.concurrent.Task;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -10,6 +11,9 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class Panel extends Application {
 
     // 🔹 Data siswa sementara (belum ke database)
@@ -39,10 +43,11 @@ public class Panel extends Application {
         Button btnSimpan = new Button("💾 Simpan Manual");
         Button btnMassInput = new Button("📊 Input Skala Besar");
         Button btnLihatData = new Button("📄 Lihat Data");
+        Button btnSimpanDb = new Button("🗄️ Simpan ke DB");
         Button btnLogout = new Button("🚪 Logout");
 
         // 🔸 Layout tombol
-        HBox buttonBox = new HBox(10, btnSimpan, btnMassInput, btnLihatData, btnLogout);
+        HBox buttonBox = new HBox(10, btnSimpan, btnMassInput, btnLihatData, btnSimpanDb, btnLogout);
         VBox root = new VBox(10,
                 new Label("Nama:"), tfNama,
                 new Label("Kelas:"), cbKelas,
@@ -85,6 +90,36 @@ public class Panel extends Application {
             }
         });
 
+        // 🔹 Tombol Simpan ke DB: daftar sementara di-upsert dalam satu transaksi (di thread latar)
+        btnSimpanDb.setOnAction(e -> {
+            if (dataSiswa.isEmpty()) {
+                new Alert(Alert.AlertType.INFORMATION, "Daftar sementara masih kosong.").showAndWait();
+                return;
+            }
+            List<String[]> snapshot = new ArrayList<>(dataSiswa.size());
+            for (Siswa s : dataSiswa) {
+                snapshot.add(new String[]{s.getNama(), s.getKelas(), s.getJurusan(), s.getSekolah()});
+            }
+            Task<Integer> task = new Task<>() {
+                @Override
+                protected Integer call() throws Exception {
+                    return SiswaRepository.createDefault().flush(List.of(), SiswaRepository.rows(snapshot), null, null);
+                }
+            };
+            task.setOnSucceeded(ev -> {
+                btnSimpanDb.setDisable(false);
+                new Alert(Alert.AlertType.INFORMATION, "✅ " + task.getValue() + " data siswa tersimpan ke database.").showAndWait();
+            });
+            task.setOnFailed(ev -> {
+                btnSimpanDb.setDisable(false);
+                new Alert(Alert.AlertType.ERROR, "Gagal menyimpan ke database: " + task.getException().getMessage()).showAndWait();
+            });
+            btnSimpanDb.setDisable(true);
+            Thread t = new Thread(task, "datasiswa-db-save");
+            t.setDaemon(true);
+            t.start();
+        });
+
         // 🔹 Tombol Input Skala Besar
         btnMassInput.setOnAction(e -> {
             try {
@@ -106,7 +141,7 @@ public class Panel extends Application {
         });
 
         // 🔹 Setup scene
-        Scene scene = new Scene(root, 450, 380);
+        Scene scene = new Scene(root, 560, 380);
         stage.setScene(scene);
         stage.show();
     }
@@ -0,0 +1,38 @@
+package com.example.datasiswautama;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+// Penggabung refresh UI: pemanggil hanya menandai bagian yang kotor (COUNT/SEARCH/TREE), lalu
+// semua tanda dikerjakan sekali oleh satu Platform.runLater. 10.000 addStudent berturut-turut
+// (satu event handler / satu loop di FX thread) = satu refresh, bukan 10.000.
+//
+// request() boleh dipanggil dari thread mana saja; action selalu jalan di FX thread.
+public final class RefreshScheduler {
+
+    public static final int COUNT = 1;  // label jumlah siswa
+    public static final int SEARCH = 2; // pohon hasil cari
+    public static final int TREE = 4;   // bangun ulang pohon penuh (termasuk COUNT dan SEARCH)
+
+    private final AtomicInteger dirty = new AtomicInteger();
+    private final IntConsumer action;
+
+    public RefreshScheduler(IntConsumer action) {
+        this.action = action;
+    }
+
+    public void request(int what) {
+        if (dirty.getAndAccumulate(what, (a, b) -> a | b) == 0) Platform.runLater(this::run);
+    }
+
+    public boolean isPending(int what) {
+        return (dirty.get() & what) != 0;
+    }
+
+    private void run() {
+        int what = dirty.getAndSet(0);
+        if (what != 0) action.accept(what);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.datasiswautama;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeTableCell;
+import javafx.scene.control.TreeTableColumn;
+
+import java.util.function.Predicate;
+
+// Sel kolom "No" yang menghitung nomor dari posisi baris yang tampil, bukan dari indexOf.
+// Untuk baris daun: nomor = indeks baris - indeks baris induknya. TreeTableView.getRow(induk)
+// hanya menelusuri saudara-saudara grup (bukan siswa), jadi biayanya tetap berapa pun jumlah siswa.
+// Karena dihitung dari tampilan, nomor tetap benar setelah sort, filter dan hapus.
+public class RowNumberTreeTableCell<S> extends TreeTableCell<S, TreeItem<S>> {
+
+    private final Predicate<TreeItem<S>> numbered;
+
+    public RowNumberTreeTableCell(Predicate<TreeItem<S>> numbered) {
+        this.numbered = numbered;
+    }
+
+    public static <S> void install(TreeTableColumn<S, TreeItem<S>> column, Predicate<TreeItem<S>> numbered) {
+        // nilai sel = TreeItem barisnya, supaya sel ikut diperbarui saat isi baris berganti
+        column.setCellValueFactory(param -> new ReadOnlyObjectWrapper<>(param.getValue()));
+        column.setCellFactory(col -> new RowNumberTreeTableCell<>(numbered));
+        column.setSortable(false);
+    }
+
+    @Override
+    protected void updateItem(TreeItem<S> item, boolean empty) {
+        super.updateItem(item, empty);
+        if (empty || item == null || item.getParent() == null || !numbered.test(item)) {
+            setText(null);
+            return;
+        }
+        TreeItem<S> parent = item.getParent();
+        int no;
+        if (item.isLeaf()) {
+            no = getIndex() - getTreeTableView().getRow(parent);
+        } else {
+            // node grup: saudaranya hanya sedikit (jurusan/kelas), indexOf cukup murah
+            no = parent.getChildren().indexOf(item) + 1;
+        }
+        setText(String.valueOf(no));
+    }
+}
@@ -0,0 +1,86 @@
+
+package com.example.datasiswautama;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+
+public class Siswa {
+
+    // 🔹 Nilai disimpan sebagai String biasa; StringProperty baru dibuat saat pertama
+    //    kali diminta (mis. oleh sel TableView yang tampil), bukan 4 property per siswa.
+    private String nama;
+    private String kelas;
+    private String jurusan;
+    private String sekolah;
+
+    private StringProperty namaProp;
+    private StringProperty kelasProp;
+    private StringProperty jurusanProp;
+    private StringProperty sekolahProp;
+
+    // 🔹 Constructor
+    public Siswa(String nama, String kelas, String jurusan, String sekolah) {
+        this.nama = nama;
+        this.kelas = kelas;
+        this.jurusan = jurusan;
+        this.sekolah = sekolah;
+    }
+
+    // === Getter dan Setter ===
+
+    public String getNama() {
+        return namaProp != null ? namaProp.get() : nama;
+    }
+
+    public void setNama(String nama) {
+        if (namaProp != null) namaProp.set(nama);
+        else this.nama = nama;
+    }
+
+    public StringProperty namaProperty() {
+        if (namaProp == null) namaProp = new SimpleStringProperty(this, "nama", nama);
+        return namaProp;
+    }
+
+    public String getKelas() {
+        return kelasProp != null ? kelasProp.get() : kelas;
+    }
+
+    public void setKelas(String kelas) {
+        if (kelasProp != null) kelasProp.set(kelas);
+        else this.kelas = kelas;
+    }
+
+    public StringProperty kelasProperty() {
+        if (kelasProp == null) kelasProp = new SimpleStringProperty(this, "kelas", kelas);
+        return kelasProp;
+    }
+
+    public String getJurusan() {
+        return jurusanProp != null ? jurusanProp.get() : jurusan;
+    }
+
+    public void setJurusan(String jurusan) {
+        if (jurusanProp != null) jurusanProp.set(jurusan);
+        else this.jurusan = jurusan;
+    }
+
+    public StringProperty jurusanProperty() {
+        if (jurusanProp == null) jurusanProp = new SimpleStringProperty(this, "jurusan", jurusan);
+        return jurusanProp;
+    }
+
+    public String getSekolah() {
+        return sekolahProp != null ? sekolahProp.get() : sekolah;
+    }
+
+    public void setSekolah(String sekolah) {
+        if (sekolahProp != null) sekolahProp.set(sekolah);
+        else this.sekolah = sekolah;
+    }
+
+    public StringProperty sekolahProperty() {
+        if (sekolahProp == null) sekolahProp = new SimpleStringProperty(this, "sekolah", sekolah);
+        return sekolahProp;
+    }
+}
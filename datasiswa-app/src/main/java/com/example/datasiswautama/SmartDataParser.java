@@ -0,0 +1,1163 @@
+package com.example.datasiswautama;
+
+import javafx.animation.FadeTransition;
+import javafx.animation.ScaleTransition;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.*;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.control.cell.TextFieldTreeTableCell;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.*;
+import javafx.scene.paint.Color;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.io.*;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class SmartDataParser extends Application {
+
+    private TextArea inputArea;
+    private TreeTableView<Student> treeTable;
+    private ObservableList<Student> dataList;
+    private final StudentStore store = new StudentStore();
+    private final StudentStats dataStats = new StudentStats(); // isi dataList (label jumlah)
+    private StudentTreeIndex treeIndex = new StudentTreeIndex();
+    private NameIndex existingNames;
+    private TextField nameField;
+    private ComboBox<String> groupSelect, jurusanSelect, tingkatSelect;
+    private Label countLabel;
+    private TextField searchField;
+    private Label searchInfo;
+    private ProgressIndicator progressIndicator;
+    private Label progressLabel;
+
+    // ===== Pencarian nama =====
+    // Hasil cari ditampilkan sebagai pohon terpisah (maks. MAX_SEARCH_RESULTS siswa, grup terbuka);
+    // treeIndex tetap pohon lengkap dan tetap diperbarui inkremental.
+    private static final int MAX_SEARCH_RESULTS = 500;
+    private final NameSearchIndex searchIndex = new NameSearchIndex(store);
+    private final int[] searchHits = new int[MAX_SEARCH_RESULTS];
+    private Student[] studentById = new Student[1024];
+
+    // ===== Refresh UI =====
+    // Perubahan hanya menandai label/pohon kotor; satu refresh per pulse (lihat runRefresh).
+    // Perubahan kecil masuk ke pohon secara inkremental; lebih dari MAX_INCREMENTAL_CHANGES dalam
+    // satu pulse (mis. addStudent dalam loop) = satu rebuild penuh saja.
+    private static final int MAX_INCREMENTAL_CHANGES = 64;
+    private final RefreshScheduler refresh = new RefreshScheduler(this::runRefresh);
+    private int incrementalChanges;
+
+    // ===== Background import =====
+    // Parsing & grouping berjalan di worker; hasil dikirim ke dataList per batch lewat Platform.runLater.
+    private static final int PUBLISH_BATCH = 5_000;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "datasiswa-import");
+        t.setDaemon(true);
+        return t;
+    });
+    private final BooleanProperty importing = new SimpleBooleanProperty(false);
+    private final ConcurrentLinkedQueue<List<Student>> pendingBatches = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    // addAll / addStudent dari thread lain: dedupe konkuren di produsen, diterapkan per batch di FX thread
+    private final StudentIngestQueue ingest = new StudentIngestQueue(Platform::runLater, this::applyIngested, importing::get);
+    private Task<?> currentImport; // import atau simpan ke database (keduanya di worker)
+    // addStudent dari luar selama import: ditunda agar store hanya punya satu penulis
+    private final List<String[]> deferredAdds = new ArrayList<>();
+    // id siswa yang ditandai mirip -> id pasangannya (untuk tooltip dan membatalkan tanda)
+    private final Map<Integer, Integer> nearDuplicateOf = new HashMap<>();
+    // Nama yang dihapus/diganti sejak terakhir disimpan ke database (baris baru/diubah: FLAG_DIRTY di store).
+    // Hanya dipakai kalau write-behind tidak tersedia; biasanya perubahan interaktif lewat writeBehind.
+    private final List<String> pendingDbDeletes = new ArrayList<>();
+    private SiswaRepository repository;
+    private WriteBehindQueue writeBehind;
+
+    private static final System.Logger LOG = System.getLogger(SmartDataParser.class.getName());
+
+    private static final List<String> JURUSAN_SMK_AIRLANGGA = Kategori.Jurusan.labelsFor(Kategori.Sekolah.AIRLANGGA);
+    private static final List<String> JURUSAN_SMK_KESEHATAN = Kategori.Jurusan.labelsFor(Kategori.Sekolah.KESEHATAN);
+
+    // ===== Singleton-ish safe reference (only assigned by JavaFX) =====
+    private static volatile SmartDataParser instance;
+
+    public SmartDataParser() {
+        // JavaFX will create the Application instance; store reference for external callers.
+        instance = this;
+    }
+
+    public static SmartDataParser getInstance() {
+        // Return current instance if Application is running, otherwise null.
+        return instance;
+    }
+
+    // Allow external callers (AdminInputApp) to add student safely.
+    // Dari thread selain FX thread: lewat antrean ingest (diterapkan di pulse berikutnya),
+    // lalu disimpan ke write-behind seperti dari FX thread (lihat applyIngested).
+    public void addStudent(String nama, String kelas, String jurusan, String sekolah) {
+        if (!Platform.isFxApplicationThread()) {
+            ingest.offer(nama, kelas, jurusan, sekolah);
+            return;
+        }
+        if (dataList == null) {
+            dataList = FXCollections.observableArrayList();
+        }
+        if (existingNames == null) {
+            existingNames = new NameIndex(store);
+        }
+
+        if (nama == null || nama.trim().isEmpty()) return;
+        if (importing.get()) {
+            deferredAdds.add(new String[]{nama, kelas, jurusan, sekolah});
+            return;
+        }
+        String key = nama.trim();
+        if (!existingNames.contains(key)) {
+            int id = store.add(key, kelas == null ? "" : kelas.trim(), jurusan == null ? "" : jurusan.trim(), sekolah == null ? "" : sekolah.trim());
+            if (id == StudentStore.NO_CODE) {
+                LOG.log(System.Logger.Level.WARNING, "Siswa " + key + " tidak ditambahkan: terlalu banyak nilai kelas/jurusan/kelompok berbeda");
+                return;
+            }
+            Student s = new Student(store, id);
+            dataList.add(s);
+            existingNames.add(id);
+            persist(s);
+        }
+    }
+
+    // Tambah banyak siswa dari thread mana saja (aplikasi harus sudah berjalan). Duplikat dibuang;
+    // siswa baru muncul per batch, dengan satu refresh pohon per batch. Seperti import, tidak
+    // langsung ke write-behind: tersimpan lewat "Simpan ke DB" (FLAG_DIRTY).
+    public void addAll(Collection<? extends Siswa> siswa) {
+        ingest.addAll(siswa);
+    }
+
+    public void addAll(Stream<? extends Siswa> siswa) {
+        ingest.addAll(siswa);
+    }
+
+    public StudentIngestQueue.Stats ingestStats() {
+        return ingest.stats();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    @Override
+    public void start(Stage stage) {
+        stage.setTitle("🏫 Smart Data Parser Sekolah ");
+        // initialize collections early to avoid NPEs
+        dataList = FXCollections.observableArrayList();
+        existingNames = new NameIndex(store);
+        // pohon mengikuti dataList secara inkremental (tanpa rebuild per perubahan)
+        dataList.addListener(this::onDataChanged);
+        try {
+            Metrics.configureFromSystemProperties();
+        } catch (UncheckedIOException ex) {
+            LOG.log(System.Logger.Level.WARNING, ex.getMessage());
+        }
+        repository = SiswaRepository.createDefault();
+        try {
+            writeBehind = WriteBehindQueue.createDefault(repository);
+        } catch (IOException ex) {
+            // tanpa journal: perubahan interaktif ikut tombol "Simpan ke DB"
+            LOG.log(System.Logger.Level.WARNING, "Write-behind tidak aktif: " + ex.getMessage());
+        }
+
+        buildUI(stage);
+        refreshTreeWithAnimation();
+    }
+
+    @Override
+    public void stop() {
+        if (currentImport != null) currentImport.cancel();
+        worker.shutdownNow();
+        if (writeBehind != null) writeBehind.close();
+    }
+
+    private void buildUI(Stage stage) {
+        // Input area
+        inputArea = new TextArea();
+        inputArea.setPromptText("Masukkan data siswa (satu entri per baris). Contoh:\n" +
+                "Dimas Arif Nugraha – 10 – AKL – SMK Airlangga\natau\nRina Safitri kelas 11 PPLG");
+        inputArea.setWrapText(true);
+        inputArea.setPrefRowCount(4);
+
+        Button btnProcess = new Button("⚙️ Proses Otomatis");
+        btnProcess.setOnAction(e -> processText());
+        btnProcess.disableProperty().bind(importing);
+
+        Button btnCancel = new Button("⛔ Batal");
+        btnCancel.setOnAction(e -> {
+            if (currentImport != null) currentImport.cancel();
+        });
+        btnCancel.disableProperty().bind(importing.not());
+
+        // Manual input controls
+        nameField = new TextField();
+        nameField.setPromptText("Nama siswa");
+
+        groupSelect = new ComboBox<>();
+        groupSelect.getItems().addAll(Kategori.Sekolah.AIRLANGGA.label(), Kategori.Sekolah.KESEHATAN.label());
+        groupSelect.setPromptText("Pilih Sekolah");
+
+        jurusanSelect = new ComboBox<>();
+        jurusanSelect.setPromptText("Pilih Jurusan");
+
+        tingkatSelect = new ComboBox<>();
+        tingkatSelect.getItems().addAll(StudentLineParser.KELAS_UMUM);
+        tingkatSelect.setPromptText("Pilih Kelas");
+
+        groupSelect.valueProperty().addListener((obs, oldV, v) -> {
+            jurusanSelect.getItems().clear();
+            if (Kategori.Sekolah.AIRLANGGA.label().equals(v)) jurusanSelect.getItems().addAll(JURUSAN_SMK_AIRLANGGA);
+            else if (Kategori.Sekolah.KESEHATAN.label().equals(v)) jurusanSelect.getItems().addAll(JURUSAN_SMK_KESEHATAN);
+        });
+
+        Button btnAdd = new Button("➕ Tambah Manual");
+        btnAdd.setOnAction(e -> addManual());
+
+        HBox manualBox = new HBox(8, nameField, groupSelect, jurusanSelect, tingkatSelect, btnAdd);
+        manualBox.setPadding(new Insets(8));
+        manualBox.disableProperty().bind(importing);
+
+        // Progress indicator
+        progressIndicator = new ProgressIndicator();
+        progressIndicator.visibleProperty().bind(importing);
+        progressIndicator.setPrefSize(28,28);
+        progressLabel = new Label();
+        progressLabel.visibleProperty().bind(importing);
+
+        // TreeTable setup
+        treeTable = new TreeTableView<>();
+        treeTable.setShowRoot(false);
+        treeTable.editableProperty().bind(importing.not());
+        treeTable.setEffect(new DropShadow(4, Color.GRAY));
+
+        TreeTableColumn<Student,TreeItem<Student>> noCol = new TreeTableColumn<>("No");
+        noCol.setPrefWidth(50);
+        RowNumberTreeTableCell.install(noCol, item -> item.getParent().getParent() != null);
+
+        TreeTableColumn<Student,String> nameCol = new TreeTableColumn<>("Nama");
+        nameCol.setPrefWidth(320);
+        nameCol.setCellValueFactory(c -> c.getValue().getValue().namaProperty());
+        nameCol.setCellFactory(TextFieldTreeTableCell.forTreeTableColumn());
+        nameCol.setOnEditCommit(evt -> {
+            TreeItem<Student> treeItem = evt.getRowValue();
+            if (treeItem == null || treeItem.getValue() == null) return;
+            Student s = treeItem.getValue();
+            if (!treeIndex.contains(s)) { // baris grup (Sekolah/Jurusan/Kelas) bukan data siswa
+                treeTable.refresh();
+                return;
+            }
+            String old = s.getNama();
+            String neu = evt.getNewValue().trim();
+            if (neu.isEmpty()) {
+                showAlert("Peringatan", "Nama tidak boleh kosong", Alert.AlertType.WARNING);
+                treeTable.refresh();
+                return;
+            }
+            if (!old.equalsIgnoreCase(neu) && existingNames.contains(neu)) {
+                showAlert("Duplikat", "Nama sudah ada", Alert.AlertType.WARNING);
+                treeTable.refresh();
+                return;
+            }
+            if (!old.equalsIgnoreCase(neu)) persistDelete(old);
+            // update existingNames safely
+            existingNames.remove(s.getId());
+            treeIndex.rename(s, neu);
+            existingNames.add(s.getId());
+            searchIndex.rename(s.getId());
+            if (isSearching()) refresh.request(RefreshScheduler.SEARCH);
+            persist(s);
+            forgetNearDuplicate(s.getId()); // nama sudah diperbaiki pengguna
+        });
+
+        TreeTableColumn<Student,String> kelasCol = new TreeTableColumn<>("Kelas");
+        kelasCol.setPrefWidth(80);
+        kelasCol.setCellValueFactory(c -> c.getValue().getValue().kelasProperty());
+
+        TreeTableColumn<Student,String> jurusanCol = new TreeTableColumn<>("Jurusan");
+        jurusanCol.setPrefWidth(110);
+        jurusanCol.setCellValueFactory(c -> c.getValue().getValue().jurusanProperty());
+
+        treeTable.getColumns().addAll(noCol, nameCol, kelasCol, jurusanCol);
+
+        // small CSS (applied via data URL). Encode to avoid spaces/newlines issues.
+        String css = """
+                .tree-table-row-cell:filled:selected, .tree-table-cell:selected {
+                   -fx-selection-bar-text: black;
+                }
+                .tree-table-cell {
+                   -fx-text-fill: black;
+                }
+                """;
+        try {
+            String encoded = URLEncoder.encode(css, StandardCharsets.UTF_8.toString());
+            Scene dummy = new Scene(new Pane()); // temp scene to accept stylesheet format
+            // We'll apply to the final scene below; keep variable for use.
+        } catch (Exception ignored) {
+            // ignore encoding errors; we'll fallback and not crash app.
+        }
+
+        // Row coloring per school and context menu for student nodes
+        treeTable.setRowFactory(tv -> {
+            TreeTableRow<Student> row = new TreeTableRow<>() {
+                @Override
+                protected void updateItem(Student item, boolean empty) {
+                    super.updateItem(item, empty);
+                    if (empty || item == null) {
+                        setStyle("");
+                        setTooltip(null);
+                    } else if (item.isNearDuplicate()) {
+                        // kemungkinan duplikat: disorot, bukan dilewati diam-diam
+                        setStyle("-fx-background-color: #FFF3CD; -fx-text-fill: black; "
+                                + "-fx-selection-bar: derive(#FFF3CD, -12%); -fx-selection-bar-text: black;");
+                        Integer match = nearDuplicateOf.get(item.getId());
+                        setTooltip(new Tooltip("⚠️ Kemungkinan duplikat"
+                                + (match == null ? "" : " dari: " + store.nama(match))));
+                    } else {
+                        setTooltip(null);
+                        Kategori.Sekolah sekolah = Kategori.Sekolah.of(item.getSekolahCode());
+                        String base = sekolah == null ? "#FFFFFF" : switch (sekolah) {
+                            case AIRLANGGA -> "#E8F2FF";
+                            case KESEHATAN -> "#F0FFF0";
+                            default -> "#FFFFFF";
+                        };
+                        setStyle("-fx-background-color: " + base + "; -fx-text-fill: black; "
+                                + "-fx-selection-bar: derive(" + base + ", -12%); -fx-selection-bar-text: black;");
+                    }
+                }
+            };
+
+            // Context menu: only for leaf student nodes
+            row.setOnMouseClicked(ev -> {
+                if (ev.getButton() == MouseButton.SECONDARY && !row.isEmpty() && !importing.get()) {
+                    TreeItem<Student> ti = row.getTreeItem();
+                    if (ti != null && ti.getValue() != null && treeIndex.contains(ti.getValue())) {
+                        ContextMenu cm = new ContextMenu();
+                        MenuItem edit = new MenuItem("Edit Nama");
+                        edit.setOnAction(a -> {
+                            // ensure selection is set to this row
+                            treeTable.getSelectionModel().select(row.getIndex());
+                            treeTable.edit(row.getIndex(), nameCol);
+                        });
+                        MenuItem delete = new MenuItem("Hapus Siswa");
+                        delete.setOnAction(a -> {
+                            Student s = ti.getValue();
+                            persistDelete(s.getNama());
+                            dataList.remove(s);
+                            existingNames.remove(s.getId());
+                            forgetNearDuplicate(s.getId());
+                            store.remove(s.getId());
+                        });
+                        cm.getItems().addAll(edit, delete);
+                        if (ti.getValue().isNearDuplicate()) {
+                            MenuItem notDuplicate = new MenuItem("Bukan Duplikat");
+                            notDuplicate.setOnAction(a -> forgetNearDuplicate(ti.getValue().getId()));
+                            cm.getItems().add(notDuplicate);
+                        }
+                        cm.show(row, ev.getScreenX(), ev.getScreenY());
+                    }
+                }
+            });
+
+            return row;
+        });
+
+        // Buttons
+        Button btnSave = new Button("💾 Simpan");
+        btnSave.setOnAction(e -> saveDataToFile(stage));
+        addButtonEffects(btnSave);
+
+        Button btnLoad = new Button("📂 Muat");
+        btnLoad.setOnAction(e -> loadFromFile(stage));
+        btnLoad.disableProperty().bind(importing);
+        addButtonEffects(btnLoad);
+
+        Button btnSync = new Button("🗄️ Simpan ke DB");
+        btnSync.setOnAction(e -> syncToDatabase());
+        btnSync.disableProperty().bind(importing);
+        Tooltip syncInfo = new Tooltip();
+        syncInfo.setOnShowing(e -> syncInfo.setText(writeBehind == null
+                ? "Write-behind tidak aktif"
+                : "Perubahan manual tersimpan otomatis: " + writeBehind.stats()));
+        btnSync.setTooltip(syncInfo);
+        addButtonEffects(btnSync);
+
+        Button btnClear = new Button("🧹 Hapus Semua");
+        btnClear.setOnAction(e -> {
+            Alert c = new Alert(Alert.AlertType.CONFIRMATION, "Hapus semua data? Data juga dihapus dari database.", ButtonType.YES, ButtonType.NO);
+            c.showAndWait().ifPresent(res -> {
+                if (res == ButtonType.YES) clearAll();
+            });
+        });
+        btnClear.disableProperty().bind(importing);
+        addButtonEffects(btnClear);
+
+        Button btnRefresh = new Button("🔄 Segarkan");
+        btnRefresh.setOnAction(e -> refreshTreeWithAnimation());
+        addButtonEffects(btnRefresh);
+
+        Button btnLoadExample = new Button("📝 Contoh Data");
+        btnLoadExample.setOnAction(e -> loadExampleData());
+        btnLoadExample.disableProperty().bind(importing);
+        addButtonEffects(btnLoadExample);
+
+        Button btnDiagnostics = new Button("🩺 Diagnostik");
+        btnDiagnostics.setOnAction(e -> new DiagnosticsPanel().start(new Stage()));
+        addButtonEffects(btnDiagnostics);
+
+        countLabel = new Label("👥 Total siswa: 0");
+        countLabel.setStyle("-fx-font-weight: bold; -fx-text-fill: black;");
+
+        // Cari nama: disaring langsung setiap ketikan (indeks di memori, tanpa debounce)
+        searchField = new TextField();
+        searchField.setPromptText("🔍 Cari nama siswa...");
+        searchField.setPrefWidth(260);
+        searchField.textProperty().addListener((obs, o, v) -> applySearch());
+        searchField.disableProperty().bind(importing);
+        searchInfo = new Label();
+        HBox searchBox = new HBox(10, new Label("📊 Daftar Data Siswa"), searchField, searchInfo);
+        searchBox.setAlignment(Pos.CENTER_LEFT);
+
+        HBox topButtons = new HBox(8, btnProcess, btnCancel, btnSave, btnLoad, btnSync, btnClear, btnRefresh, btnLoadExample,
+                btnDiagnostics, progressIndicator, progressLabel);
+        topButtons.setPadding(new Insets(8));
+
+        VBox root = new VBox(8,
+                new Label("📥 Input Otomatis:"), inputArea,
+                manualBox,
+                topButtons,
+                searchBox,
+                treeTable,
+                countLabel);
+        root.setPadding(new Insets(12));
+        root.setStyle("-fx-background-color: linear-gradient(to bottom, #FFFFFF, #F7FFF7);");
+
+        Scene scene = new Scene(root, 980, 640);
+
+        // apply CSS directly as small inline stylesheet; encode to data URL to avoid IllegalArgumentException on some platforms
+        try {
+            String encodedCss = URLEncoder.encode(css, StandardCharsets.UTF_8.toString());
+            scene.getStylesheets().add("data:text/css," + encodedCss);
+        } catch (Exception ex) {
+            // fallback: do not crash; css is cosmetic
+        }
+
+        // keyboard support: Enter to add manual if focus on nameField
+        nameField.setOnKeyPressed(k -> {
+            if (k.getCode() == KeyCode.ENTER) addManual();
+        });
+
+        stage.setScene(scene);
+        stage.show();
+    }
+
+    private void addButtonEffects(Button btn) {
+        DropShadow ds = new DropShadow(6, Color.rgb(0,0,0,0.15));
+        btn.setOnMouseEntered(e -> btn.setEffect(ds));
+        btn.setOnMouseExited(e -> btn.setEffect(null));
+        btn.setOnMousePressed(e -> {
+            ScaleTransition st = new ScaleTransition(Duration.millis(110), btn);
+            st.setFromX(1); st.setFromY(1); st.setToX(0.95); st.setToY(0.95);
+            st.setAutoReverse(true); st.setCycleCount(2); st.play();
+        });
+    }
+
+    // ---- Core functions ----
+
+    private void addManual() {
+        String nama = nameField.getText().trim();
+        String sekolah = groupSelect.getValue();
+        String jurusan = jurusanSelect.getValue();
+        String kelas = tingkatSelect.getValue();
+
+        if (nama.isEmpty() || sekolah == null || jurusan == null || kelas == null) {
+            showAlert("Peringatan", "Lengkapi semua field!", Alert.AlertType.WARNING);
+            return;
+        }
+
+        if (existingNames.contains(nama)) {
+            showAlert("Duplikat", "Nama sudah ada!", Alert.AlertType.WARNING);
+            return;
+        }
+
+        int id = store.add(nama, kelas, jurusan, sekolah);
+        if (id == StudentStore.NO_CODE) {
+            showAlert("Peringatan", "Terlalu banyak nilai kelas/jurusan/kelompok berbeda (maks. 256 per kolom).", Alert.AlertType.WARNING);
+            return;
+        }
+        Student s = new Student(store, id);
+        dataList.add(s);
+        existingNames.add(s.getId());
+        persist(s);
+        nameField.clear();
+        groupSelect.setValue(null);
+        jurusanSelect.getItems().clear();
+        tingkatSelect.setValue(null);
+    }
+
+    private void processText() {
+        String input = inputArea.getText().trim();
+        if (input.isEmpty()) {
+            showAlert("Info", "Teks input kosong.", Alert.AlertType.INFORMATION);
+            return;
+        }
+
+        startImport(createParseTask(input));
+    }
+
+    private void startImport(Task<ParseOutcome> task) {
+        task.setOnSucceeded(e -> {
+            endTask();
+            ParseOutcome o = task.getValue();
+            markNearDuplicates(o.nearDuplicates);
+            applyTree(o.index);
+            // pohon dari worker hanya berisi snapshot + hasil import: siswa yang ditunda masuk sesudahnya
+            replayDeferred();
+            showAlert(o.added == 0 ? "Info" : "Sukses", o.message, Alert.AlertType.INFORMATION);
+        });
+        task.setOnCancelled(e -> {
+            finishImport();
+            refreshTreeWithAnimation();
+            showAlert("Info", "Proses dibatalkan. Entri yang sudah diproses tetap disimpan.", Alert.AlertType.INFORMATION);
+        });
+        task.setOnFailed(e -> {
+            finishImport();
+            refreshTreeWithAnimation();
+            showAlert("Error", "Gagal memproses: " + task.getException().getMessage(), Alert.AlertType.ERROR);
+        });
+        runOnWorker(task);
+    }
+
+    // Tombol yang mengubah data dinonaktifkan sampai task selesai (lihat finishImport).
+    private void runOnWorker(Task<?> task) {
+        currentImport = task;
+        importing.set(true);
+        progressIndicator.progressProperty().bind(task.progressProperty());
+        progressLabel.textProperty().bind(task.messageProperty());
+        worker.execute(task);
+    }
+
+    // Kirim siswa baru/diubah (upsert) dan yang dihapus ke database dalam satu transaksi.
+    // Store dibaca langsung di worker: selama task berjalan tidak ada penulis lain.
+    private void syncToDatabase() {
+        int[] ids = dataList.stream().mapToInt(Student::getId).filter(store::isDirty).toArray();
+        List<String> deletes = new ArrayList<>(pendingDbDeletes);
+        if (ids.length == 0 && deletes.isEmpty()) {
+            showAlert("Info", "Tidak ada perubahan yang perlu disimpan ke database.", Alert.AlertType.INFORMATION);
+            return;
+        }
+        SiswaRepository repo = repository;
+        int total = ids.length + deletes.size();
+        Task<String> task = new Task<>() {
+            @Override
+            protected String call() throws Exception {
+                long t0 = System.nanoTime();
+                updateMessage("Menyimpan ke database...");
+                repo.flush(deletes, SiswaRepository.rows(store, ids), done -> {
+                    updateProgress(done, total);
+                    updateMessage(rateMessage(done, total, t0));
+                }, this::isCancelled);
+                double secs = Math.max(1e-9, (System.nanoTime() - t0) / 1e9);
+                return String.format("Tersimpan ke database: %,d siswa baru/diubah, %,d dihapus (%.1f detik).",
+                        ids.length, deletes.size(), secs);
+            }
+        };
+        task.setOnSucceeded(e -> {
+            for (int id : ids) store.clearDirty(id);
+            pendingDbDeletes.subList(0, deletes.size()).clear();
+            finishImport();
+            showAlert("Sukses", task.getValue(), Alert.AlertType.INFORMATION);
+        });
+        task.setOnCancelled(e -> {
+            finishImport();
+            showAlert("Info", "Penyimpanan dibatalkan. Database tidak diubah.", Alert.AlertType.INFORMATION);
+        });
+        task.setOnFailed(e -> {
+            finishImport();
+            showAlert("Error", "Gagal menyimpan ke database: " + task.getException().getMessage(), Alert.AlertType.ERROR);
+        });
+        runOnWorker(task);
+    }
+
+    // Dijalankan di worker: parse + dedupe terhadap snapshot nama (StudentImporter), kirim batch
+    // ke FX thread, lalu bangun pohon Sekolah -> Jurusan -> Kelas di luar FX thread.
+    // Tombol yang mengubah data dinonaktifkan selama import, jadi snapshot tetap valid.
+    private Task<ParseOutcome> createParseTask(String input) {
+        return new ImportTask() {
+            @Override
+            StudentImporter.Summary run(StudentImporter importer) {
+                long t0 = System.nanoTime();
+                return importer.importText(input, (done, total) -> {
+                    updateProgress(done, total);
+                    updateMessage(rateMessage((int) done, (int) total, t0));
+                    return !isCancelled();
+                });
+            }
+
+            @Override
+            String message(StudentImporter.Summary s) {
+                return s.added == 0
+                        ? "Tidak ada entri baru yang valid ditemukan."
+                        : String.format("Berhasil menambahkan %d entri (%,.0f baris/detik).", s.added, s.rowsPerSecond());
+            }
+        };
+    }
+
+    // Import CSV dengan memory-mapping: heap tetap datar berapa pun ukuran file,
+    // hanya siswa baru yang dibuat sebagai objek. File besar diparse paralel per chunk,
+    // tapi baris tetap sampai ke dedupe dalam urutan file (hasil sama dengan satu thread).
+    private Task<ParseOutcome> createCsvImportTask(Path file) {
+        return new ImportTask() {
+            @Override
+            StudentImporter.Summary run(StudentImporter importer) throws IOException {
+                long t0 = System.nanoTime();
+                return importer.importCsv(file, ForkJoinPool.commonPool(), (done, size) -> {
+                    updateProgress(done, size);
+                    double secs = Math.max(1e-9, (System.nanoTime() - t0) / 1e9);
+                    updateMessage(String.format("%,.1f / %,.1f MB • %,.1f MB/detik",
+                            done / 1e6, size / 1e6, done / 1e6 / secs));
+                    return !isCancelled();
+                });
+            }
+
+            @Override
+            String message(StudentImporter.Summary s) {
+                return s.added == 0
+                        ? "Tidak ada entri baru yang dimuat."
+                        : String.format("Berhasil memuat %d entri (%,.0f baris/detik, %,.1f MB/detik).",
+                                s.added, s.rowsPerSecond(), s.megabytesPerSecond());
+            }
+        };
+    }
+
+    // Teks bebas dari file (format processText, satu siswa per baris), dibaca baris per baris.
+    private Task<ParseOutcome> createTextFileImportTask(Path file) {
+        return new ImportTask() {
+            @Override
+            StudentImporter.Summary run(StudentImporter importer) throws IOException {
+                long t0 = System.nanoTime();
+                return importer.importTextFile(file, (done, size) -> {
+                    updateProgress(done, size);
+                    double secs = Math.max(1e-9, (System.nanoTime() - t0) / 1e9);
+                    updateMessage(String.format("%,.1f / %,.1f MB • %,.1f MB/detik",
+                            done / 1e6, size / 1e6, done / 1e6 / secs));
+                    return !isCancelled();
+                });
+            }
+
+            @Override
+            String message(StudentImporter.Summary s) {
+                return s.added == 0
+                        ? "Tidak ada entri baru yang valid ditemukan."
+                        : String.format("Berhasil memuat %d entri (%,.0f baris/detik).", s.added, s.rowsPerSecond());
+            }
+        };
+    }
+
+    // Muat snapshot biner (StudentSnapshot): checksum diperiksa dulu, lalu baris masuk lewat
+    // importer yang sama dengan CSV (dedupe, batch ke dataList, cek nama mirip, pohon).
+    private Task<ParseOutcome> createSnapshotImportTask(Path file) {
+        return new ImportTask() {
+            @Override
+            StudentImporter.Summary run(StudentImporter importer) throws IOException {
+                long t0 = System.nanoTime();
+                return importer.importSnapshot(file, (done, total) -> {
+                    updateProgress(done, total);
+                    updateMessage(rateMessage((int) done, (int) total, t0));
+                    return !isCancelled();
+                });
+            }
+
+            @Override
+            String message(StudentImporter.Summary s) {
+                return s.added == 0
+                        ? "Tidak ada entri baru yang dimuat."
+                        : String.format("Berhasil memuat %d entri dari snapshot (%,.0f baris/detik).", s.added, s.rowsPerSecond());
+            }
+        };
+    }
+
+    // Banyak file sekaligus (mis. satu CSV per kelas): tiap file dibaca dan diparse di thread-nya
+    // sendiri, hasilnya lewat antrean berbatas ke satu tahap dedupe (StudentImporter.importFiles).
+    private Task<ParseOutcome> createMultiFileImportTask(List<Path> files) {
+        return new ImportTask() {
+            @Override
+            StudentImporter.Summary run(StudentImporter importer) throws IOException {
+                long t0 = System.nanoTime();
+                return importer.importFiles(files, (done, size) -> {
+                    updateProgress(done, size);
+                    double secs = Math.max(1e-9, (System.nanoTime() - t0) / 1e9);
+                    updateMessage(String.format("%d file • %,.1f / %,.1f MB • %,.1f MB/detik",
+                            files.size(), done / 1e6, size / 1e6, done / 1e6 / secs));
+                    return !isCancelled();
+                });
+            }
+
+            @Override
+            String message(StudentImporter.Summary s) {
+                return s.added == 0
+                        ? "Tidak ada entri baru yang dimuat."
+                        : String.format("Berhasil memuat %d entri dari %d file (%,.0f baris/detik, %,.1f MB/detik).",
+                                s.added, files.size(), s.rowsPerSecond(), s.megabytesPerSecond());
+            }
+        };
+    }
+
+    // Kerangka bersama semua import: sumber -> StudentImporter (lewat ImportBatch), lalu cek nama
+    // mirip dan pohon baru. Dibuat di FX thread (snapshot data saat ini), call() di worker.
+    private abstract class ImportTask extends Task<ParseOutcome> {
+        private final ImportBatch imp = new ImportBatch();
+
+        abstract StudentImporter.Summary run(StudentImporter importer) throws IOException;
+
+        abstract String message(StudentImporter.Summary summary);
+
+        @Override
+        protected ParseOutcome call() throws IOException {
+            StudentImporter.Summary summary = run(imp.importer);
+            if (summary.cancelled || isCancelled()) return null;
+
+            if (summary.rejected > 0) {
+                // jumlahnya juga tercatat di metrik import.rows.rejected (Diagnostik)
+                LOG.log(System.Logger.Level.INFO, summary.rejected + " baris dilewati");
+                summary.rejectSamples.forEach(s -> LOG.log(System.Logger.Level.DEBUG, " - " + s));
+            }
+
+            updateMessage("Memeriksa kemungkinan duplikat...");
+            List<NearDuplicateDetector.Pair> near = imp.findNearDuplicates(this::isCancelled);
+            if (isCancelled()) return null;
+            updateMessage("Mengelompokkan " + imp.students.size() + " siswa...");
+            StudentTreeIndex index = new StudentTreeIndex();
+            index.rebuild(imp.students);
+            return new ParseOutcome(index, summary.added, nearDuplicateMessage(message(summary), near), near);
+        }
+    }
+
+    private static String nearDuplicateMessage(String message, List<NearDuplicateDetector.Pair> near) {
+        if (near.isEmpty()) return message;
+        return message + String.format("\n⚠️ %d kemungkinan duplikat (nama mirip) ditandai kuning.", near.size());
+    }
+
+    // FX thread, setelah import selesai (store kembali hanya ditulis FX thread).
+    // Perubahan interaktif: dicatat ke write-behind (tidak menunggu database di FX thread).
+    // FLAG_DIRTY baru dilepas setelah tercatat di journal; kalau journal gagal, tetap ikut "Simpan ke DB".
+    private void persist(Student s) {
+        if (writeBehind == null) return; // tetap FLAG_DIRTY, ikut "Simpan ke DB"
+        if (writeBehind.upsert(s.getNama(), s.getKelas(), s.getJurusan(), s.getKelompok())) store.clearDirty(s.getId());
+    }
+
+    private void persistDelete(String nama) {
+        if (writeBehind == null || !writeBehind.delete(nama)) pendingDbDeletes.add(nama);
+    }
+
+    private void markNearDuplicates(List<NearDuplicateDetector.Pair> near) {
+        for (NearDuplicateDetector.Pair p : near) {
+            store.setNearDuplicate(p.id, true);
+            store.setNearDuplicate(p.matchId, true);
+            nearDuplicateOf.put(p.id, p.matchId);
+            nearDuplicateOf.putIfAbsent(p.matchId, p.id);
+        }
+    }
+
+    private void forgetNearDuplicate(int id) {
+        Integer match = nearDuplicateOf.remove(id);
+        store.setNearDuplicate(id, false);
+        if (match != null && Objects.equals(nearDuplicateOf.get(match), id)) {
+            nearDuplicateOf.remove(match);
+            store.setNearDuplicate(match, false);
+        }
+        if (treeTable != null) treeTable.refresh();
+    }
+
+    private static String rateMessage(int done, int total, long startNanos) {
+        double secs = Math.max(1e-9, (System.nanoTime() - startNanos) / 1e9);
+        return String.format("%,d / %,d baris • %,.0f baris/detik", done, total, done / secs);
+    }
+
+    // Boleh dipanggil dari thread mana saja; batch digabung menjadi satu runLater per pulse FX.
+    private void publishBatch(List<Student> batch) {
+        if (batch.isEmpty()) return;
+        pendingBatches.add(batch);
+        if (drainScheduled.compareAndSet(false, true)) Platform.runLater(this::drainBatches);
+    }
+
+    private void drainBatches() {
+        drainScheduled.set(false);
+        List<Student> batch;
+        while ((batch = pendingBatches.poll()) != null) {
+            dataList.addAll(batch);
+            for (Student s : batch) existingNames.add(s.getId());
+        }
+    }
+
+    // Dibuat di FX thread (snapshot data saat ini), lalu dipakai oleh satu worker.
+    // Dedupe dilakukan StudentImporter terhadap snapshot nama; hanya siswa baru yang dikirim ke dataList.
+    private final class ImportBatch {
+        final List<Student> students = new ArrayList<>(dataList);
+        private final int existingCount = students.size();
+        final StudentImporter importer = new StudentImporter(store, existingNames.copy(), PUBLISH_BATCH, this::publish);
+
+        private void publish(int[] ids, int count) {
+            List<Student> batch = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) batch.add(new Student(store, ids[i]));
+            students.addAll(batch);
+            publishBatch(batch);
+        }
+
+        // Nama baru vs nama lama + sesama nama baru. Dipanggil di worker setelah flush terakhir.
+        List<NearDuplicateDetector.Pair> findNearDuplicates(BooleanSupplier cancelled) {
+            int[] existing = new int[existingCount];
+            for (int i = 0; i < existingCount; i++) existing[i] = students.get(i).getId();
+            return importer.findNearDuplicates(existing, ForkJoinPool.commonPool(), cancelled);
+        }
+    }
+
+    // FX thread (dari StudentIngestQueue): cek duplikat akhir terhadap data yang ada, lalu satu addAll.
+    // Baris dari addStudent (Row.single) disimpan ke write-behind; baris addAll menunggu "Simpan ke DB".
+    private int applyIngested(List<StudentIngestQueue.Row> rows) {
+        if (dataList == null) dataList = FXCollections.observableArrayList();
+        if (existingNames == null) existingNames = new NameIndex(store);
+        List<Student> batch = new ArrayList<>(rows.size());
+        for (StudentIngestQueue.Row r : rows) {
+            if (existingNames.contains(r.nama)) continue;
+            int id = store.add(r.nama, r.kelas, r.jurusan, r.sekolah);
+            if (id == StudentStore.NO_CODE) continue; // kamus kolom penuh
+            existingNames.add(id);
+            Student s = new Student(store, id);
+            batch.add(s);
+            if (r.single) persist(s);
+        }
+        dataList.addAll(batch);
+        return batch.size();
+    }
+
+    private void finishImport() {
+        endTask();
+        replayDeferred();
+    }
+
+    // Akhir task tanpa menambahkan siswa yang ditunda; dipakai sebelum pohon diganti (applyTree).
+    private void endTask() {
+        // batch yang masih antre harus masuk sebelum pohon diganti
+        drainBatches();
+        progressIndicator.progressProperty().unbind();
+        progressLabel.textProperty().unbind();
+        importing.set(false);
+        currentImport = null;
+    }
+
+    // Siswa dari addStudent/antrean ingest selama task berjalan, ke pohon yang sedang dipakai.
+    private void replayDeferred() {
+        List<String[]> deferred = new ArrayList<>(deferredAdds);
+        deferredAdds.clear();
+        for (String[] d : deferred) addStudent(d[0], d[1], d[2], d[3]);
+        ingest.resume();
+    }
+
+    // Semua siswa hidup dicatat sebagai delete sebelum store dikosongkan (write-behind menggabungkannya
+    // per nama); tanpa itu siswa yang dibersihkan muncul lagi dari database saat aplikasi dibuka.
+    private void clearAll() {
+        for (Student s : dataList) persistDelete(s.getNama());
+        dataList.clear();
+        existingNames.clear();
+        clearSearchIndex();
+        nearDuplicateOf.clear();
+        store.clear();
+    }
+
+    private void loadExampleData() {
+        clearAll();
+        String[][] examples = {
+                {"Rina Safitri", "11", "PPLG", "SMK Airlangga"},
+                {"Ahmad Fauzi", "10", "AKL", "SMK Airlangga"},
+                {"Siti Nurhaliza", "12", "TJKT", "SMK Airlangga"},
+                {"Budi Santoso", "11", "AKC", "SMK Kesehatan Airlangga"},
+                {"Maya Sari", "10", "FKK", "SMK Kesehatan Airlangga"},
+                {"Dika Pratama", "12", "TLM", "SMK Kesehatan Airlangga"}
+        };
+        for (String[] e : examples) {
+            int id = store.add(e[0], e[1], e[2], e[3]);
+            Student s = new Student(store, id);
+            dataList.add(s);
+            existingNames.add(id);
+            persist(s); // menimpa delete untuk nama yang sama di atas
+        }
+    }
+
+    private void onDataChanged(ListChangeListener.Change<? extends Student> c) {
+        // indeks cari diperbarui juga selama import (batch masuk lewat drainBatches)
+        // dataStats mengikuti dataList (termasuk batch import) dalam O(1) per siswa
+        if (dataList.isEmpty()) dataStats.clear();
+        while (c.next()) {
+            if (!dataList.isEmpty()) for (Student s : c.getRemoved()) dataStats.remove(store, s.getId());
+            for (Student s : c.getAddedSubList()) {
+                dataStats.add(store, s.getId());
+                indexForSearch(s);
+            }
+        }
+        c.reset();
+        refresh.request(RefreshScheduler.COUNT);
+        if (importing.get()) return; // saat import, pohon dibangun sekali di worker
+        if (dataList.isEmpty()) {
+            treeIndex.clear();
+        } else if (!refresh.isPending(RefreshScheduler.TREE)) { // rebuild yang antre sudah mencakup perubahan ini
+            while (c.next()) incrementalChanges += c.getRemovedSize() + c.getAddedSize();
+            c.reset();
+            if (incrementalChanges > MAX_INCREMENTAL_CHANGES) {
+                refresh.request(RefreshScheduler.TREE);
+                return;
+            }
+            while (c.next()) {
+                for (Student s : c.getRemoved()) treeIndex.remove(s);
+                for (Student s : c.getAddedSubList()) treeIndex.add(s);
+            }
+        }
+        if (isSearching()) refresh.request(RefreshScheduler.SEARCH);
+    }
+
+    private void indexForSearch(Student s) {
+        int id = s.getId();
+        if (id >= studentById.length) studentById = Arrays.copyOf(studentById, Math.max(id + 1, studentById.length * 2));
+        studentById[id] = s;
+        searchIndex.add(id);
+    }
+
+    private void clearSearchIndex() {
+        searchIndex.clear();
+        Arrays.fill(studentById, null);
+    }
+
+    private boolean isSearching() {
+        return searchField != null && !searchField.getText().isBlank();
+    }
+
+    // Saring pohon sesuai kotak cari (FX thread). Siswa yang sudah dihapus tidak ada lagi di
+    // treeIndex, jadi ikut tersaring walaupun masih ada di posting indeks cari.
+    private void applySearch() {
+        if (treeTable == null) return;
+        if (!isSearching()) {
+            if (treeTable.getRoot() != treeIndex.getRoot()) treeTable.setRoot(treeIndex.getRoot());
+            searchInfo.setText("");
+            return;
+        }
+        int total = searchIndex.search(searchField.getText(), searchHits);
+        List<Student> found = new ArrayList<>(Math.min(total, MAX_SEARCH_RESULTS));
+        for (int i = 0, n = Math.min(total, MAX_SEARCH_RESULTS); i < n; i++) {
+            Student s = studentById[searchHits[i]];
+            if (s != null && treeIndex.contains(s)) found.add(s);
+        }
+        StudentTreeIndex filtered = new StudentTreeIndex();
+        filtered.rebuild(found);
+        filtered.expandAll();
+        treeTable.setRoot(filtered.getRoot());
+        searchInfo.setText(total > found.size()
+                ? String.format("🔍 %,d cocok, %,d ditampilkan", total, found.size())
+                : String.format("🔍 %,d cocok", found.size()));
+    }
+
+    // Bangun ulang penuh (tombol Segarkan / setelah import dibatalkan); digabung per pulse.
+    private void refreshTreeWithAnimation() {
+        refresh.request(RefreshScheduler.TREE);
+    }
+
+    // FX thread, sekali per pulse: semua yang ditandai sejak refresh sebelumnya.
+    private void runRefresh(int what) {
+        incrementalChanges = 0;
+        if (treeTable == null) return;
+        if ((what & RefreshScheduler.TREE) != 0) {
+            rebuildTree(); // termasuk hasil cari dan label jumlah
+            return;
+        }
+        if ((what & RefreshScheduler.SEARCH) != 0) applySearch();
+        if ((what & RefreshScheduler.COUNT) != 0) updateCount();
+    }
+
+    private void rebuildTree() {
+        StudentTreeIndex index = new StudentTreeIndex();
+        index.rebuild(dataList);
+        applyTree(index);
+    }
+
+    private void applyTree(StudentTreeIndex index) {
+        treeIndex = index;
+        treeTable.setRoot(index.getRoot());
+        if (isSearching()) applySearch();
+        treeTable.refresh();
+
+        FadeTransition ft = new FadeTransition(Duration.millis(400), treeTable);
+        ft.setFromValue(0); ft.setToValue(1); ft.play();
+
+        updateCount();
+    }
+
+    private void updateCount() {
+        if (countLabel == null) return;
+        countLabel.setText(String.format("👥 Total siswa: %d (SMK Airlangga: %d | SMK Kesehatan: %d)",
+                dataStats.total(), dataStats.sekolah(Kategori.Sekolah.AIRLANGGA.code()),
+                dataStats.sekolah(Kategori.Sekolah.KESEHATAN.code())));
+        ScaleTransition st = new ScaleTransition(Duration.millis(250), countLabel);
+        st.setFromX(1); st.setToX(1.06); st.setFromY(1); st.setToY(1.06);
+        st.setCycleCount(2); st.setAutoReverse(true); st.play();
+    }
+
+    private void saveDataToFile(Stage stage) {
+        if (dataList.isEmpty()) {
+            showAlert("Peringatan", "Tidak ada data untuk disimpan", Alert.AlertType.WARNING);
+            return;
+        }
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Simpan data siswa");
+        chooser.setInitialFileName("data_siswa.csv");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV (*.csv)", "*.csv"),
+                new FileChooser.ExtensionFilter("Snapshot biner (*" + StudentSnapshot.EXTENSION + ")", "*" + StudentSnapshot.EXTENSION));
+        File file = chooser.showSaveDialog(stage);
+        if (file == null) return;
+        int[] ids = new int[dataList.size()];
+        for (int i = 0; i < ids.length; i++) ids[i] = dataList.get(i).getId();
+        if (file.getName().toLowerCase(Locale.ROOT).endsWith(StudentSnapshot.EXTENSION)) {
+            // backup cepat: kolom kode kamus + nama UTF-8 langsung dari store
+            try {
+                StudentSnapshot.write(file.toPath(), store, ids);
+                showAlert("Sukses", "Snapshot tersimpan: " + file.getName(), Alert.AlertType.INFORMATION);
+            } catch (IOException ex) {
+                showAlert("Error", "Gagal menyimpan: " + ex.getMessage(), Alert.AlertType.ERROR);
+            }
+            return;
+        }
+        try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            StudentCsv.write(bw, store, ids);
+            showAlert("Sukses", "Data tersimpan: " + file.getName(), Alert.AlertType.INFORMATION);
+        } catch (IOException ex) {
+            showAlert("Error", "Gagal menyimpan: " + ex.getMessage(), Alert.AlertType.ERROR);
+        }
+    }
+
+    private void loadFromFile(Stage stage) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Muat data siswa");
+        List<File> files = chooser.showOpenMultipleDialog(stage);
+        if (files == null || files.isEmpty()) return;
+        if (files.size() > 1) {
+            startImport(createMultiFileImportTask(files.stream().map(File::toPath).collect(Collectors.toList())));
+            return;
+        }
+        // pilihan pembaca sama dengan StudentImporter.importFile / importFiles:
+        // snapshot (magic), *.csv, selain itu teks bebas
+        Path path = files.get(0).toPath();
+        if (StudentSnapshot.isSnapshot(path)) startImport(createSnapshotImportTask(path));
+        else if (path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")) startImport(createCsvImportTask(path));
+        else startImport(createTextFileImportTask(path));
+    }
+
+    private void showAlert(String title, String message, Alert.AlertType type) {
+        Alert a = new Alert(type);
+        a.setTitle(title);
+        a.setHeaderText(null);
+        a.setContentText(message);
+        a.showAndWait();
+    }
+
+    private static final class ParseOutcome {
+        final StudentTreeIndex index;
+        final int added;
+        final String message;
+        final List<NearDuplicateDetector.Pair> nearDuplicates;
+
+        ParseOutcome(StudentTreeIndex index, int added, String message, List<NearDuplicateDetector.Pair> nearDuplicates) {
+            this.index = index;
+            this.added = added;
+            this.message = message;
+            this.nearDuplicates = nearDuplicates;
+        }
+    }
+
+    // ---- Student class ----
+    // Pegangan ringan ke satu baris StudentStore (store + id), ~24 byte per siswa.
+    // Property JavaFX tidak disimpan per siswa: *Property() membuat view baru, jadi hanya
+    // sel yang sedang tampil yang punya objek property.
+    public static class Student {
+        private final StudentStore store;
+        private final int id;
+
+        public Student(StudentStore store, int id) {
+            this.store = store;
+            this.id = id;
+        }
+
+        public StudentStore getStore() { return store; }
+        public int getId() { return id; }
+
+        public String getNama() { return store.nama(id); }
+        public String getKelas() { return store.kelas(id); }
+        public String getJurusan() { return store.jurusan(id); }
+        public String getKelompok() { return store.sekolah(id); }
+
+        public int getKelasCode() { return store.kelasCode(id); }
+        public int getJurusanCode() { return store.jurusanCode(id); }
+        public int getSekolahCode() { return store.sekolahCode(id); }
+        public boolean isNearDuplicate() { return store.isNearDuplicate(id); }
+
+        void setNama(String nama) { store.setNama(id, nama); }
+
+        public StringProperty namaProperty() { return new SimpleStringProperty(this, "nama", getNama()); }
+        public StringProperty kelasProperty() { return new SimpleStringProperty(this, "kelas", getKelas()); }
+        public StringProperty jurusanProperty() { return new SimpleStringProperty(this, "jurusan", getJurusan()); }
+        public StringProperty kelompokProperty() { return new SimpleStringProperty(this, "kelompok", getKelompok()); }
+    }
+
+    // Baris grup di pohon (Sekolah/Jurusan/Kelas); labelnya ikut berubah saat jumlah berubah.
+    static final class GroupRow extends Student {
+        private final StringProperty label = new SimpleStringProperty("");
+        private final String kelas, jurusan, kelompok;
+        private final int sekolahCode;
+
+        GroupRow(String kelas, String jurusan, String kelompok, int sekolahCode) {
+            super(null, -1);
+            this.kelas = kelas;
+            this.jurusan = jurusan;
+            this.kelompok = kelompok;
+            this.sekolahCode = sekolahCode;
+        }
+
+        void setLabel(String text) { label.set(text); }
+
+        @Override public String getNama() { return label.get(); }
+        @Override public String getKelas() { return kelas; }
+        @Override public String getJurusan() { return jurusan; }
+        @Override public String getKelompok() { return kelompok; }
+        @Override public int getSekolahCode() { return sekolahCode; }
+        @Override public boolean isNearDuplicate() { return false; }
+
+        @Override void setNama(String nama) { label.set(nama); }
+
+        @Override public StringProperty namaProperty() { return label; }
+    }
+}
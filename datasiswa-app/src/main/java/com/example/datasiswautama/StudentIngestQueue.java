@@ -0,0 +1,171 @@
+package com.example.datasiswautama;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+// Jalur masuk siswa dari thread mana saja (AdminInputApp, integrasi, loader lain) ke model UI
+// SmartDataParser, yang hanya boleh diubah satu penulis (FX thread / worker import).
+//
+// Produsen: trim + buang nama kosong, lalu dedupe di `pending` (set konkuren nama huruf kecil
+// yang sedang antre), sehingga duplikat antar-produsen tidak pernah sampai ke FX thread. Baris
+// dikumpulkan per CHUNK_SIZE di thread produsen, baru masuk antrean konkuren (satu operasi
+// antrean per chunk, bukan per siswa).
+// FX thread: paling banyak MAX_ROWS_PER_DRAIN baris per runLater diberikan ke applier, yang
+// melakukan cek duplikat akhir terhadap data yang sudah ada dan menambahkan satu batch ke model.
+// Selama paused (import berjalan) antrean ditahan; resume() menjadwalkan drain lagi.
+// Antrean tidak dibatasi: baris yang antre hanya 4 String + kunci.
+// Baris dari offer() ditandai `single` (satu siswa, mis. AdminInputApp): applier menyimpannya
+// seperti addStudent di FX thread; baris addAll diperlakukan seperti import.
+public final class StudentIngestQueue {
+
+    public static final int CHUNK_SIZE = 1_024;
+    public static final int MAX_ROWS_PER_DRAIN = 20_000;
+
+    public static final class Row {
+        public final String nama;
+        public final String kelas;
+        public final String jurusan;
+        public final String sekolah;
+        public final boolean single; // dari offer(), bukan addAll()
+        final String key; // nama dalam bentuk foldCase, kunci di pending
+
+        Row(String nama, String kelas, String jurusan, String sekolah, boolean single, String key) {
+            this.nama = nama;
+            this.kelas = kelas;
+            this.jurusan = jurusan;
+            this.sekolah = sekolah;
+            this.single = single;
+            this.key = key;
+        }
+    }
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<List<Row>> chunks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final Executor fxExecutor;
+    private final ToIntFunction<List<Row>> applier;
+    private final BooleanSupplier paused;
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder added = new LongAdder();
+
+    // fxExecutor: Platform::runLater. applier (di fxExecutor) mengembalikan jumlah siswa yang benar-benar ditambahkan.
+    public StudentIngestQueue(Executor fxExecutor, ToIntFunction<List<Row>> applier, BooleanSupplier paused) {
+        this.fxExecutor = fxExecutor;
+        this.applier = applier;
+        this.paused = paused;
+    }
+
+    public void offer(String nama, String kelas, String jurusan, String sekolah) {
+        List<Row> chunk = new ArrayList<>(1);
+        accept(chunk, nama, kelas, jurusan, sekolah, true);
+        enqueue(chunk);
+    }
+
+    public void addAll(Collection<? extends Siswa> siswa) {
+        addAll(siswa.iterator());
+    }
+
+    // Stream dikonsumsi di thread pemanggil (berurutan); paralelisme = beberapa produsen.
+    public void addAll(Stream<? extends Siswa> siswa) {
+        addAll(siswa.iterator());
+    }
+
+    private void addAll(Iterator<? extends Siswa> it) {
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (it.hasNext()) {
+            Siswa s = it.next();
+            if (s == null) continue;
+            accept(chunk, s.getNama(), s.getKelas(), s.getJurusan(), s.getSekolah(), false);
+            if (chunk.size() == CHUNK_SIZE) {
+                enqueue(chunk);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        enqueue(chunk);
+    }
+
+    // Jadwalkan drain lagi setelah paused selesai (dipanggil dari SmartDataParser.replayDeferred).
+    public void resume() {
+        if (!chunks.isEmpty()) schedule();
+    }
+
+    public Stats stats() {
+        return new Stats(submitted.sum(), duplicates.sum(), queued.sum(), added.sum());
+    }
+
+    private void accept(List<Row> chunk, String nama, String kelas, String jurusan, String sekolah, boolean single) {
+        submitted.increment();
+        String n = nama == null ? "" : nama.trim();
+        if (n.isEmpty()) return;
+        String key = StudentStore.foldCase(n);
+        if (!pending.add(key)) {
+            duplicates.increment();
+            return;
+        }
+        chunk.add(new Row(n, trim(kelas), trim(jurusan), trim(sekolah), single, key));
+    }
+
+    private void enqueue(List<Row> chunk) {
+        if (chunk.isEmpty()) return;
+        chunks.add(chunk);
+        queued.add(chunk.size());
+        schedule();
+    }
+
+    private void schedule() {
+        if (drainScheduled.compareAndSet(false, true)) fxExecutor.execute(this::drain);
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        if (paused.getAsBoolean()) return;
+        List<Row> rows = new ArrayList<>();
+        List<Row> chunk;
+        while (rows.size() < MAX_ROWS_PER_DRAIN && (chunk = chunks.poll()) != null) rows.addAll(chunk);
+        if (rows.isEmpty()) return;
+        try {
+            added.add(applier.applyAsInt(rows));
+        } finally {
+            // nama yang sudah masuk (atau ditolak sebagai duplikat data lama) dicek applier berikutnya
+            for (Row r : rows) pending.remove(r.key);
+            queued.add(-rows.size());
+        }
+        if (!chunks.isEmpty()) schedule(); // sisa untuk pulse berikutnya
+    }
+
+    private static String trim(String s) {
+        return s == null ? "" : s.trim();
+    }
+
+    public static final class Stats {
+        public final long submitted;
+        public final long duplicates; // dibuang di sisi produsen (nama sama sedang antre)
+        public final long queued;
+        public final long added;
+
+        Stats(long submitted, long duplicates, long queued, long added) {
+            this.submitted = submitted;
+            this.duplicates = duplicates;
+            this.queued = queued;
+            this.added = added;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("masuk=%d duplikat=%d antre=%d ditambahkan=%d", submitted, duplicates, queued, added);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.datasiswautama;
+
+import com.example.datasiswautama.SmartDataParser.GroupRow;
+import com.example.datasiswautama.SmartDataParser.Student;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TreeItem;
+
+import java.util.*;
+
+// Indeks pengelompokan Sekolah -> Jurusan -> Kelas untuk TreeTableView SmartDataParser.
+// Urutan dan pengelompokan penuh berasal dari StudentGroups (core, tanpa JavaFX).
+// Node grup tetap hidup di antara perubahan: siswa baru disisipkan di posisi urut (binary search
+// berdasarkan nama), dan hanya label leluhurnya yang diperbarui. Jumlah per grup dibaca dari
+// StudentStats milik pohon ini (diperbarui O(1) per siswa), bukan dijumlahkan ulang.
+// Grup dicari lewat kode kamus StudentStore (indeks array, tanpa hash/compare String);
+// label hanya dibandingkan saat grup baru dibuat, untuk menentukan posisinya.
+// Tidak menyentuh scene graph, jadi bisa dibangun di worker thread lalu dipasang di FX thread.
+public final class StudentTreeIndex {
+
+    // dibandingkan langsung di arena StudentStore, tanpa membuat String nama
+    private static final Comparator<Student> BY_NAMA =
+            (a, b) -> a.getStore().compareNama(a.getId(), b.getId());
+
+    private static final Metrics.Timer REBUILD = Metrics.timer("tree.rebuild", "Bangun ulang pohon Sekolah -> Jurusan -> Kelas");
+
+    private static final int SEKOLAH = StudentGroups.SEKOLAH, JURUSAN = StudentGroups.JURUSAN, KELAS = StudentGroups.KELAS;
+
+    private final TreeItem<Student> root = new TreeItem<>(new GroupRow("", "", "", Kategori.TIDAK_DIKENAL));
+    private final Group[] sekolahGroups = new Group[256];
+    private final List<Group> sekolahOrder = new ArrayList<>();
+    private final Map<Student, TreeItem<Student>> leaves = new IdentityHashMap<>();
+    private final StudentStats stats = new StudentStats();
+
+    public StudentTreeIndex() {
+        root.setExpanded(true);
+    }
+
+    public TreeItem<Student> getRoot() {
+        return root;
+    }
+
+    public int size() {
+        return leaves.size();
+    }
+
+    // Jumlah siswa di pohon ini per sekolah/jurusan/kelas.
+    public StudentStats stats() {
+        return stats;
+    }
+
+    public boolean contains(Student s) {
+        return leaves.containsKey(s);
+    }
+
+    // O(log n) untuk mencari posisi; grup yang belum ada dibuat di posisi urutnya.
+    public void add(Student s) {
+        if (leaves.containsKey(s)) return;
+        Group kelas = kelasGroup(s, true);
+        ObservableList<TreeItem<Student>> list = kelas.node.getChildren();
+        TreeItem<Student> leaf = new TreeItem<>(s);
+        list.add(insertionPoint(list, s), leaf);
+        leaves.put(s, leaf);
+        stats.add(s.getStore(), s.getId());
+        for (Group g = kelas; g != null; g = g.parent) g.relabel();
+    }
+
+    // Nama siswa harus masih sama dengan saat disisipkan (lihat rename).
+    public boolean remove(Student s) {
+        TreeItem<Student> leaf = leaves.remove(s);
+        if (leaf == null) return false;
+        Group kelas = kelasGroup(s, false);
+        if (kelas == null) return false;
+        ObservableList<TreeItem<Student>> list = kelas.node.getChildren();
+        int idx = indexOf(list, leaf);
+        if (idx >= 0) list.remove(idx);
+        stats.remove(s.getStore(), s.getId());
+        for (Group g = kelas; g != null; g = g.parent) {
+            if (g.count() == 0) detach(g);
+            else g.relabel();
+        }
+        return true;
+    }
+
+    // Ganti nama lalu pindahkan siswa ke posisi urut yang baru di kelasnya.
+    public void rename(Student s, String newNama) {
+        boolean indexed = remove(s);
+        s.setNama(newNama);
+        if (indexed) add(s);
+    }
+
+    public void clear() {
+        root.getChildren().clear();
+        Arrays.fill(sekolahGroups, null);
+        sekolahOrder.clear();
+        leaves.clear();
+        stats.clear();
+    }
+
+    // Bangun ulang penuh: StudentGroups mengelompokkan dan mengurutkan id, lalu setiap kelas
+    // diisi dengan satu setAll. Semua siswa harus dari StudentStore yang sama.
+    public void rebuild(Collection<Student> students) {
+        long t = REBUILD.start();
+        clear();
+        if (students.isEmpty()) return;
+        StudentStore store = students.iterator().next().getStore();
+        Student[] byId = new Student[store.size()];
+        int[] ids = new int[students.size()];
+        int n = 0;
+        for (Student s : students) {
+            byId[s.getId()] = s;
+            ids[n++] = s.getId();
+        }
+        for (StudentGroups.Group sekolah : StudentGroups.of(store, ids)) {
+            for (StudentGroups.Group jurusan : sekolah.children) {
+                for (StudentGroups.Group kelas : jurusan.children) {
+                    int[] members = kelas.ids();
+                    List<TreeItem<Student>> items = new ArrayList<>(members.length);
+                    for (int id : members) {
+                        TreeItem<Student> leaf = new TreeItem<>(byId[id]);
+                        items.add(leaf);
+                        leaves.put(byId[id], leaf);
+                        stats.add(store, id);
+                    }
+                    kelasGroup(byId[members[0]], true).node.getChildren().setAll(items);
+                }
+            }
+        }
+        for (Group sekolah : sekolahOrder) sekolah.relabelAll();
+        REBUILD.stop(t);
+    }
+
+    // Buka semua grup (dipakai untuk pohon hasil cari, supaya siswa yang cocok langsung terlihat).
+    public void expandAll() {
+        for (Group sekolah : sekolahOrder) sekolah.expandAll();
+    }
+
+    private Group kelasGroup(Student s, boolean create) {
+        StudentStore store = s.getStore();
+        int id = s.getId();
+        Group sekolah = child(null, SEKOLAH, store.sekolahCode(id), s, create);
+        if (sekolah == null) return null;
+        Group jurusan = child(sekolah, JURUSAN, store.jurusanCode(id), s, create);
+        if (jurusan == null) return null;
+        return child(jurusan, KELAS, store.kelasCode(id), s, create);
+    }
+
+    private Group child(Group parent, int level, int code, Student s, boolean create) {
+        Group[] groups = parent == null ? sekolahGroups : parent.children;
+        Group g = groups[code];
+        if (g != null || !create) return g;
+        g = new Group(parent, level, code, s);
+        groups[code] = g;
+        List<Group> order = parent == null ? sekolahOrder : parent.order;
+        int pos = 0;
+        while (pos < order.size() && compareKey(level, order.get(pos).key, g.key) < 0) pos++;
+        order.add(pos, g);
+        (parent == null ? root : parent.node).getChildren().add(pos, g.node);
+        return g;
+    }
+
+    private void detach(Group g) {
+        Group[] groups = g.parent == null ? sekolahGroups : g.parent.children;
+        groups[g.code] = null;
+        (g.parent == null ? sekolahOrder : g.parent.order).remove(g);
+        (g.parent == null ? root : g.parent.node).getChildren().remove(g.node);
+    }
+
+    private static int compareKey(int level, String a, String b) {
+        return StudentGroups.compareLabel(level, a, b);
+    }
+
+    private static int insertionPoint(List<TreeItem<Student>> list, Student s) {
+        int lo = 0, hi = list.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (BY_NAMA.compare(list.get(mid).getValue(), s) <= 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int indexOf(List<TreeItem<Student>> list, TreeItem<Student> leaf) {
+        int i = insertionPoint(list, leaf.getValue()) - 1;
+        // nama sama (beda kapital) bisa bersebelahan: cari mundur sampai objek yang tepat
+        for (int j = i; j >= 0 && BY_NAMA.compare(list.get(j).getValue(), leaf.getValue()) == 0; j--) {
+            if (list.get(j) == leaf) return j;
+        }
+        return list.indexOf(leaf);
+    }
+
+    private final class Group {
+        final Group parent;
+        final int level;
+        final int code;
+        final String key;
+        final GroupRow row;
+        final TreeItem<Student> node;
+        final Group[] children;      // per kode anak; null untuk level kelas
+        final List<Group> order;     // anak dalam urutan tampil
+
+        Group(Group parent, int level, int code, Student s) {
+            this.parent = parent;
+            this.level = level;
+            this.code = code;
+            StudentStore store = s.getStore();
+            int id = s.getId();
+            String sekolah = store.sekolah(id);
+            int sekolahCode = store.sekolahCode(id);
+            switch (level) {
+                case SEKOLAH -> {
+                    key = sekolah;
+                    row = new GroupRow("", "", sekolah, sekolahCode);
+                }
+                case JURUSAN -> {
+                    key = store.jurusan(id);
+                    row = new GroupRow("", key, sekolah, sekolahCode);
+                }
+                default -> {
+                    key = store.kelas(id);
+                    row = new GroupRow(key, store.jurusan(id), sekolah, sekolahCode);
+                }
+            }
+            children = level == KELAS ? null : new Group[256];
+            order = level == KELAS ? null : new ArrayList<>();
+            node = new TreeItem<>(row);
+            node.setExpanded(level == SEKOLAH);
+        }
+
+        int count() {
+            return switch (level) {
+                case SEKOLAH -> stats.sekolah(code);
+                case JURUSAN -> stats.jurusan(parent.code, code);
+                default -> stats.kelas(parent.parent.code, parent.code, code);
+            };
+        }
+
+        void relabel() {
+            int count = count();
+            String label = switch (level) {
+                case SEKOLAH -> "🏫 " + key + " (" + count + ")";
+                case JURUSAN -> "📘 Jurusan: " + key + " (" + count + ")";
+                default -> "🧑‍🎓 Kelas " + key + " (" + count + ")";
+            };
+            row.setLabel(label);
+        }
+
+        void relabelAll() {
+            relabel();
+            if (order != null) order.forEach(Group::relabelAll);
+        }
+
+        void expandAll() {
+            node.setExpanded(true);
+            if (order != null) order.forEach(Group::expandAll);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.datasiswautama.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Main benchmarks.jar: sama dengan org.openjdk.jmh.Main, tapi hasil selalu ditulis sebagai JSON
+// (default jmh-result.json) supaya dua run bisa dibandingkan otomatis. -rf / -rff tetap bisa menimpa.
+public final class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp() || cli.shouldList()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        Options options = new OptionsBuilder()
+                .parent(cli)
+                .resultFormat(cli.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(cli.getResult().orElse("jmh-result.json"))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.datasiswautama.bench;
+
+import com.example.datasiswautama.MappedCsvReader;
+import com.example.datasiswautama.StudentCsv;
+import com.example.datasiswautama.StudentStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// CSV: escape + tulis baris (tanpa disk) dan split file dengan MappedCsvReader (file di page cache).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CsvBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private StudentStore store;
+    private int[] ids;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        store = Roster.generate(size).toStore();
+        ids = new int[size];
+        for (int i = 0; i < size; i++) ids[i] = i;
+        file = Files.createTempFile("datasiswa-bench", ".csv");
+        try (BufferedWriter bw = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            StudentCsv.write(bw, store, ids);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void escapeAndWrite() throws IOException {
+        try (BufferedWriter bw = new BufferedWriter(Writer.nullWriter())) {
+            StudentCsv.write(bw, store, ids);
+        }
+    }
+
+    @Benchmark
+    public long split() throws IOException {
+        long[] chars = {0};
+        new MappedCsvReader().read(file, row -> {
+            for (int f = 0; f < row.fieldCount(); f++) chars[0] += row.length(f);
+        });
+        return chars[0];
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.datasiswautama.bench;
+
+import com.example.datasiswautama.NameIndex;
+import com.example.datasiswautama.StudentStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Indeks duplikat nama (NameIndex): membangun dari nol dan cek nama yang ada / tidak ada.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class DedupeBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private StudentStore store;
+    private NameIndex index;
+    private String[] hits;
+    private String[] misses;
+
+    @Setup
+    public void setup() {
+        Roster roster = Roster.generate(size);
+        store = roster.toStore();
+        index = new NameIndex(store);
+        for (int id = 0; id < size; id++) index.add(id);
+        hits = new String[size];
+        misses = new String[size];
+        for (int i = 0; i < size; i++) {
+            hits[i] = roster.nama[i].toLowerCase();
+            misses[i] = roster.nama[i] + " X";
+        }
+    }
+
+    @Benchmark
+    public int build() {
+        NameIndex fresh = new NameIndex(store);
+        int unique = 0;
+        for (int id = 0; id < size; id++) if (fresh.add(id)) unique++;
+        return unique;
+    }
+
+    @Benchmark
+    public int lookupHit() {
+        int found = 0;
+        for (String nama : hits) if (index.contains(nama)) found++;
+        return found;
+    }
+
+    @Benchmark
+    public int lookupMiss() {
+        int found = 0;
+        for (String nama : misses) if (index.contains(nama)) found++;
+        return found;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.datasiswautama.bench;
+
+import com.example.datasiswautama.SmartDataParser.Student;
+import com.example.datasiswautama.StudentStore;
+import com.example.datasiswautama.StudentTreeIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Pengelompokan Sekolah -> Jurusan -> Kelas untuk pohon: bangun penuh (refresh / akhir import)
+// dan sisip satu per satu (perubahan interaktif).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class GroupingBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private List<Student> students;
+
+    @Setup
+    public void setup() {
+        StudentStore store = Roster.generate(size).toStore();
+        students = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) students.add(new Student(store, id));
+    }
+
+    @Benchmark
+    public StudentTreeIndex rebuild() {
+        StudentTreeIndex index = new StudentTreeIndex();
+        index.rebuild(students);
+        return index;
+    }
+
+    @Benchmark
+    public StudentTreeIndex incremental() {
+        StudentTreeIndex index = new StudentTreeIndex();
+        for (Student s : students) index.add(s);
+        return index;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.datasiswautama.bench;
+
+import com.example.datasiswautama.NameIndex;
+import com.example.datasiswautama.Siswa;
+import com.example.datasiswautama.StudentIngestQueue;
+import com.example.datasiswautama.StudentStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// StudentIngestQueue dengan beberapa produsen sekaligus: thread produsen memanggil offer (satu
+// siswa, seperti AdminInputApp dari worker) atau addAll (batch CHUNK_SIZE), satu thread "fx"
+// menjalankan drain seperti Platform.runLater dengan applier yang sama bentuknya dengan
+// SmartDataParser.applyIngested (NameIndex + StudentStore). Skor produsen = panggilan per detik
+// (offer: satu siswa, addAll: CHUNK_SIZE siswa; termasuk membuat nama unik), skor fx = drain per
+// detik (paling banyak MAX_ROWS_PER_DRAIN baris). Bila fx tertinggal antrean menumpuk sampai akhir
+// iterasi; jalankan dengan -prof gc untuk melihat biayanya.
+// Jumlah produsen diganti dengan -tg, mis. -tg 1,1 lalu -tg 4,1 (urutan: produsen, fx).
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Group)
+public class IngestBenchmark {
+
+    private static final int ROSTER_SIZE = 10_000;
+
+    private final LinkedBlockingQueue<Runnable> fx = new LinkedBlockingQueue<>();
+    private final AtomicInteger producers = new AtomicInteger();
+    private Roster roster;
+    private StudentStore store;
+    private NameIndex names;
+    private StudentIngestQueue queue;
+
+    @Setup(Level.Trial)
+    public void roster() {
+        roster = Roster.generate(ROSTER_SIZE);
+    }
+
+    // Model dan antrean baru per iterasi: store tidak tumbuh tanpa batas antar-iterasi.
+    @Setup(Level.Iteration)
+    public void setup() {
+        store = new StudentStore();
+        names = new NameIndex(store);
+        queue = new StudentIngestQueue(fx::add, this::apply, () -> false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void drainRemaining() {
+        Runnable r;
+        while ((r = fx.poll()) != null) r.run();
+    }
+
+    private int apply(List<StudentIngestQueue.Row> rows) {
+        int added = 0;
+        for (StudentIngestQueue.Row r : rows) {
+            if (names.contains(r.nama)) continue;
+            int id = store.add(r.nama, r.kelas, r.jurusan, r.sekolah);
+            if (id == StudentStore.NO_CODE) continue;
+            names.add(id);
+            added++;
+        }
+        return added;
+    }
+
+    // Nama unik per produsen (awalan thread + urutan), kolom lain dari Roster.
+    @State(Scope.Thread)
+    public static class Producer {
+        private String prefix;
+        private int next;
+        private final List<Siswa> batch = new ArrayList<>(StudentIngestQueue.CHUNK_SIZE);
+
+        @Setup(Level.Trial)
+        public void setup(IngestBenchmark b) {
+            prefix = "P" + b.producers.getAndIncrement() + " ";
+        }
+
+        int nextIndex() {
+            return next++ % ROSTER_SIZE;
+        }
+
+        String nextName(Roster roster, int i) {
+            return prefix + next + " " + roster.nama[i];
+        }
+    }
+
+    @Benchmark
+    @Group("offer")
+    @GroupThreads(3)
+    public void offer(Producer p) {
+        int i = p.nextIndex();
+        queue.offer(p.nextName(roster, i), roster.kelas[i], roster.jurusan[i], roster.sekolah[i]);
+    }
+
+    @Benchmark
+    @Group("offer")
+    @GroupThreads(1)
+    public void offerFx() throws InterruptedException {
+        runFx();
+    }
+
+    @Benchmark
+    @Group("addAll")
+    @GroupThreads(3)
+    public void addAll(Producer p) {
+        p.batch.clear();
+        for (int n = 0; n < StudentIngestQueue.CHUNK_SIZE; n++) {
+            int i = p.nextIndex();
+            p.batch.add(new Siswa(p.nextName(roster, i), roster.kelas[i], roster.jurusan[i], roster.sekolah[i]));
+        }
+        queue.addAll(p.batch);
+    }
+
+    @Benchmark
+    @Group("addAll")
+    @GroupThreads(1)
+    public void addAllFx() throws InterruptedException {
+        runFx();
+    }
+
+    // Seperti FX thread: tidur sampai ada runLater, jalankan satu tugas.
+    private void runFx() throws InterruptedException {
+        Runnable r = fx.poll(1, TimeUnit.MILLISECONDS);
+        if (r != null) r.run();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.datasiswautama.bench;
+
+import com.example.datasiswautama.StudentLineParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Parse teks bebas baris per baris, sama dengan loop di SmartDataParser.createParseTask.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class LineParserBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private String text;
+    private final StudentLineParser parser = new StudentLineParser();
+    private final StudentLineParser.Result result = new StudentLineParser.Result();
+
+    @Setup
+    public void setup() {
+        text = Roster.generate(size).text();
+    }
+
+    @Benchmark
+    public int parseLines() {
+        int ok = 0;
+        for (int start = 0, n = text.length(); start < n; ) {
+            int eol = text.indexOf('\n', start);
+            if (eol < 0) eol = n;
+            if (parser.parse(text, start, eol, result)) ok++;
+            start = eol + 1;
+        }
+        return ok;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.datasiswautama.bench;
+
+import com.example.datasiswautama.Kategori;
+import com.example.datasiswautama.StudentStore;
+
+import java.util.SplittableRandom;
+
+// Daftar siswa sintetis yang selalu sama untuk ukuran yang sama (seed tetap), supaya hasil
+// benchmark antar-commit bisa dibandingkan. Nama = nama depan + nama belakang + nomor; sekitar
+// 5% baris mengulang nama sebelumnya dengan kapital berbeda (untuk jalur dedupe).
+// Jurusan selalu cocok dengan sekolahnya, kelas 10-12.
+public final class Roster {
+
+    public static final long SEED = 0x5157A1L;
+
+    private static final String[] DEPAN = {
+            "Ahmad", "Budi", "Citra", "Dewi", "Eka", "Fajar", "Gita", "Hadi", "Indah", "Joko",
+            "Kartika", "Lestari", "Maya", "Nur", "Oki", "Putri", "Rina", "Siti", "Teguh", "Wahyu"};
+    private static final String[] BELAKANG = {
+            "Santoso", "Pratama", "Wijaya", "Safitri", "Nurhaliza", "Saputra", "Hidayat", "Kusuma",
+            "Rahmawati", "Setiawan", "Fauzi", "Lestari", "Permata", "Utomo", "Yulianti"};
+    private static final Kategori.Jurusan[] JURUSAN = Kategori.Jurusan.values();
+    private static final Kategori.Kelas[] KELAS = Kategori.Kelas.values();
+
+    public final String[] nama;
+    public final String[] kelas;
+    public final String[] jurusan;
+    public final String[] sekolah;
+
+    private Roster(int size) {
+        nama = new String[size];
+        kelas = new String[size];
+        jurusan = new String[size];
+        sekolah = new String[size];
+    }
+
+    public static Roster generate(int size) {
+        Roster r = new Roster(size);
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < size; i++) {
+            if (i > 0 && random.nextInt(100) < 5) {
+                r.nama[i] = r.nama[random.nextInt(i)].toUpperCase();
+            } else {
+                r.nama[i] = DEPAN[random.nextInt(DEPAN.length)] + " " + BELAKANG[random.nextInt(BELAKANG.length)] + " " + i;
+            }
+            Kategori.Jurusan j = JURUSAN[random.nextInt(JURUSAN.length)];
+            r.jurusan[i] = j.label();
+            r.sekolah[i] = j.sekolah().label();
+            r.kelas[i] = KELAS[random.nextInt(KELAS.length)].label();
+        }
+        return r;
+    }
+
+    public int size() {
+        return nama.length;
+    }
+
+    // Teks untuk processText dengan campuran format yang didukung StudentLineParser.
+    public String text() {
+        StringBuilder sb = new StringBuilder(size() * 40);
+        for (int i = 0; i < size(); i++) {
+            switch (i % 3) {
+                case 0 -> sb.append(nama[i]).append(" – ").append(kelas[i]).append(" – ").append(jurusan[i]).append(" – ").append(sekolah[i]);
+                case 1 -> sb.append(nama[i]).append(" - ").append(kelas[i]).append(" - ").append(jurusan[i]);
+                default -> sb.append(nama[i].replaceAll("[0-9 ]+$", "")).append(", kelas ").append(kelas[i]).append(' ').append(jurusan[i]);
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    // Semua baris ke store (tanpa dedupe); id = indeks baris.
+    public StudentStore toStore() {
+        StudentStore store = new StudentStore();
+        for (int i = 0; i < size(); i++) store.add(nama[i], kelas[i], jurusan[i], sekolah[i]);
+        return store;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.datasiswautama.bench;
+
+import com.example.datasiswautama.MappedCsvReader;
+import com.example.datasiswautama.NameIndex;
+import com.example.datasiswautama.StudentCsv;
+import com.example.datasiswautama.StudentSnapshot;
+import com.example.datasiswautama.StudentStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Simpan lalu muat ulang seluruh daftar (seperti tombol Simpan lalu Muat): tulis file, baca ke
+// store baru dengan dedupe NameIndex. CSV vs snapshot biner.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class RoundTripBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private StudentStore store;
+    private int[] ids;
+    private Path csv;
+    private Path snapshot;
+
+    @Setup
+    public void setup() throws IOException {
+        store = Roster.generate(size).toStore();
+        ids = new int[size];
+        for (int i = 0; i < size; i++) ids[i] = i;
+        csv = Files.createTempFile("datasiswa-bench", ".csv");
+        snapshot = Files.createTempFile("datasiswa-bench", StudentSnapshot.EXTENSION);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csv);
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Benchmark
+    public int csv() throws IOException {
+        try (BufferedWriter bw = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            StudentCsv.write(bw, store, ids);
+        }
+        StudentStore loaded = new StudentStore();
+        NameIndex seen = new NameIndex(loaded);
+        new MappedCsvReader().read(csv, row -> {
+            String nama = row.string(0);
+            if (!seen.contains(nama)) seen.add(loaded.add(nama, row.string(1), row.string(2), row.string(3)));
+        });
+        return loaded.size();
+    }
+
+    @Benchmark
+    public int snapshot() throws IOException {
+        StudentSnapshot.write(snapshot, store, ids);
+        StudentStore loaded = new StudentStore();
+        NameIndex seen = new NameIndex(loaded);
+        seen.ensureCapacity(StudentSnapshot.rowCount(snapshot));
+        StudentSnapshot.read(snapshot, loaded, (nama, kelas, jurusan, sekolah) -> {
+            if (!seen.contains(nama)) seen.add(loaded.add(nama, kelas, jurusan, sekolah));
+        }, () -> false);
+        return loaded.size();
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.datasiswautama;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+// Import tanpa UI (mis. job malam): file CSV, teks bebas format processText ("Nama – 10 – AKL –
+// SMK Airlangga") atau snapshot .dss dialirkan parse -> dedupe (StudentImporter) -> upsert batch ke
+// database (SiswaBatchWriter), tanpa toolkit JavaFX. Nama yang sama di file berikutnya dihitung
+// duplikat. Beberapa file dibaca bersamaan (satu reader per file, lihat StudentImporter.importFiles),
+// tapi di-dedupe dalam urutan argumen, jadi untuk nama yang muncul di dua file, file pertama yang menang.
+//
+// Memori tetap berapa pun ukuran file: CSV di-mmap, teks dibaca per baris, dan antrean ke database
+// berbatas (parser menunggu kalau database tertinggal). Yang tumbuh hanya StudentStore untuk
+// dedupe (nama + 3 byte kode per siswa).
+//
+//   java -cp datasiswa-core.jar:mysql-connector-j.jar com.example.datasiswautama.BatchImport \
+//        --threads 4 --max-rejects 100 siswa.csv tambahan.txt
+//
+// Exit code: 0 sukses, 1 gagal (file/database), 2 argumen salah, 3 baris ditolak melebihi --max-rejects.
+public final class BatchImport {
+
+    public static final int EXIT_OK = 0, EXIT_FAILED = 1, EXIT_USAGE = 2, EXIT_TOO_MANY_REJECTS = 3;
+
+    private static final int MAX_REJECTS_SHOWN = 20; // sisanya hanya dihitung
+
+    private static final String USAGE = String.join("\n",
+            "Pemakaian: BatchImport [opsi] <file.csv|file.txt|file.dss>...",
+            "  --threads N       thread parse CSV (satu file) dan koneksi database (default: jumlah CPU)",
+            "  --batch N         baris per transaksi (default " + StudentImporter.DEFAULT_BATCH + ")",
+            "  --max-rejects N   exit 3 kalau baris ditolak lebih dari N (default: tanpa batas)",
+            "  --dry-run         parse + dedupe saja, cetak jumlah per Sekolah/Jurusan/Kelas",
+            "Koneksi database: -Ddatasiswa.db.url/user/password/poolSize (lihat ConnectionPool).",
+            "Metrik: -Ddatasiswa.metrics.file=metrics.json atau -Ddatasiswa.metrics.port=9404 (lihat Metrics).");
+
+    private final StudentStore store = new StudentStore();
+    private final NameIndex seen = new NameIndex(store);
+    private final StudentStats stats = new StudentStats();
+    private final PrintStream out;
+    private final ForkJoinPool parsePool;
+    private final SiswaBatchWriter writer; // null = tanpa database
+    private final int batchSize;
+    private boolean interrupted;
+
+    public BatchImport(PrintStream out, ForkJoinPool parsePool, SiswaBatchWriter writer, int batchSize) {
+        this.out = out;
+        this.parsePool = parsePool;
+        this.writer = writer;
+        this.batchSize = batchSize;
+    }
+
+    public BatchImport(PrintStream out) {
+        this(out, ForkJoinPool.commonPool(), null, StudentImporter.DEFAULT_BATCH);
+    }
+
+    public StudentStore store() {
+        return store;
+    }
+
+    public StudentStats stats() {
+        return stats;
+    }
+
+    // Berhenti lebih awal (Summary.cancelled) kalau penulis database gagal atau thread di-interrupt.
+    public StudentImporter.Summary importFile(Path file) throws IOException {
+        return newImporter().importFile(file, parsePool, this::keepGoing);
+    }
+
+    // Semua file dibaca bersamaan (StudentImporter.importFiles); satu Summary gabungan.
+    public StudentImporter.Summary importFiles(List<Path> files) throws IOException {
+        return newImporter().importFiles(files, this::keepGoing);
+    }
+
+    private StudentImporter newImporter() {
+        return new StudentImporter(store, seen, batchSize, this::batch);
+    }
+
+    private boolean keepGoing(long done, long total) {
+        return !interrupted && (writer == null || !writer.failed());
+    }
+
+    private void batch(int[] ids, int count) {
+        List<String[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = ids[i];
+            stats.add(store, id);
+            rows.add(new String[]{store.nama(id), store.kelas(id), store.jurusan(id), store.sekolah(id)});
+        }
+        if (writer == null || interrupted) return;
+        try {
+            writer.put(rows);
+        } catch (InterruptedException e) {
+            interrupted = true;
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Jumlah per grup dalam urutan pohon UI (StudentGroups).
+    public void printGroups() {
+        int[] ids = new int[store.liveCount()];
+        for (int id = 0, n = 0; id < store.size(); id++) if (!store.isDeleted(id)) ids[n++] = id;
+        for (StudentGroups.Group sekolah : StudentGroups.of(store, ids)) {
+            out.printf("%s (%,d)%n", sekolah.label, stats.sekolah(sekolah.code));
+            for (StudentGroups.Group jurusan : sekolah.children) {
+                out.printf("  %s (%,d)%n", jurusan.label, stats.jurusan(sekolah.code, jurusan.code));
+                for (StudentGroups.Group kelas : jurusan.children) {
+                    out.printf("    Kelas %s (%,d)%n", kelas.label, stats.kelas(sekolah.code, jurusan.code, kelas.code));
+                }
+            }
+        }
+        out.printf("Total: %,d siswa%n", stats.total());
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int batch = StudentImporter.DEFAULT_BATCH;
+        long maxRejects = Long.MAX_VALUE;
+        boolean dryRun = false;
+        List<Path> files = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--threads" -> threads = positive(args, ++i);
+                    case "--batch" -> batch = positive(args, ++i);
+                    case "--max-rejects" -> maxRejects = Math.max(0, Long.parseLong(value(args, ++i)));
+                    case "--dry-run" -> dryRun = true;
+                    case "-h", "--help" -> {
+                        out.println(USAGE);
+                        return EXIT_OK;
+                    }
+                    default -> {
+                        if (args[i].startsWith("--")) throw new IllegalArgumentException("Opsi tidak dikenal: " + args[i]);
+                        files.add(Path.of(args[i]));
+                    }
+                }
+            }
+            if (files.isEmpty()) throw new IllegalArgumentException("Tidak ada file");
+        } catch (IllegalArgumentException ex) {
+            err.println(ex.getMessage());
+            err.println(USAGE);
+            return EXIT_USAGE;
+        }
+        for (Path file : files) {
+            if (!Files.isRegularFile(file)) {
+                err.println("File tidak ditemukan: " + file);
+                return EXIT_FAILED;
+            }
+        }
+
+        try {
+            Metrics.configureFromSystemProperties();
+        } catch (UncheckedIOException ex) {
+            err.println(ex.getMessage());
+            return EXIT_FAILED;
+        }
+
+        ForkJoinPool parsePool = new ForkJoinPool(threads);
+        SiswaBatchWriter writer = null;
+        if (!dryRun) {
+            ConnectionPool db = DatabaseConnection.pool();
+            int writers = Math.min(threads, db.stats().maxSize);
+            writer = new SiswaBatchWriter(SiswaRepository.createDefault(), writers, writers * 2);
+        }
+        BatchImport importer = new BatchImport(out, parsePool, writer, batch);
+
+        long t0 = System.nanoTime();
+        long rows = 0, bytes = 0;
+        int added = 0, duplicates = 0, rejected = 0;
+        boolean failed = false;
+        try {
+            // satu file: CSV besar diparse paralel per chunk; banyak file: satu reader per file
+            StudentImporter.Summary s = files.size() == 1 ? importer.importFile(files.get(0)) : importer.importFiles(files);
+            out.println((files.size() == 1 ? files.get(0) : files.size() + " file") + ": " + s);
+            for (int i = 0; i < Math.min(MAX_REJECTS_SHOWN, s.rejectSamples.size()); i++) {
+                err.println(" - " + s.rejectSamples.get(i));
+            }
+            if (s.rejected > MAX_REJECTS_SHOWN) err.printf(" ... dan %,d baris ditolak lainnya%n", s.rejected - MAX_REJECTS_SHOWN);
+            rows = s.rows;
+            bytes = s.bytes;
+            added = s.added;
+            duplicates = s.duplicates;
+            rejected = s.rejected;
+            failed = s.cancelled;
+        } catch (IOException ex) {
+            err.println("Gagal membaca file: " + ex.getMessage());
+            failed = true;
+        } catch (RuntimeException ex) {
+            // bug atau data yang tidak terduga: tetap exit 1 dengan ringkasan, bukan stack trace
+            err.println("Import gagal: " + ex);
+            failed = true;
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (SQLException ex) {
+                    err.println("Gagal menyimpan ke database: " + ex.getMessage());
+                    failed = true;
+                }
+                DatabaseConnection.pool().close();
+            }
+            parsePool.shutdown();
+        }
+
+        double secs = Math.max(1e-9, (System.nanoTime() - t0) / 1e9);
+        if (dryRun) importer.printGroups();
+        out.printf("Selesai dalam %.1f detik: %,d baris (%,.0f baris/detik, %,.1f MB/detik), %,d baru, %,d duplikat, %,d ditolak%n",
+                secs, rows, rows / secs, bytes / 1e6 / secs, added, duplicates, rejected);
+        if (writer != null) {
+            out.printf("Database: %,d baris ditulis, %,d percobaan ulang%n", writer.written(), writer.retries());
+        }
+        if (failed) return EXIT_FAILED;
+        if (rejected > maxRejects) {
+            err.printf("%,d baris ditolak, melebihi --max-rejects %,d%n", rejected, maxRejects);
+            return EXIT_TOO_MANY_REJECTS;
+        }
+        return EXIT_OK;
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) throw new IllegalArgumentException("Nilai opsi " + args[i - 1] + " tidak ada");
+        return args[i];
+    }
+
+    private static int positive(String[] args, int i) {
+        int n = Integer.parseInt(value(args, i));
+        if (n < 1) throw new IllegalArgumentException(args[i - 1] + " minimal 1: " + n);
+        return n;
+    }
+}
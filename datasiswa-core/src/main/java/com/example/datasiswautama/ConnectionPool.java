@@ -0,0 +1,333 @@
+package com.example.datasiswautama;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Pool koneksi JDBC sederhana tanpa library tambahan.
+// getConnection() mengembalikan proxy: close() tidak menutup koneksi fisik, tapi mengembalikannya
+// ke pool (auto-commit dipulihkan, transaksi yang menggantung di-rollback). Statement dan metadata
+// juga dibungkus, jadi getConnection() dari sana mengembalikan proxy yang sama. Koneksi yang
+// menganggur lebih dari VALIDATE_AFTER_MS dicek dengan isValid() sebelum dipinjamkan lagi,
+// koneksi yang error jaringan (SQLState 08xxx) dibuang, dan koneksi yang menganggur lebih dari
+// idleTimeout ditutup oleh thread pembersih.
+//
+// Konfigurasi lewat system property (lihat fromSystemProperties), mis. untuk uji dengan H2:
+//   -Ddatasiswa.db.url=jdbc:h2:mem:siswa;MODE=MySQL;DB_CLOSE_DELAY=-1 -Ddatasiswa.db.user=sa
+public final class ConnectionPool implements AutoCloseable {
+
+    private static final long VALIDATE_AFTER_MS = 500;
+    private static final int VALIDATE_TIMEOUT_SECONDS = 2;
+
+    private static final Metrics.Timer ACQUIRE = Metrics.timer("jdbc.acquire", "Tunggu koneksi dari pool");
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long idleTimeoutMillis;
+
+    private final Semaphore permits;
+    private final Deque<Idle> idle = new ArrayDeque<>(); // LIFO: yang terakhir dipakai keluar dulu
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    // metrik
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong waitNanosTotal = new AtomicLong();
+    private final AtomicLong waitNanosMax = new AtomicLong();
+
+    public ConnectionPool(String url, String user, String password,
+                          int maxSize, long acquireTimeoutMillis, long idleTimeoutMillis) {
+        if (maxSize < 1) throw new IllegalArgumentException("Ukuran pool minimal 1: " + maxSize);
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "datasiswa-db-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // Nilai default dipakai kalau property tidak di-set.
+    //   datasiswa.db.url, datasiswa.db.user, datasiswa.db.password,
+    //   datasiswa.db.poolSize (8), datasiswa.db.acquireTimeoutMs (5000), datasiswa.db.idleTimeoutMs (300000)
+    public static ConnectionPool fromSystemProperties(String defaultUrl, String defaultUser, String defaultPassword) {
+        return new ConnectionPool(
+                System.getProperty("datasiswa.db.url", defaultUrl),
+                System.getProperty("datasiswa.db.user", defaultUser),
+                System.getProperty("datasiswa.db.password", defaultPassword),
+                Integer.getInteger("datasiswa.db.poolSize", 8),
+                Long.getLong("datasiswa.db.acquireTimeoutMs", 5000L),
+                Long.getLong("datasiswa.db.idleTimeoutMs", 300_000L));
+    }
+
+    // Blok paling lama acquireTimeout; SQLTimeoutException kalau semua koneksi sedang dipinjam.
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("Pool koneksi sudah ditutup");
+        long t0 = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLTimeoutException("Tidak ada koneksi database yang bebas setelah "
+                        + acquireTimeoutMillis + " ms (maks. " + maxSize + " koneksi)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Menunggu koneksi database diinterupsi", e);
+        }
+        Connection raw;
+        try {
+            raw = takeIdleOrCreate();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        long waited = System.nanoTime() - t0;
+        ACQUIRE.record(waited);
+        waitNanosTotal.addAndGet(waited);
+        waitNanosMax.accumulateAndGet(waited, Math::max);
+        acquired.incrementAndGet();
+        active.incrementAndGet();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new Lease(raw));
+    }
+
+    public Stats stats() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        long n = acquired.get();
+        return new Stats(active.get(), idleCount, maxSize, created.get(), discarded.get(), n, timeouts.get(),
+                n == 0 ? 0 : waitNanosTotal.get() / n / 1_000_000.0, waitNanosMax.get() / 1_000_000.0);
+    }
+
+    // Koneksi yang sedang dipinjam ditutup saat dikembalikan.
+    @Override
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        synchronized (idle) {
+            for (Idle i : idle) closeQuietly(i.connection);
+            idle.clear();
+        }
+    }
+
+    private Connection takeIdleOrCreate() throws SQLException {
+        while (true) {
+            Idle i;
+            synchronized (idle) {
+                i = idle.pollFirst();
+            }
+            if (i == null) break;
+            if (System.currentTimeMillis() - i.since < VALIDATE_AFTER_MS || isValid(i.connection)) {
+                return i.connection;
+            }
+            discard(i.connection);
+        }
+        Connection c = DriverManager.getConnection(url, user, password);
+        created.incrementAndGet();
+        return c;
+    }
+
+    private void release(Connection raw, boolean broken) {
+        active.decrementAndGet();
+        try {
+            if (broken || closed || !reset(raw)) {
+                discard(raw);
+                return;
+            }
+            synchronized (idle) {
+                idle.addFirst(new Idle(raw, System.currentTimeMillis()));
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Kembalikan ke keadaan awal sebelum dipinjamkan lagi; false kalau koneksinya sudah rusak.
+    private static boolean reset(Connection raw) {
+        try {
+            if (raw.isClosed()) return false;
+            if (!raw.getAutoCommit()) {
+                raw.rollback();
+                raw.setAutoCommit(true);
+            }
+            if (raw.isReadOnly()) raw.setReadOnly(false);
+            raw.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        synchronized (idle) {
+            // paling lama menganggur ada di ujung belakang
+            for (Iterator<Idle> it = idle.descendingIterator(); it.hasNext(); ) {
+                Idle i = it.next();
+                if (i.since > cutoff) break;
+                it.remove();
+                discard(i.connection);
+            }
+        }
+    }
+
+    private void discard(Connection raw) {
+        discarded.incrementAndGet();
+        closeQuietly(raw);
+    }
+
+    private static boolean isValid(Connection raw) {
+        try {
+            return raw.isValid(VALIDATE_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Connection raw) {
+        try {
+            raw.close();
+        } catch (SQLException ignored) {
+            // koneksi memang sedang dibuang
+        }
+    }
+
+    private static final class Idle {
+        final Connection connection;
+        final long since;
+
+        Idle(Connection connection, long since) {
+            this.connection = connection;
+            this.since = since;
+        }
+    }
+
+    // Satu peminjaman: setelah close() proxy (dan statement-nya) tidak bisa dipakai lagi.
+    private final class Lease implements InvocationHandler {
+        private final Connection raw;
+        private volatile boolean returned;
+        private volatile boolean broken;
+
+        Lease(Connection raw) {
+            this.raw = raw;
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!returned) {
+                        returned = true;
+                        release(raw, broken);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return returned || raw.isClosed();
+                }
+                case "unwrap", "isWrapperFor" -> {
+                    // tetap didelegasikan ke koneksi fisik
+                }
+                case "toString" -> {
+                    return "Pooled[" + raw + "]";
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                }
+            }
+            if (returned) throw new SQLException("Koneksi sudah dikembalikan ke pool");
+            Object result = call(raw, method, args);
+            if (result instanceof Statement || result instanceof DatabaseMetaData) {
+                Class<?> type = method.getReturnType(); // Statement, PreparedStatement, CallableStatement, DatabaseMetaData
+                return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (p, m, a) -> {
+                    if (m.getName().equals("getConnection")) return proxy;
+                    if (returned && !m.getName().equals("close")) throw new SQLException("Koneksi sudah dikembalikan ke pool");
+                    return call(result, m, a);
+                });
+            }
+            return result;
+        }
+
+        private Object call(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException sql && sql.getSQLState() != null
+                        && sql.getSQLState().startsWith("08")) {
+                    broken = true; // kelas 08 = koneksi putus
+                }
+                throw cause;
+            }
+        }
+    }
+
+    public static final class Stats {
+        public final int active;
+        public final int idle;
+        public final int maxSize;
+        public final long created;
+        public final long discarded;
+        public final long acquired;
+        public final long timeouts;
+        public final double avgWaitMillis;
+        public final double maxWaitMillis;
+
+        Stats(int active, int idle, int maxSize, long created, long discarded, long acquired,
+              long timeouts, double avgWaitMillis, double maxWaitMillis) {
+            this.active = active;
+            this.idle = idle;
+            this.maxSize = maxSize;
+            this.created = created;
+            this.discarded = discarded;
+            this.acquired = acquired;
+            this.timeouts = timeouts;
+            this.avgWaitMillis = avgWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("aktif=%d idle=%d maks=%d dibuat=%d dibuang=%d dipinjam=%d timeout=%d "
+                            + "tunggu rata2=%.2f ms maks=%.2f ms",
+                    active, idle, maxSize, created, discarded, acquired, timeouts, avgWaitMillis, maxWaitMillis);
+        }
+    }
+}
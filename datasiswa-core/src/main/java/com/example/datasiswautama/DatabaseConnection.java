@@ -0,0 +1,30 @@
+package com.example.datasiswautama;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public class DatabaseConnection {
+
+    // tambahkan serverTimezone dan disable SSL jika lokal;
+    // rewriteBatchedStatements: executeBatch INSERT dikirim sebagai INSERT multi-baris (SiswaRepository)
+    private static final String URL = "jdbc:mysql://localhost:3306/db_siswa_airlangga?useSSL=false&serverTimezone=UTC"
+            + "&rewriteBatchedStatements=true";
+    private static final String USER = "app_user";
+    private static final String PASS = "passwordku123";
+
+    // Dibuat saat pertama kali dipakai; URL/user/ukuran pool bisa ditimpa lewat system property
+    // (lihat ConnectionPool.fromSystemProperties).
+    private static final class Holder {
+        static final ConnectionPool POOL = ConnectionPool.fromSystemProperties(URL, USER, PASS);
+    }
+
+    // Koneksi dari pool. Selalu tutup (try-with-resources): close() mengembalikannya ke pool.
+    // Gagal terhubung dilempar sebagai SQLException, bukan dikembalikan sebagai null.
+    public static Connection getConnection() throws SQLException {
+        return Holder.POOL.getConnection();
+    }
+
+    public static ConnectionPool pool() {
+        return Holder.POOL;
+    }
+}
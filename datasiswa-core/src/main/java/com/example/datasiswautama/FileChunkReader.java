@@ -0,0 +1,242 @@
+package com.example.datasiswautama;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Tahap baca untuk StudentImporter.importFiles: setiap file dibaca + diparse di thread-nya sendiri
+// (virtual thread di Java 21+, lihat newReaderExecutor) menjadi Chunk berisi String, lalu masuk
+// antrean berbatas milik file itu. take() menghabiskan antrean file pertama, lalu file kedua, dst.,
+// jadi tahap dedupe/merge di thread pemanggil melihat baris dalam urutan daftar file, sama dengan
+// import satu per satu (nama yang sama di dua file: file yang lebih awal di daftar yang menang),
+// sementara file berikutnya sudah diparse di depan. Reader menunggu saat antreannya penuh
+// (backpressure): baris yang sudah diparse tapi belum di-dedupe paling banyak
+// max(capacity, 2 * jumlah file) * CHUNK_ROWS.
+//
+// Reader tidak menyentuh StudentStore importer (satu penulis): snapshot didekode dengan store
+// sementara milik reader itu sendiri, hanya untuk kamusnya.
+final class FileChunkReader implements AutoCloseable {
+
+    static final int CHUNK_ROWS = 1024;
+    private static final long OFFER_POLL_MS = 100;
+
+    // Baris satu file, dalam urutan file. bytes = byte file yang selesai dibaca sejak chunk
+    // sebelumnya dari file yang sama (jumlah semua chunk satu file = ukuran file).
+    static final class Chunk {
+        final String[] nama = new String[CHUNK_ROWS];
+        final String[] kelas = new String[CHUNK_ROWS];
+        final String[] jurusan = new String[CHUNK_ROWS];
+        final String[] sekolah = new String[CHUNK_ROWS];
+        int rows;
+        final List<String[]> rejects = new ArrayList<>(0); // {baris, alasan}
+        long bytes;
+
+        boolean isFull() {
+            return rows == CHUNK_ROWS;
+        }
+
+        void add(String n, String k, String j, String s) {
+            nama[rows] = n;
+            kelas[rows] = k;
+            jurusan[rows] = j;
+            sekolah[rows] = s;
+            rows++;
+        }
+    }
+
+    private static final Chunk END = new Chunk();
+
+    private final List<BlockingQueue<Chunk>> queues; // satu per file, urutan daftar file
+    private final ExecutorService readers;
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+    private volatile boolean cancelled;
+    private int current; // file yang sedang dihabiskan take()
+
+    // capacity = jumlah chunk yang boleh menunggu, dibagi rata ke semua file (minimal 2 per file).
+    FileChunkReader(List<Path> files, int capacity) {
+        int perFile = Math.max(2, capacity / Math.max(1, files.size()));
+        this.queues = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) queues.add(new ArrayBlockingQueue<>(perFile));
+        this.readers = newReaderExecutor(files.size());
+        // dijalankan menurut urutan file: file yang ditunggu take() tidak pernah antre di belakang
+        // reader file sesudahnya (pool Java 17 lebih kecil dari jumlah file)
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            BlockingQueue<Chunk> out = queues.get(i);
+            readers.execute(() -> readFile(file, out));
+        }
+    }
+
+    // Chunk berikutnya dalam urutan file (semua chunk file 0, lalu file 1, ...); null kalau semua
+    // file selesai. IOException reader pertama yang gagal, file mana pun, dilempar di sini (reader
+    // lain dihentikan).
+    Chunk take() throws IOException, InterruptedException {
+        while (current < queues.size()) {
+            Chunk c = queues.get(current).poll(OFFER_POLL_MS, TimeUnit.MILLISECONDS);
+            IOException e = failure.get();
+            if (e != null) throw e;
+            if (c == END) current++;
+            else if (c != null) return c;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        cancelled = true;
+        for (BlockingQueue<Chunk> q : queues) q.clear();
+        readers.shutdownNow();
+    }
+
+    // Java 21+: satu virtual thread per file (Executors.newVirtualThreadPerTaskExecutor, lewat
+    // refleksi karena build menargetkan Java 17). Java 17: thread platform sebanyak CPU; parse
+    // terikat CPU, jadi thread lebih banyak hanya menambah memori.
+    private static ExecutorService newReaderExecutor(int files) {
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Math.max(1, Math.min(files, Runtime.getRuntime().availableProcessors()));
+            AtomicInteger n = new AtomicInteger();
+            return Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "file-reader-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    private void readFile(Path file, BlockingQueue<Chunk> out) {
+        try {
+            if (!cancelled) {
+                if (StudentSnapshot.isSnapshot(file)) readSnapshot(file, out);
+                else if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")) readCsv(file, out);
+                else readText(file, out);
+            }
+        } catch (IOException | RuntimeException e) {
+            failure.compareAndSet(null, new IOException(file + ": " + e.getMessage(), e));
+            cancelled = true;
+        } catch (InterruptedException e) {
+            cancelled = true;
+        } finally {
+            try {
+                put(out, END);
+            } catch (InterruptedException ignored) {
+                // dibatalkan: pemanggil sudah berhenti membaca antrean
+            }
+        }
+    }
+
+    private void readCsv(Path file, BlockingQueue<Chunk> out) throws IOException, InterruptedException {
+        MappedCsvReader reader = new MappedCsvReader();
+        long[] reported = {0};
+        Chunk[] chunk = {new Chunk()};
+        boolean[] interrupted = {false};
+        reader.read(file, new MappedCsvReader.RowSink() {
+            @Override
+            public void row(MappedCsvReader.Row row) {
+                chunk[0].add(row.string(0),
+                        row.string(1, StudentLineParser.KELAS_UMUM),
+                        row.string(2, StudentLineParser.JURUSAN_UMUM),
+                        row.string(3, StudentLineParser.SEKOLAH_UMUM));
+                flushIfFull(row);
+            }
+
+            @Override
+            public void shortRow(MappedCsvReader.Row row) {
+                chunk[0].rejects.add(new String[]{row.line(), StudentImporter.SHORT_ROW});
+                flushIfFull(row);
+            }
+
+            private void flushIfFull(MappedCsvReader.Row row) {
+                if (!chunk[0].isFull() && chunk[0].rejects.size() < CHUNK_ROWS) return;
+                chunk[0].bytes = row.offset() - reported[0];
+                reported[0] = row.offset();
+                try {
+                    put(out, chunk[0]);
+                } catch (InterruptedException e) {
+                    interrupted[0] = true;
+                }
+                if (cancelled || interrupted[0]) reader.cancel();
+                chunk[0] = new Chunk();
+            }
+        });
+        if (interrupted[0]) throw new InterruptedException();
+        chunk[0].bytes = Files.size(file) - reported[0];
+        put(out, chunk[0]);
+    }
+
+    private void readText(Path file, BlockingQueue<Chunk> out) throws IOException, InterruptedException {
+        StudentLineParser parser = new StudentLineParser();
+        StudentLineParser.Result r = new StudentLineParser.Result();
+        long size = Files.size(file);
+        long chars = 0, reported = 0;
+        Chunk chunk = new Chunk();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for (String line; !cancelled && (line = in.readLine()) != null; ) {
+                chars += line.length() + 1; // perkiraan byte untuk progress
+                if (parser.parse(line, r)) {
+                    chunk.add(r.getNama(), r.getKelas(), r.getJurusan(), r.getSekolah());
+                } else if (r.getSkip() != StudentLineParser.Skip.BLANK) {
+                    chunk.rejects.add(new String[]{line, r.getSkip().getMessage()});
+                }
+                if (chunk.isFull() || chunk.rejects.size() == CHUNK_ROWS) {
+                    chunk.bytes = Math.min(chars, size) - reported;
+                    reported += chunk.bytes;
+                    put(out, chunk);
+                    chunk = new Chunk();
+                }
+            }
+        }
+        chunk.bytes = size - reported;
+        put(out, chunk);
+    }
+
+    private void readSnapshot(Path file, BlockingQueue<Chunk> out) throws IOException, InterruptedException {
+        StudentStore dictionaries = new StudentStore(); // hanya kamus; baris tidak ditambahkan
+        long size = Files.size(file);
+        int total = Math.max(1, StudentSnapshot.rowCount(file));
+        long[] reported = {0};
+        int[] done = {0};
+        Chunk[] chunk = {new Chunk()};
+        boolean[] interrupted = {false};
+        StudentSnapshot.read(file, dictionaries, (nama, k, j, s) -> {
+            if (k < 0 || j < 0 || s < 0) chunk[0].rejects.add(new String[]{nama.toString(), "terlalu banyak nilai kategori berbeda (maks. 256)"});
+            else chunk[0].add(nama.toString(), dictionaries.kelasLabel(k), dictionaries.jurusanLabel(j), dictionaries.sekolahLabel(s));
+            done[0]++;
+            if (!chunk[0].isFull()) return;
+            long pos = size * done[0] / total;
+            chunk[0].bytes = pos - reported[0];
+            reported[0] = pos;
+            try {
+                put(out, chunk[0]);
+            } catch (InterruptedException e) {
+                interrupted[0] = true;
+            }
+            chunk[0] = new Chunk();
+        }, () -> cancelled || interrupted[0]);
+        if (interrupted[0]) throw new InterruptedException();
+        chunk[0].bytes = size - reported[0];
+        put(out, chunk[0]);
+    }
+
+    // Menunggu tempat di antrean, tapi tidak selamanya kalau import sudah dibatalkan.
+    private void put(BlockingQueue<Chunk> out, Chunk c) throws InterruptedException {
+        while (!out.offer(c, OFFER_POLL_MS, TimeUnit.MILLISECONDS)) {
+            if (cancelled) return;
+        }
+    }
+}
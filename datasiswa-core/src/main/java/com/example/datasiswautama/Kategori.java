@@ -0,0 +1,134 @@
+package com.example.datasiswautama;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Domain tertutup untuk kelas, jurusan dan sekolah.
+// Kode setiap nilai = ordinal enum-nya. StudentStore menyemai kamusnya dengan urutan yang sama,
+// jadi kode dari parser langsung dipakai sebagai kode byte di store (tanpa lookup String).
+// Nilai di luar domain ini tetap boleh (mis. jurusan baru dari CSV): kodenya -1 di sini
+// dan store memberinya kode baru setelah kode-kode bawaan.
+public final class Kategori {
+
+    public static final int TIDAK_DIKENAL = -1;
+
+    private Kategori() {}
+
+    public enum Sekolah {
+        AIRLANGGA("SMK Airlangga"),
+        KESEHATAN("SMK Kesehatan Airlangga"),
+        TIDAK_DIKETAHUI("Tidak Diketahui");
+
+        private static final Sekolah[] VALUES = values();
+
+        private final String label;
+
+        Sekolah(String label) { this.label = label; }
+
+        public String label() { return label; }
+        public int code() { return ordinal(); }
+
+        public static Sekolah of(int code) {
+            return code >= 0 && code < VALUES.length ? VALUES[code] : null;
+        }
+
+        public static int codeOf(CharSequence text, int s, int e) {
+            for (Sekolah k : VALUES) {
+                if (regionEquals(k.label, text, s, e, false)) return k.ordinal();
+            }
+            return TIDAK_DIKENAL;
+        }
+    }
+
+    // Urut abjad, sama dengan urutan tampil di pohon.
+    public enum Jurusan {
+        AKC(Sekolah.KESEHATAN),
+        AKL(Sekolah.AIRLANGGA),
+        DKV(Sekolah.AIRLANGGA),
+        FKK(Sekolah.KESEHATAN),
+        MPLB(Sekolah.AIRLANGGA),
+        PPLG(Sekolah.AIRLANGGA),
+        TJKT(Sekolah.AIRLANGGA),
+        TLM(Sekolah.KESEHATAN);
+
+        private static final Jurusan[] VALUES = values();
+
+        private final Sekolah sekolah;
+
+        Jurusan(Sekolah sekolah) { this.sekolah = sekolah; }
+
+        public String label() { return name(); }
+        public int code() { return ordinal(); }
+        public Sekolah sekolah() { return sekolah; }
+
+        public static Jurusan of(int code) {
+            return code >= 0 && code < VALUES.length ? VALUES[code] : null;
+        }
+
+        // Tanpa toUpperCase: dibandingkan per karakter, huruf kecil/besar dianggap sama.
+        public static int codeOf(CharSequence text, int s, int e) {
+            for (Jurusan j : VALUES) {
+                if (regionEquals(j.name(), text, s, e, true)) return j.ordinal();
+            }
+            return TIDAK_DIKENAL;
+        }
+
+        // Kode jurusan -> kode sekolah, O(1); -1 kalau jurusan di luar domain.
+        public static int sekolahCode(int jurusanCode) {
+            Jurusan j = of(jurusanCode);
+            return j == null ? TIDAK_DIKENAL : j.sekolah.ordinal();
+        }
+
+        public static List<String> labelsFor(Sekolah sekolah) {
+            List<String> out = new ArrayList<>();
+            for (Jurusan j : VALUES) {
+                if (j.sekolah == sekolah) out.add(j.name());
+            }
+            return out;
+        }
+    }
+
+    public enum Kelas {
+        X("10"),
+        XI("11"),
+        XII("12");
+
+        private static final Kelas[] VALUES = values();
+
+        private final String label;
+
+        Kelas(String label) { this.label = label; }
+
+        public String label() { return label; }
+        public int code() { return ordinal(); }
+
+        public static Kelas of(int code) {
+            return code >= 0 && code < VALUES.length ? VALUES[code] : null;
+        }
+
+        public static int codeOf(CharSequence text, int s, int e) {
+            for (Kelas k : VALUES) {
+                if (regionEquals(k.label, text, s, e, false)) return k.ordinal();
+            }
+            return TIDAK_DIKENAL;
+        }
+    }
+
+    static String[] labels(Enum<?>[] values) {
+        String[] out = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            Enum<?> v = values[i];
+            out[i] = v instanceof Sekolah s ? s.label : v instanceof Kelas k ? k.label : v.name();
+        }
+        return out;
+    }
+
+    private static boolean regionEquals(String known, CharSequence text, int s, int e, boolean ignoreCase) {
+        if (known.length() != e - s) return false;
+        for (int i = 0; i < known.length(); i++) {
+            char a = known.charAt(i), b = text.charAt(s + i);
+            if (a != b && !(ignoreCase && Character.toUpperCase(b) == a)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,419 @@
+package com.example.datasiswautama;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Pembaca CSV streaming berbasis FileChannel.map untuk file ekspor yang besar.
+// File dipetakan per jendela (bukan dibaca ke heap), byte UTF-8 didekode langsung
+// ke satu buffer char yang dipakai ulang, dan field dikirim ke RowSink tanpa
+// membuat String per baris. Kolom: nama,kelas,jurusan,kelompok (sama dengan saveDataToFile).
+public final class MappedCsvReader {
+
+    static final int FIELDS = 4;
+    private static final int DEFAULT_WINDOW = 64 * 1024 * 1024;
+    private static final int MIN_CHUNK = 4 * 1024 * 1024;
+
+    // Menerima satu baris; isi Row hanya valid selama pemanggilan.
+    public interface RowSink {
+        void row(Row row);
+
+        // Baris tidak kosong dengan kurang dari FIELDS kolom (hanya field < fieldCount() yang valid).
+        // Default: dilewati; importer menghitungnya sebagai ditolak.
+        default void shortRow(Row row) {
+        }
+    }
+
+    public static final class Row {
+        private char[] chars = new char[256];
+        private final int[] start = new int[FIELDS];
+        private final int[] end = new int[FIELDS];
+        private int fields;
+        private int len;
+        private long offset;
+
+        public int fieldCount() { return fields; }
+
+        // posisi byte di file setelah baris ini (untuk progress)
+        public long offset() { return offset; }
+
+        public int length(int field) { return end[field] - start[field]; }
+
+        public char charAt(int field, int index) { return chars[start[field] + index]; }
+
+        public String string(int field) {
+            return new String(chars, start[field], end[field] - start[field]);
+        }
+
+        // Field yang ada digabung dengan koma (tanpa kutip), untuk contoh baris yang ditolak.
+        public String line() {
+            StringBuilder sb = new StringBuilder();
+            for (int f = 0, n = Math.min(fields, FIELDS); f < n; f++) {
+                if (f > 0) sb.append(',');
+                sb.append(chars, start[f], end[f] - start[f]);
+            }
+            return sb.toString();
+        }
+
+        // Untuk kolom kategorikal: kembalikan konstanta yang cocok agar tidak mengalokasi String.
+        public String string(int field, String[] known) {
+            int n = end[field] - start[field];
+            outer:
+            for (String k : known) {
+                if (k.length() != n) continue;
+                for (int i = 0; i < n; i++) {
+                    if (k.charAt(i) != chars[start[field] + i]) continue outer;
+                }
+                return k;
+            }
+            return string(field);
+        }
+
+        private void reset() {
+            fields = 0;
+            len = 0;
+        }
+
+        private void put(char c) {
+            if (len == chars.length) chars = Arrays.copyOf(chars, len * 2);
+            chars[len++] = c;
+        }
+
+        private void endField(int fieldStart) {
+            if (fields < FIELDS) {
+                int s = fieldStart, e = len;
+                while (s < e && chars[s] <= ' ') s++;
+                while (e > s && chars[e - 1] <= ' ') e--;
+                start[fields] = s;
+                end[fields] = e;
+            }
+            fields++;
+        }
+
+        private boolean isBlank() {
+            for (int i = 0; i < len; i++) if (chars[i] > ' ') return false;
+            return true;
+        }
+    }
+
+    public static final class Stats {
+        long rows;
+        long bytes;
+        long nanos;
+
+        public long getRows() { return rows; }
+        public long getBytes() { return bytes; }
+        public double getSeconds() { return nanos / 1e9; }
+        public double rowsPerSecond() { return rows / Math.max(1e-9, getSeconds()); }
+        public double megabytesPerSecond() { return bytes / 1e6 / Math.max(1e-9, getSeconds()); }
+    }
+
+    private final int window;
+    private volatile boolean cancelled;
+
+    public MappedCsvReader() {
+        this(DEFAULT_WINDOW);
+    }
+
+    MappedCsvReader(int window) {
+        this.window = window;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public Stats read(Path file, RowSink sink) throws IOException {
+        Stats stats = new Stats();
+        long t0 = System.nanoTime();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            Row row = new Row();
+            long pos = skipBom(ch, size);
+            int win = window;
+            while (pos < size && !cancelled) {
+                long len = Math.min(win, size - pos);
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, pos, len);
+                boolean last = pos + len == size;
+                int consumed = parseWindow(buf, pos, (int) len, last, row, sink, stats);
+                if (consumed == 0) {
+                    // satu baris lebih panjang dari jendela: perbesar jendela lalu coba lagi
+                    win = (int) Math.min(Integer.MAX_VALUE - 8, (long) win * 2);
+                    continue;
+                }
+                pos += consumed;
+            }
+            stats.bytes = pos;
+        }
+        stats.nanos = System.nanoTime() - t0;
+        return stats;
+    }
+
+    // Versi paralel untuk file besar. File dibagi menjadi chunk yang disejajarkan ke awal baris:
+    //  1. tiap chunk menghitung paritas tanda kutip (paralel),
+    //  2. prefix-XOR paritas memberi status "di dalam kutip" di awal tiap chunk, sehingga
+    //     awal baris pertama yang sah bisa dicari tanpa salah memotong field ber-newline (paralel),
+    //  3. tiap chunk diparse ke buffernya sendiri (paralel), lalu hasilnya diputar ulang ke sink
+    //     berurutan di thread pemanggil. Urutan baris ke sink sama persis dengan read().
+    // Jumlah chunk yang sudah diparse tapi belum diputar ulang dibatasi 2x paralelisme.
+    public Stats readParallel(Path file, ForkJoinPool pool, RowSink sink) throws IOException {
+        long size;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            size = ch.size();
+        }
+        int parallelism = pool.getParallelism();
+        if (parallelism < 2 || size < 2L * MIN_CHUNK) return read(file, sink);
+
+        Stats stats = new Stats();
+        long t0 = System.nanoTime();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long begin = skipBom(ch, size);
+            long chunkSize = Math.max(MIN_CHUNK, Math.min(window, (size - begin) / (parallelism * 4L) + 1));
+            int chunks = (int) ((size - begin + chunkSize - 1) / chunkSize);
+            long[] nominal = new long[chunks + 1];
+            for (int k = 0; k < chunks; k++) nominal[k] = begin + k * chunkSize;
+            nominal[chunks] = size;
+
+            // 1. paritas kutip per chunk
+            List<Callable<Boolean>> parityJobs = new ArrayList<>(chunks);
+            for (int k = 0; k < chunks; k++) {
+                long from = nominal[k], to = nominal[k + 1];
+                parityJobs.add(() -> oddQuotes(ch, from, to));
+            }
+            boolean[] parity = joinAll(pool.invokeAll(parityJobs));
+
+            // 2. awal baris pertama di tiap chunk (di luar kutip)
+            List<Callable<Long>> alignJobs = new ArrayList<>(chunks);
+            boolean inQuote = false;
+            for (int k = 0; k < chunks; k++) {
+                long from = nominal[k];
+                boolean q = inQuote;
+                alignJobs.add(() -> from == begin ? begin : firstRowStart(ch, from, size, q));
+                inQuote ^= parity[k];
+            }
+            long[] aligned = new long[chunks + 1];
+            List<Future<Long>> alignFutures = pool.invokeAll(alignJobs);
+            for (int k = 0; k < chunks; k++) aligned[k] = join(alignFutures.get(k));
+            aligned[chunks] = size;
+
+            // 3. parse paralel, putar ulang berurutan
+            ArrayDeque<Future<ChunkRows>> inFlight = new ArrayDeque<>();
+            Row view = new Row();
+            int next = 0;
+            while ((next < chunks || !inFlight.isEmpty()) && !cancelled) {
+                while (next < chunks && inFlight.size() < parallelism * 2) {
+                    long from = aligned[next], to = Math.max(from, aligned[next + 1]);
+                    inFlight.add(pool.submit(() -> parseChunk(ch, from, to)));
+                    next++;
+                }
+                ChunkRows rows = join(inFlight.poll());
+                stats.rows += rows.count;
+                rows.replay(view, sink);
+            }
+            for (Future<ChunkRows> f : inFlight) f.cancel(true);
+            stats.bytes = cancelled ? 0 : size;
+        }
+        stats.nanos = System.nanoTime() - t0;
+        return stats;
+    }
+
+    private static boolean oddQuotes(FileChannel ch, long from, long to) throws IOException {
+        MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        int n = (int) (to - from), quotes = 0;
+        for (int i = 0; i < n; i++) {
+            if (buf.get(i) == '"') quotes++;
+        }
+        return (quotes & 1) == 1;
+    }
+
+    // Posisi setelah newline pertama yang berada di luar kutip, mulai dari 'from' dengan status kutip q.
+    private static long firstRowStart(FileChannel ch, long from, long size, boolean q) throws IOException {
+        long pos = from;
+        while (pos < size) {
+            int len = (int) Math.min(MIN_CHUNK, size - pos);
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, pos, len);
+            for (int i = 0; i < len; i++) {
+                byte b = buf.get(i);
+                if (b == '"') q = !q;
+                else if (b == '\n' && !q) return pos + i + 1;
+            }
+            pos += len;
+        }
+        return size;
+    }
+
+    private static ChunkRows parseChunk(FileChannel ch, long from, long to) throws IOException {
+        ChunkRows rows = new ChunkRows();
+        if (to <= from) return rows;
+        MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        parseWindow(buf, from, (int) (to - from), true, new Row(), rows, new Stats());
+        return rows;
+    }
+
+    private static boolean[] joinAll(List<Future<Boolean>> futures) throws IOException {
+        boolean[] out = new boolean[futures.size()];
+        for (int i = 0; i < out.length; i++) out[i] = join(futures.get(i));
+        return out;
+    }
+
+    private static <T> T join(Future<T> f) throws IOException {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import dihentikan", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+    }
+
+    // Hasil parse satu chunk: semua karakter field dalam satu arena + batas field per baris.
+    // Baris pendek disimpan di urutan yang sama dengan jumlah field-nya (fieldCounts < FIELDS).
+    private static final class ChunkRows implements RowSink {
+        private char[] chars = new char[1 << 16];
+        private int len;
+        private int[] bounds = new int[FIELDS * 2 * 1024];
+        private long[] offsets = new long[1024];
+        private byte[] fieldCounts = new byte[1024];
+        private int count;
+
+        @Override
+        public void row(Row row) {
+            add(row, FIELDS);
+        }
+
+        @Override
+        public void shortRow(Row row) {
+            add(row, row.fields);
+        }
+
+        private void add(Row row, int fields) {
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+                fieldCounts = Arrays.copyOf(fieldCounts, count * 2);
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            fieldCounts[count] = (byte) fields;
+            int b = count * FIELDS * 2;
+            for (int f = 0; f < fields; f++) {
+                int n = row.length(f);
+                if (len + n > chars.length) chars = Arrays.copyOf(chars, Math.max(chars.length * 2, len + n));
+                System.arraycopy(row.chars, row.start[f], chars, len, n);
+                bounds[b++] = len;
+                bounds[b++] = len + n;
+                len += n;
+            }
+            offsets[count++] = row.offset;
+        }
+
+        void replay(Row view, RowSink sink) {
+            view.chars = chars;
+            for (int r = 0; r < count; r++) {
+                int b = r * FIELDS * 2;
+                view.fields = fieldCounts[r];
+                for (int f = 0; f < view.fields; f++) {
+                    view.start[f] = bounds[b++];
+                    view.end[f] = bounds[b++];
+                }
+                view.offset = offsets[r];
+                if (view.fields < FIELDS) sink.shortRow(view);
+                else sink.row(view);
+            }
+        }
+    }
+
+    // Parse baris lengkap di dalam buf; kembalikan jumlah byte yang dipakai.
+    // Baris terakhir yang terpotong (bukan di akhir file) dibaca ulang di jendela berikutnya.
+    static int parseWindow(MappedByteBuffer buf, long base, int limit, boolean lastWindow, Row row, RowSink sink, Stats stats) {
+        int i = 0;
+        int rowStart = 0;
+        boolean inQuote = false;
+        row.reset();
+        int fieldStart = 0;
+
+        while (i < limit) {
+            int b = buf.get(i) & 0xFF;
+            if (b == '"') {
+                if (inQuote && i + 1 < limit && buf.get(i + 1) == '"') {
+                    row.put('"');
+                    i += 2;
+                    continue;
+                }
+                if (inQuote && i + 1 == limit && !lastWindow) break; // mungkin "" terpotong jendela
+                inQuote = !inQuote;
+                i++;
+            } else if (b == ',' && !inQuote) {
+                row.endField(fieldStart);
+                fieldStart = row.len;
+                i++;
+            } else if (b == '\n' && !inQuote) {
+                row.endField(fieldStart);
+                i++;
+                row.offset = base + i;
+                emit(row, sink, stats);
+                rowStart = i;
+                row.reset();
+                fieldStart = 0;
+            } else if (b < 0x80) {
+                row.put((char) b);
+                i++;
+            } else {
+                int n = b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : 2;
+                if (i + n > limit) break; // karakter multibyte terpotong jendela
+                i = decodeMultiByte(buf, i, n, b, row);
+            }
+        }
+
+        if (!lastWindow) return rowStart;
+        if (i > rowStart) {
+            row.endField(fieldStart);
+            row.offset = base + limit;
+            emit(row, sink, stats);
+        }
+        return limit;
+    }
+
+    private static int decodeMultiByte(MappedByteBuffer buf, int i, int n, int b0, Row row) {
+        int cp;
+        if (n == 2) {
+            cp = ((b0 & 0x1F) << 6) | (buf.get(i + 1) & 0x3F);
+        } else if (n == 3) {
+            cp = ((b0 & 0x0F) << 12) | ((buf.get(i + 1) & 0x3F) << 6) | (buf.get(i + 2) & 0x3F);
+        } else {
+            cp = ((b0 & 0x07) << 18) | ((buf.get(i + 1) & 0x3F) << 12)
+                    | ((buf.get(i + 2) & 0x3F) << 6) | (buf.get(i + 3) & 0x3F);
+        }
+        if (cp >= 0x10000) {
+            row.put(Character.highSurrogate(cp));
+            row.put(Character.lowSurrogate(cp));
+        } else {
+            row.put((char) cp);
+        }
+        return i + n;
+    }
+
+    private static void emit(Row row, RowSink sink, Stats stats) {
+        if (row.isBlank()) return;
+        stats.rows++;
+        if (row.fields >= FIELDS) sink.row(row);
+        else sink.shortRow(row);
+    }
+
+    private static long skipBom(FileChannel ch, long size) throws IOException {
+        if (size < 3) return 0;
+        java.nio.ByteBuffer head = java.nio.ByteBuffer.allocate(3);
+        ch.read(head, 0);
+        return head.get(0) == (byte) 0xEF && head.get(1) == (byte) 0xBB && head.get(2) == (byte) 0xBF ? 3 : 0;
+    }
+}
@@ -0,0 +1,354 @@
+package com.example.datasiswautama;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Registry metrik ringan tanpa library: Counter, Histogram dan Timer (histogram dalam nanodetik).
+// Handle dibuat sekali sebagai static final di kelas pemakainya, lalu di hot path:
+//
+//   long t = PARSE.start();   // 0 kalau metrik mati
+//   ...
+//   PARSE.stop(t);
+//
+// Saat mati (default) setiap panggilan hanya membaca satu flag volatile: tanpa nanoTime, tanpa alokasi.
+// Histogram memakai bucket log-linear tetap (8 sub-bucket per pangkat dua, galat persentil <= 6%),
+// jadi record() hanya beberapa operasi atomik dan memorinya tetap berapa pun jumlah sampelnya.
+//
+// Ekspor: toJson(), toPrometheus(), write(Path) dan MetricsServer (HTTP). Konfigurasi lewat system
+// property (lihat configureFromSystemProperties):
+//   -Ddatasiswa.metrics=true  -Ddatasiswa.metrics.port=9404  -Ddatasiswa.metrics.file=metrics.json
+public final class Metrics {
+
+    private static final long FILE_INTERVAL_SECONDS = 10;
+
+    private static volatile boolean enabled = Boolean.getBoolean("datasiswa.metrics");
+    private static final Map<String, Metric> REGISTRY = new ConcurrentSkipListMap<>();
+    private static MetricsServer server;
+    private static ScheduledExecutorService fileWriter;
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    // Nama yang sama = handle yang sama (jenisnya harus sama).
+    public static Counter counter(String name, String help) {
+        return register(name, Counter.class, () -> new Counter(name, help));
+    }
+
+    public static Histogram histogram(String name, String help) {
+        return register(name, Histogram.class, () -> new Histogram(name, help));
+    }
+
+    public static Timer timer(String name, String help) {
+        return register(name, Timer.class, () -> new Timer(name, help));
+    }
+
+    // Urut nama.
+    public static List<Metric> all() {
+        return new ArrayList<>(REGISTRY.values());
+    }
+
+    public static void reset() {
+        for (Metric m : REGISTRY.values()) m.reset();
+    }
+
+    // datasiswa.metrics.port -> MetricsServer di localhost; datasiswa.metrics.file -> ditulis tiap
+    // FILE_INTERVAL_SECONDS dan saat JVM berhenti. Keduanya sekaligus menyalakan metrik.
+    public static synchronized void configureFromSystemProperties() {
+        Integer port = Integer.getInteger("datasiswa.metrics.port");
+        String file = System.getProperty("datasiswa.metrics.file");
+        if (port != null && server == null) {
+            enabled = true;
+            try {
+                server = MetricsServer.start(port);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Endpoint metrik tidak bisa dibuka di port " + port, e);
+            }
+        }
+        if (file != null && fileWriter == null) {
+            enabled = true;
+            Path path = Path.of(file);
+            fileWriter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "metrics-file");
+                t.setDaemon(true);
+                return t;
+            });
+            fileWriter.scheduleWithFixedDelay(() -> writeQuietly(path), FILE_INTERVAL_SECONDS, FILE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> writeQuietly(path), "metrics-file-final"));
+        }
+    }
+
+    // Alamat endpoint HTTP kalau aktif, selain itu null.
+    public static synchronized String endpoint() {
+        return server == null ? null : server.url();
+    }
+
+    // Format dari ekstensi: *.json -> JSON, selain itu teks Prometheus. Ditulis ke file sementara
+    // lalu dipindah, jadi pembaca (mis. node_exporter textfile) tidak pernah melihat file setengah jadi.
+    public static void write(Path file) throws IOException {
+        String text = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json") ? toJson() : toPrometheus();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(tmp, text, StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static String toJson() {
+        StringBuilder sb = new StringBuilder("{\"enabled\":").append(enabled).append(",\"metrics\":[");
+        boolean first = true;
+        for (Metric m : REGISTRY.values()) {
+            if (!first) sb.append(',');
+            first = false;
+            sb.append("\n  {\"name\":\"").append(m.name).append("\",\"type\":\"").append(m.type())
+                    .append("\",\"help\":\"").append(jsonEscape(m.help)).append('"');
+            if (m instanceof Counter c) {
+                sb.append(",\"value\":").append(c.value());
+            } else if (m instanceof Histogram h) {
+                boolean ms = h instanceof Timer;
+                String unit = ms ? "_ms" : "";
+                sb.append(",\"count\":").append(h.count())
+                        .append(",\"sum").append(unit).append("\":").append(num(h.scaled(h.sum())))
+                        .append(",\"p50").append(unit).append("\":").append(num(h.scaled(h.percentile(0.50))))
+                        .append(",\"p99").append(unit).append("\":").append(num(h.scaled(h.percentile(0.99))))
+                        .append(",\"max").append(unit).append("\":").append(num(h.scaled(h.max())));
+            }
+            sb.append('}');
+        }
+        return sb.append("\n]}\n").toString();
+    }
+
+    // Format teks Prometheus 0.0.4: counter -> datasiswa_<nama>_total, histogram/timer -> summary
+    // (kuantil 0.5/0.99, _sum, _count); timer dalam detik.
+    public static String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        for (Metric m : REGISTRY.values()) {
+            String base = "datasiswa_" + m.name.replaceAll("[^a-zA-Z0-9_]", "_");
+            if (m instanceof Counter c) {
+                String name = base + "_total";
+                sb.append("# HELP ").append(name).append(' ').append(promEscape(m.help)).append('\n');
+                sb.append("# TYPE ").append(name).append(" counter\n");
+                sb.append(name).append(' ').append(c.value()).append('\n');
+            } else if (m instanceof Histogram h) {
+                boolean seconds = h instanceof Timer;
+                String name = seconds ? base + "_seconds" : base;
+                double scale = seconds ? 1e-9 : 1;
+                sb.append("# HELP ").append(name).append(' ').append(promEscape(m.help)).append('\n');
+                sb.append("# TYPE ").append(name).append(" summary\n");
+                sb.append(name).append("{quantile=\"0.5\"} ").append(num(h.percentile(0.50) * scale)).append('\n');
+                sb.append(name).append("{quantile=\"0.99\"} ").append(num(h.percentile(0.99) * scale)).append('\n');
+                sb.append(name).append("_sum ").append(num(h.sum() * scale)).append('\n');
+                sb.append(name).append("_count ").append(h.count()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void writeQuietly(Path file) {
+        try {
+            write(file);
+        } catch (IOException e) {
+            System.getLogger(Metrics.class.getName()).log(System.Logger.Level.WARNING,
+                    "Metrik gagal ditulis ke " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static <M extends Metric> M register(String name, Class<M> type, java.util.function.Supplier<M> create) {
+        Metric m = REGISTRY.computeIfAbsent(name, n -> create.get());
+        if (!type.isInstance(m)) {
+            throw new IllegalArgumentException("Metrik " + name + " sudah terdaftar sebagai " + m.type());
+        }
+        return type.cast(m);
+    }
+
+    private static String num(double v) {
+        return v == Math.rint(v) && Math.abs(v) < 1e15 ? Long.toString((long) v) : String.format(Locale.ROOT, "%.6g", v);
+    }
+
+    private static String jsonEscape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String promEscape(String s) {
+        return s.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    public abstract static class Metric {
+        public final String name;
+        public final String help;
+
+        Metric(String name, String help) {
+            this.name = name;
+            this.help = help;
+        }
+
+        public abstract String type();
+
+        abstract void reset();
+    }
+
+    public static final class Counter extends Metric {
+        private final LongAdder value = new LongAdder();
+
+        Counter(String name, String help) {
+            super(name, help);
+        }
+
+        public void inc() {
+            if (enabled) value.increment();
+        }
+
+        public void add(long n) {
+            if (enabled) value.add(n);
+        }
+
+        public long value() {
+            return value.sum();
+        }
+
+        @Override
+        public String type() {
+            return "counter";
+        }
+
+        @Override
+        void reset() {
+            value.reset();
+        }
+    }
+
+    public static class Histogram extends Metric {
+        private static final int SUB_BITS = 3, SUB = 1 << SUB_BITS;          // 8 sub-bucket per pangkat dua
+        private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        Histogram(String name, String help) {
+            super(name, help);
+        }
+
+        // Nilai negatif dicatat sebagai 0.
+        public void record(long value) {
+            if (!enabled) return;
+            long v = Math.max(0, value);
+            buckets.incrementAndGet(bucket(v));
+            count.increment();
+            sum.add(v);
+            long m = max.get();
+            while (v > m && !max.compareAndSet(m, v)) m = max.get();
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long sum() {
+            return sum.sum();
+        }
+
+        public long max() {
+            return max.get();
+        }
+
+        // Perkiraan persentil (q 0..1): titik tengah bucket tempat sampel ke-ceil(q*count) jatuh.
+        public long percentile(double q) {
+            long n = 0;
+            long[] snapshot = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) n += snapshot[i] = buckets.get(i);
+            if (n == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(q * n));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) return Math.min(max(), (lowerBound(i) + upperBound(i)) / 2);
+            }
+            return max();
+        }
+
+        // Satuan tampilan: Timer -> milidetik, Histogram -> apa adanya.
+        public double scaled(long value) {
+            return value;
+        }
+
+        @Override
+        public String type() {
+            return "histogram";
+        }
+
+        @Override
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0);
+            count.reset();
+            sum.reset();
+            max.set(0);
+        }
+
+        // 0..7 tepat; selebihnya (pangkat dua, 3 bit berikutnya).
+        static int bucket(long v) {
+            if (v < SUB) return (int) v;
+            int exp = 63 - Long.numberOfLeadingZeros(v);
+            return (exp - SUB_BITS + 1) * SUB + (int) ((v >>> (exp - SUB_BITS)) & (SUB - 1));
+        }
+
+        static long lowerBound(int bucket) {
+            if (bucket < SUB) return bucket;
+            int exp = bucket / SUB + SUB_BITS - 1;
+            return (long) (SUB + bucket % SUB) << (exp - SUB_BITS);
+        }
+
+        static long upperBound(int bucket) {
+            if (bucket < SUB) return bucket;
+            int exp = bucket / SUB + SUB_BITS - 1;
+            long width = 1L << (exp - SUB_BITS);
+            return lowerBound(bucket) + width - 1;
+        }
+    }
+
+    public static final class Timer extends Histogram {
+        Timer(String name, String help) {
+            super(name, help);
+        }
+
+        public long start() {
+            return enabled ? System.nanoTime() : 0;
+        }
+
+        // start == 0: metrik mati saat start() dipanggil, tidak dicatat.
+        public void stop(long start) {
+            if (start != 0) record(System.nanoTime() - start);
+        }
+
+        @Override
+        public double scaled(long nanos) {
+            return nanos / 1e6;
+        }
+
+        @Override
+        public String type() {
+            return "timer";
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.datasiswautama;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+// Endpoint HTTP metrik (JDK com.sun.net.httpserver, tanpa library), hanya di localhost:
+//   GET /metrics       teks Prometheus
+//   GET /metrics.json  JSON (Metrics.toJson)
+// Satu thread daemon; JVM tetap bisa berhenti tanpa menutupnya.
+public final class MetricsServer implements AutoCloseable {
+
+    private final HttpServer http;
+
+    private MetricsServer(HttpServer http) {
+        this.http = http;
+    }
+
+    public static MetricsServer start(int port) throws IOException {
+        HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.createContext("/metrics", ex -> respond(ex, "text/plain; version=0.0.4; charset=utf-8", Metrics::toPrometheus));
+        http.createContext("/metrics.json", ex -> respond(ex, "application/json; charset=utf-8", Metrics::toJson));
+        http.setExecutor(Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "metrics-http");
+            t.setDaemon(true);
+            return t;
+        }));
+        http.start();
+        return new MetricsServer(http);
+    }
+
+    public String url() {
+        InetSocketAddress a = http.getAddress();
+        return "http://" + a.getHostString() + ":" + a.getPort() + "/metrics";
+    }
+
+    @Override
+    public void close() {
+        http.stop(0);
+    }
+
+    private static void respond(HttpExchange ex, String contentType, Supplier<String> body) throws IOException {
+        try (ex) {
+            if (!"GET".equals(ex.getRequestMethod())) {
+                ex.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().set("Content-Type", contentType);
+            ex.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = ex.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.datasiswautama;
+
+import java.util.Arrays;
+
+// Indeks nama (tanpa membedakan huruf besar/kecil) untuk cek duplikat, pengganti
+// HashSet<String> berisi nama.toLowerCase(). Hash 64-bit dihitung per karakter langsung
+// dari CharSequence atau dari arena StudentStore, jadi cek/tambah/hapus tidak membuat String.
+// Tabel open addressing (linear probing): long[] hash + int[] id siswa. Hash yang sama
+// selalu diverifikasi ke nama di store, jadi tabrakan hash tidak menghasilkan duplikat palsu.
+//
+// Tidak thread-safe. Worker import memakai copy() sebagai snapshot miliknya sendiri.
+public final class NameIndex {
+
+    private static final int INITIAL_CAPACITY = 1024; // pangkat 2
+    private static final long EMPTY = 0;
+
+    private final StudentStore store;
+    private long[] hashes;
+    private int[] ids;
+    private int size;
+    private int resizeAt;
+
+    public NameIndex(StudentStore store) {
+        this.store = store;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private NameIndex(NameIndex other) {
+        this.store = other.store;
+        this.hashes = other.hashes.clone();
+        this.ids = other.ids.clone();
+        this.size = other.size;
+        this.resizeAt = other.resizeAt;
+    }
+
+    // Snapshot independen (mis. untuk worker import); store-nya tetap sama.
+    public NameIndex copy() {
+        return new NameIndex(this);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(CharSequence nama) {
+        long h = hash(nama);
+        int mask = hashes.length - 1;
+        for (int i = (int) h & mask; hashes[i] != EMPTY; i = (i + 1) & mask) {
+            if (hashes[i] == h && store.namaEqualsIgnoreCase(ids[i], nama)) return true;
+        }
+        return false;
+    }
+
+    // Daftarkan nama siswa id. false kalau nama yang sama (beda kapital) sudah ada.
+    public boolean add(int id) {
+        long h = hashOf(id);
+        int mask = hashes.length - 1;
+        int i = (int) h & mask;
+        for (; hashes[i] != EMPTY; i = (i + 1) & mask) {
+            if (hashes[i] == h && sameNama(ids[i], id)) return false;
+        }
+        hashes[i] = h;
+        ids[i] = id;
+        if (++size > resizeAt) rehash(hashes.length << 1);
+        return true;
+    }
+
+    // Panggil sebelum nama siswa diubah/dihapus di store (hash dihitung dari nama saat ini).
+    public boolean remove(int id) {
+        long h = hashOf(id);
+        int mask = hashes.length - 1;
+        for (int i = (int) h & mask; hashes[i] != EMPTY; i = (i + 1) & mask) {
+            if (ids[i] == id && hashes[i] == h) {
+                deleteSlot(i);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Siapkan tempat untuk `expected` nama sekaligus (mis. jumlah baris snapshot yang akan dimuat),
+    // supaya tabel tidak di-rehash berkali-kali selama import.
+    public void ensureCapacity(int expected) {
+        int capacity = hashes.length;
+        while (capacity / 2 + capacity / 4 < expected) capacity <<= 1;
+        if (capacity != hashes.length) rehash(capacity);
+    }
+
+    public void clear() {
+        Arrays.fill(hashes, EMPTY);
+        size = 0;
+    }
+
+    public long estimatedBytes() {
+        return 12L * hashes.length;
+    }
+
+    // FNV-1a 64-bit atas karakter yang sudah di-fold, ditutup dengan finalizer MurmurHash3.
+    static long hash(CharSequence s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            h = (h ^ StudentStore.foldCase(s.charAt(i))) * 0x100000001b3L;
+        }
+        return finish(h);
+    }
+
+    private long hashOf(int id) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, n = store.namaLength(id); i < n; i++) {
+            h = (h ^ StudentStore.foldCase(store.namaCharAt(id, i))) * 0x100000001b3L;
+        }
+        return finish(h);
+    }
+
+    private static long finish(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == EMPTY ? 1 : h;
+    }
+
+    private boolean sameNama(int a, int b) {
+        int n = store.namaLength(a);
+        if (store.namaLength(b) != n) return false;
+        for (int i = 0; i < n; i++) {
+            if (StudentStore.foldCase(store.namaCharAt(a, i)) != StudentStore.foldCase(store.namaCharAt(b, i))) return false;
+        }
+        return true;
+    }
+
+    // Hapus dengan backward shift: entri sesudahnya digeser mundur supaya rantai probe tidak putus.
+    private void deleteSlot(int gap) {
+        int mask = hashes.length - 1;
+        for (int j = (gap + 1) & mask; hashes[j] != EMPTY; j = (j + 1) & mask) {
+            int home = (int) hashes[j] & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                hashes[gap] = hashes[j];
+                ids[gap] = ids[j];
+                gap = j;
+            }
+        }
+        hashes[gap] = EMPTY;
+    }
+
+    private void allocate(int capacity) {
+        hashes = new long[capacity];
+        ids = new int[capacity];
+        resizeAt = capacity / 2 + capacity / 4; // load factor 0,75
+    }
+
+    private void rehash(int capacity) {
+        long[] oldHashes = hashes;
+        int[] oldIds = ids;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int k = 0; k < oldHashes.length; k++) {
+            long h = oldHashes[k];
+            if (h == EMPTY) continue;
+            int i = (int) h & mask;
+            while (hashes[i] != EMPTY) i = (i + 1) & mask;
+            hashes[i] = h;
+            ids[i] = oldIds[k];
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.datasiswautama;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+// Indeks terbalik (inverted index) untuk kotak cari SmartDataParser.
+// Setiap nama (huruf kecil/besar disamakan lewat StudentStore.foldCase) dipecah menjadi:
+//   - trigram di semua posisi        -> query >= 3 karakter: cocok di bagian mana saja ("nur" -> "Siti Nurhaliza"),
+//   - awalan 1 dan 2 karakter per kata -> query 1-2 karakter: cocok dengan awal kata ("si" -> "Siti ...").
+// Query mengambil posting list gram yang paling jarang, lalu memverifikasi kandidat langsung ke
+// nama di store. Query 1-3 karakter sama persis dengan gram-nya, jadi posting-nya sudah jawaban
+// pasti kecuali untuk id yang namanya pernah diganti (posting nama lama tidak dihapus; id itu
+// dicatat di `renamed` dan selalu diverifikasi). Siswa terhapus disaring lewat store.isDeleted.
+//
+// Diubah dan dibaca di FX thread (onDataChanged / edit nama), sama seperti pohon.
+public final class NameSearchIndex {
+
+    private static final int INITIAL_CAPACITY = 4096; // pangkat 2
+    private static final long EMPTY = 0;
+
+    private final StudentStore store;
+    private long[] keys;
+    private int[][] postings;
+    private int[] lengths;
+    private int grams;
+    private int resizeAt;
+    private int[] seen = new int[0]; // epoch per id: buang kandidat ganda dalam satu query
+    private int epoch;
+    private final BitSet renamed = new BitSet();
+
+    public NameSearchIndex(StudentStore store) {
+        this.store = store;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+        renamed.clear();
+    }
+
+    // Setelah nama siswa diganti di store.
+    public void rename(int id) {
+        renamed.set(id);
+        add(id);
+    }
+
+    // Siswa baru.
+    public void add(int id) {
+        int n = store.namaLength(id);
+        char p2 = ' ', p1 = ' '; // spasi di depan = awal kata
+        for (int i = 0; i < n; i++) {
+            char c = StudentStore.foldCase(store.namaCharAt(id, i));
+            if (p1 == ' ' && c != ' ') {
+                post(key1(c), id);
+                if (i + 1 < n) post(key2(c, StudentStore.foldCase(store.namaCharAt(id, i + 1))), id);
+            }
+            if (i >= 2) post(key3(p2, p1, c), id);
+            p2 = p1;
+            p1 = c;
+        }
+    }
+
+    // Cari siswa yang namanya mengandung query (>= 3 karakter) atau punya kata berawalan query
+    // (1-2 karakter). Maks. out.length id ditulis ke out; return = jumlah semua yang cocok.
+    public int search(CharSequence query, int[] out) {
+        char[] q = fold(query);
+        if (q.length == 0) return 0;
+        int slot = rarestSlot(q);
+        if (slot < 0) return 0;
+        int[] candidates = postings[slot];
+        int len = lengths[slot];
+        if (seen.length < store.size()) seen = Arrays.copyOf(seen, Math.max(store.size(), seen.length * 2));
+        if (++epoch == 0) {
+            Arrays.fill(seen, 0);
+            epoch = 1;
+        }
+        boolean exact = q.length <= 3;
+        int total = 0;
+        for (int k = 0; k < len; k++) {
+            int id = candidates[k];
+            if (id >= store.size() || store.isDeleted(id)) continue;
+            if (renamed.get(id)) {
+                // bisa muncul dua kali (nama lama + baru) dan posting lamanya bisa basi
+                if (seen[id] == epoch || !matches(id, q)) continue;
+                seen[id] = epoch;
+            } else if (!exact && !matches(id, q)) {
+                continue;
+            }
+            if (total < out.length) out[total] = id;
+            total++;
+        }
+        return total;
+    }
+
+    public long estimatedBytes() {
+        long bytes = 12L * keys.length + 4L * seen.length;
+        for (int[] p : postings) if (p != null) bytes += 16 + 4L * p.length;
+        return bytes;
+    }
+
+    // Slot gram dengan posting terpendek; -1 kalau ada gram yang tidak pernah muncul (pasti kosong).
+    private int rarestSlot(char[] q) {
+        if (q.length == 1) return find(key1(q[0]));
+        if (q.length == 2) return find(key2(q[0], q[1]));
+        int best = -1;
+        for (int i = 0; i + 2 < q.length; i++) {
+            int slot = find(key3(q[i], q[i + 1], q[i + 2]));
+            if (slot < 0) return -1;
+            if (best < 0 || lengths[slot] < lengths[best]) best = slot;
+        }
+        return best;
+    }
+
+    private boolean matches(int id, char[] q) {
+        int n = store.namaLength(id);
+        for (int start = 0; start + q.length <= n; start++) {
+            // query pendek hanya cocok di awal kata (sama dengan gram yang dipakai)
+            if (q.length < 3 && start > 0 && store.namaCharAt(id, start - 1) != ' ') continue;
+            int i = 0;
+            while (i < q.length && StudentStore.foldCase(store.namaCharAt(id, start + i)) == q[i]) i++;
+            if (i == q.length) return true;
+        }
+        return false;
+    }
+
+    private static char[] fold(CharSequence s) {
+        int from = 0, to = s.length();
+        while (from < to && s.charAt(from) == ' ') from++;
+        while (to > from && s.charAt(to - 1) == ' ') to--;
+        char[] out = new char[to - from];
+        for (int i = 0; i < out.length; i++) out[i] = StudentStore.foldCase(s.charAt(from + i));
+        return out;
+    }
+
+    // Kunci gram: panjang di 16 bit teratas, karakter di bawahnya (tidak pernah 0 = EMPTY).
+    private static long key1(char a) { return (1L << 48) | a; }
+    private static long key2(char a, char b) { return (2L << 48) | ((long) a << 16) | b; }
+    private static long key3(char a, char b, char c) { return (3L << 48) | ((long) a << 32) | ((long) b << 16) | c; }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) return i;
+        }
+        return -1;
+    }
+
+    private void post(long key, int id) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                append(i, id);
+                return;
+            }
+        }
+        keys[i] = key;
+        postings[i] = new int[]{id, 0};
+        lengths[i] = 1;
+        if (++grams > resizeAt) rehash(keys.length << 1);
+    }
+
+    // Posting list = postings[slot][0..lengths[slot]), id dalam urutan ditambahkan.
+    private void append(int slot, int id) {
+        int[] p = postings[slot];
+        int n = lengths[slot];
+        if (p[n - 1] == id) return; // gram yang sama berulang di satu nama
+        if (n == p.length) {
+            p = Arrays.copyOf(p, n + (n >> 1) + 2);
+            postings[slot] = p;
+        }
+        p[n] = id;
+        lengths[slot] = n + 1;
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        postings = new int[capacity][];
+        lengths = new int[capacity];
+        grams = 0;
+        resizeAt = capacity / 2 + capacity / 4;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[][] oldPostings = postings;
+        int[] oldLengths = lengths;
+        int oldGrams = grams;
+        allocate(capacity);
+        grams = oldGrams;
+        int mask = capacity - 1;
+        for (int k = 0; k < oldKeys.length; k++) {
+            if (oldKeys[k] == EMPTY) continue;
+            int i = slot(oldKeys[k], mask);
+            while (keys[i] != EMPTY) i = (i + 1) & mask;
+            keys[i] = oldKeys[k];
+            postings[i] = oldPostings[k];
+            lengths[i] = oldLengths[k];
+        }
+    }
+}
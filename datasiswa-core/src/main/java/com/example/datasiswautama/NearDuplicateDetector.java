@@ -0,0 +1,360 @@
+package com.example.datasiswautama;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.BooleanSupplier;
+
+// Deteksi nama yang hampir sama ("Siti Nurhaliza" vs "Siti Nur Haliza", salah ketik) saat import.
+// Nama dinormalisasi (huruf kecil, hanya huruf/angka, spasi & tanda baca dibuang), lalu:
+//   1. MinHash atas 3-gram karakter -> LSH (BANDS band x ROWS baris) untuk mencari kandidat,
+//   2. kandidat disaring murah (selisih panjang, himpunan karakter 64-bit), lalu diverifikasi
+//      dengan edit distance (OSA: sisip/hapus/ganti/tukar) berbatas.
+// Indeks LSH hanya dibangun untuk nama BARU; nama yang sudah ada dialirkan sebagai query,
+// jadi memori sebanding dengan ukuran batch, dan waktunya O(baru + lama), bukan O(baru x lama).
+// Bucket disimpan berurutan di array (bukan rantai), supaya pemindaian bucket ramah cache.
+//
+// Store tidak boleh diubah selama find() berjalan (dipanggil dari worker import, satu-satunya penulis).
+public final class NearDuplicateDetector {
+
+    private static final int ROWS = 3;
+    private static final int BANDS = 20;
+    private static final int HASHES = ROWS * BANDS;
+    // bucket yang sangat ramai (pola nama umum) hanya diperiksa sebagian, supaya tetap sub-kuadratik
+    private static final int MAX_BUCKET_SCAN = 16;
+    // paling banyak sekian kandidat yang diverifikasi edit distance per query
+    private static final int MAX_VERIFY = 32;
+    private static final int MAX_NAME = 128;
+    // nama lama per tugas paralel
+    private static final int CHUNK = 32_768;
+
+    private static final Metrics.Timer FIND = Metrics.timer("import.near_duplicates", "Cek nama mirip setelah import");
+
+    private static final long[] SEEDS = new long[HASHES];
+    static {
+        long x = 0x5DEECE66DL;
+        for (int i = 0; i < HASHES; i++) {
+            x += 0x9E3779B97F4A7C15L;
+            SEEDS[i] = mix(x);
+        }
+    }
+
+    // Pasangan nama: id (nama baru) mirip dengan matchId (nama lama, atau nama baru sebelumnya).
+    public static final class Pair {
+        public final int id;
+        public final int matchId;
+        public final int distance;
+
+        Pair(int id, int matchId, int distance) {
+            this.id = id;
+            this.matchId = matchId;
+            this.distance = distance;
+        }
+    }
+
+    private final StudentStore store;
+
+    // nama baru yang sudah dinormalisasi (indeks lokal 0..n-1); hanya dibaca setelah dibangun
+    private char[] norm;
+    private int[] normStart, normLen;
+    private long[] charMask;
+
+    // LSH: satu entri per (nama baru, band), dikelompokkan per slot hash:
+    // entri slot s ada di [slotStart[s], slotStart[s + 1]), urut menurut indeks lokal
+    private long[] entryKey;
+    private int[] entryLocal, slotStart;
+
+    public NearDuplicateDetector(StudentStore store) {
+        this.store = store;
+    }
+
+    // Setiap nama baru dilaporkan paling banyak sekali. Nama lama diperiksa paralel di pool;
+    // hasilnya digabung menurut urutan nama lama, jadi sama dengan versi satu thread.
+    public List<Pair> find(int[] newIds, int[] existingIds, ForkJoinPool pool, BooleanSupplier cancelled) {
+        long t = FIND.start();
+        List<Pair> pairs = search(newIds, existingIds, pool, cancelled);
+        FIND.stop(t);
+        return pairs;
+    }
+
+    private List<Pair> search(int[] newIds, int[] existingIds, ForkJoinPool pool, BooleanSupplier cancelled) {
+        int n = newIds.length;
+        List<Pair> pairs = new ArrayList<>();
+        if (n == 0) return pairs;
+        boolean[] matched = new boolean[n];
+        Scratch sc = new Scratch(n);
+
+        // 0. normalisasi + MinHash semua nama baru, lalu bangun indeks
+        normStart = new int[n];
+        normLen = new int[n];
+        charMask = new long[n];
+        norm = new char[Math.max(16, n * 16)];
+        long[] keys = new long[n * BANDS];
+        for (int local = 0; local < n; local++) {
+            int len = sc.normalize(newIds[local]);
+            normStart[local] = local == 0 ? 0 : normStart[local - 1] + normLen[local - 1];
+            if (normStart[local] + len > norm.length) {
+                norm = Arrays.copyOf(norm, Math.max(normStart[local] + len, norm.length + (norm.length >> 1)));
+            }
+            System.arraycopy(sc.query, 0, norm, normStart[local], len);
+            normLen[local] = len;
+            charMask[local] = charMask(sc.query, len);
+            sc.minHash(len);
+            System.arraycopy(sc.keys, 0, keys, local * BANDS, BANDS);
+            if ((local & 4095) == 0 && cancelled.getAsBoolean()) return pairs;
+        }
+        buildIndex(keys, n);
+
+        // 1. baru vs baru: hanya dibandingkan dengan nama baru SEBELUMNYA (urutan input)
+        for (int local = 0; local < n; local++) {
+            int len = normLen[local];
+            if (len == 0) continue;
+            System.arraycopy(norm, normStart[local], sc.query, 0, len);
+            System.arraycopy(keys, local * BANDS, sc.keys, 0, BANDS);
+            int match = sc.probe(len, charMask[local], local, null);
+            if (match >= 0) {
+                matched[local] = true;
+                pairs.add(new Pair(newIds[local], newIds[match >>> 8], match & 0xFF));
+            }
+            if ((local & 4095) == 0 && cancelled.getAsBoolean()) return pairs;
+        }
+
+        // 2. lama vs baru: setiap nama lama menjadi query (paralel per chunk). matched dari
+        //    langkah 1 hanya dibaca; pasangan dari chunk digabung berurutan, nama baru yang
+        //    sudah berpasangan dilewati.
+        int chunks = (existingIds.length + CHUNK - 1) / CHUNK;
+        List<Callable<int[]>> jobs = new ArrayList<>(chunks);
+        for (int k = 0; k < chunks; k++) {
+            int from = k * CHUNK, to = Math.min(existingIds.length, from + CHUNK);
+            jobs.add(() -> scanExisting(existingIds, from, to, n, matched, cancelled));
+        }
+        List<Future<int[]>> results = pool.getParallelism() < 2 || chunks < 2
+                ? runInline(jobs) : pool.invokeAll(jobs);
+        for (Future<int[]> f : results) {
+            int[] found = join(f);
+            for (int i = 0; i < found.length; i += 3) {
+                int local = found[i];
+                if (matched[local]) continue;
+                matched[local] = true;
+                pairs.add(new Pair(newIds[local], found[i + 1], found[i + 2]));
+            }
+        }
+        return pairs;
+    }
+
+    // Batas edit distance menurut panjang nama ternormalisasi (yang lebih pendek).
+    static int maxEdits(int len) {
+        return len < 7 ? 0 : len < 16 ? 1 : 2;
+    }
+
+    // Hasil: triplet (lokal, id lama, jarak) berurutan menurut nama lama.
+    private int[] scanExisting(int[] existingIds, int from, int to, int n, boolean[] matched, BooleanSupplier cancelled) {
+        Scratch sc = new Scratch(n);
+        int[] out = new int[48];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            int id = existingIds[i];
+            if (store.isDeleted(id)) continue;
+            int len = sc.normalize(id);
+            if (len == 0) continue;
+            sc.minHash(len);
+            int match = sc.probe(len, charMask(sc.query, len), n, matched);
+            if (match >= 0) {
+                if (size + 3 > out.length) out = Arrays.copyOf(out, out.length * 2);
+                out[size++] = match >>> 8;
+                out[size++] = id;
+                out[size++] = match & 0xFF;
+            }
+            if ((i & 4095) == 0 && cancelled.getAsBoolean()) break;
+        }
+        return Arrays.copyOf(out, size);
+    }
+
+    // Counting sort per slot; karena local diisi menaik, entri tiap slot otomatis urut.
+    private void buildIndex(long[] keys, int n) {
+        int entries = n * BANDS;
+        int slots = Integer.highestOneBit(Math.max(16, entries) * 2 - 1);
+        slotStart = new int[slots + 1];
+        for (int i = 0; i < entries; i++) slotStart[((int) keys[i] & (slots - 1)) + 1]++;
+        for (int s = 0; s < slots; s++) slotStart[s + 1] += slotStart[s];
+        int[] fill = Arrays.copyOf(slotStart, slots);
+        entryKey = new long[entries];
+        entryLocal = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            int e = fill[(int) keys[i] & (slots - 1)]++;
+            entryKey[e] = keys[i];
+            entryLocal[e] = i / BANDS;
+        }
+    }
+
+    // Buffer kerja satu thread.
+    private final class Scratch {
+        final char[] query = new char[MAX_NAME];
+        final long[] mins = new long[HASHES];
+        final long[] keys = new long[BANDS];
+        final int[] candidates = new int[BANDS * MAX_BUCKET_SCAN];
+        final int[] seenStamp, bandHits;
+        int stamp;
+        final int[] prevRow = new int[MAX_NAME + 1], curRow = new int[MAX_NAME + 1], prev2Row = new int[MAX_NAME + 1];
+
+        Scratch(int n) {
+            seenStamp = new int[n];
+            bandHits = new int[n];
+        }
+
+        // Huruf kecil (foldCase), hanya huruf/angka, ke query. Panjang dibatasi MAX_NAME.
+        int normalize(int id) {
+            int len = 0;
+            for (int i = 0, n = store.namaLength(id); i < n && len < MAX_NAME; i++) {
+                char c = StudentStore.foldCase(store.namaCharAt(id, i));
+                if (c < 0x80 ? (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') : Character.isLetterOrDigit(c)) {
+                    query[len++] = c;
+                }
+            }
+            return len;
+        }
+
+        // MinHash query[0, len) lalu hitung kunci tiap band ke keys.
+        void minHash(int len) {
+            Arrays.fill(mins, Long.MAX_VALUE);
+            if (len < 3) {
+                long h = 0;
+                for (int i = 0; i < len; i++) h = h * 31 + query[i];
+                shingle(mix(h + len));
+            } else {
+                for (int i = 0; i + 3 <= len; i++) {
+                    shingle(mix(((long) query[i] << 32) | ((long) query[i + 1] << 16) | query[i + 2]));
+                }
+            }
+            for (int band = 0; band < BANDS; band++) {
+                long h = band;
+                for (int r = 0; r < ROWS; r++) h = mix(h * 0x100000001b3L + mins[band * ROWS + r]);
+                keys[band] = h;
+            }
+        }
+
+        private void shingle(long h) {
+            for (int k = 0; k < HASHES; k++) {
+                long v = (h ^ SEEDS[k]) * 0x9E3779B97F4A7C15L;
+                if (v < mins[k]) mins[k] = v;
+            }
+        }
+
+        // Kandidat pertama yang lolos verifikasi: (lokal << 8) | jarak, atau -1.
+        // Hanya nama baru dengan indeks lokal < below dan yang tidak di-exclude.
+        // Kandidat diverifikasi mulai dari yang cocok di paling banyak band (paling mirip menurut
+        // MinHash), maksimal MAX_VERIFY, jadi biaya per query tetap terbatas di kelompok nama padat.
+        int probe(int len, long qMask, int below, boolean[] exclude) {
+            int mask = slotStart.length - 2;
+            int found = 0, maxHits = 0;
+            stamp++;
+            for (int band = 0; band < BANDS; band++) {
+                long key = keys[band];
+                int slot = (int) key & mask;
+                int end = Math.min(slotStart[slot + 1], slotStart[slot] + MAX_BUCKET_SCAN);
+                for (int e = slotStart[slot]; e < end; e++) {
+                    int local = entryLocal[e];
+                    if (local >= below) break; // entri slot urut menurut indeks lokal
+                    if (entryKey[e] != key || (exclude != null && exclude[local])) continue;
+                    if (seenStamp[local] != stamp) {
+                        seenStamp[local] = stamp;
+                        bandHits[local] = 1;
+                        candidates[found++] = local;
+                    } else {
+                        bandHits[local]++;
+                    }
+                    if (bandHits[local] > maxHits) maxHits = bandHits[local];
+                }
+            }
+            int budget = MAX_VERIFY;
+            for (int hits = maxHits; hits >= 1 && budget > 0; hits--) {
+                for (int k = 0; k < found && budget > 0; k++) {
+                    int local = candidates[k];
+                    if (bandHits[local] != hits) continue;
+                    int cl = normLen[local];
+                    int limit = maxEdits(Math.min(len, cl));
+                    if (Math.abs(len - cl) > limit) continue;
+                    // satu edit mengubah paling banyak 2 bit himpunan karakter
+                    if (Long.bitCount(qMask ^ charMask[local]) > 2 * limit) continue;
+                    budget--;
+                    int d = distance(len, normStart[local], cl, limit);
+                    if (d <= limit) return (local << 8) | d;
+                }
+            }
+            return -1;
+        }
+
+        // Optimal string alignment distance query vs norm[bs, bs + bl); hanya diagonal
+        // |i - j| <= limit yang dihitung, berhenti lebih awal kalau sudah pasti > limit.
+        int distance(int al, int bs, int bl, int limit) {
+            int inf = limit + 1;
+            if (Math.abs(al - bl) > limit) return inf;
+            char[] a = query, b = norm;
+            int[] p2 = prev2Row, p = prevRow, c = curRow;
+            for (int j = 0; j <= bl; j++) p[j] = Math.min(j, inf);
+            for (int i = 1; i <= al; i++) {
+                int lo = Math.max(1, i - limit), hi = Math.min(bl, i + limit);
+                c[lo - 1] = lo == 1 ? Math.min(i, inf) : inf;
+                int rowMin = c[lo - 1];
+                char ai = a[i - 1];
+                for (int j = lo; j <= hi; j++) {
+                    char bj = b[bs + j - 1];
+                    int v = Math.min(Math.min(p[j] + 1, c[j - 1] + 1), p[j - 1] + (ai == bj ? 0 : 1));
+                    if (i > 1 && j > 1 && ai == b[bs + j - 2] && a[i - 2] == bj) v = Math.min(v, p2[j - 2] + 1);
+                    c[j] = Math.min(v, inf);
+                    if (v < rowMin) rowMin = v;
+                }
+                if (hi < bl) c[hi + 1] = inf;
+                if (rowMin > limit) return inf;
+                int[] t = p2; p2 = p; p = c; c = t;
+            }
+            return p[bl];
+        }
+    }
+
+    // Bit per karakter (a-z, 0-9, lainnya di-hash ke bit sisa).
+    private static long charMask(char[] s, int len) {
+        long m = 0;
+        for (int i = 0; i < len; i++) {
+            char c = s[i];
+            int bit = c >= 'a' && c <= 'z' ? c - 'a' : c >= '0' && c <= '9' ? 26 + c - '0' : 36 + c % 28;
+            m |= 1L << bit;
+        }
+        return m;
+    }
+
+    private static List<Future<int[]>> runInline(List<Callable<int[]>> jobs) {
+        List<Future<int[]>> out = new ArrayList<>(jobs.size());
+        for (Callable<int[]> job : jobs) {
+            FutureTask<int[]> task = new FutureTask<>(job);
+            task.run();
+            out.add(task);
+        }
+        return out;
+    }
+
+    private static int[] join(Future<int[]> f) {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Deteksi duplikat dihentikan", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
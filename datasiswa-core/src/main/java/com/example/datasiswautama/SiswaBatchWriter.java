@@ -0,0 +1,133 @@
+package com.example.datasiswautama;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Penulis database untuk import besar (BatchImport): batch baris {nama, kelas, jurusan, sekolah}
+// masuk antrean berbatas lalu di-upsert oleh beberapa thread lewat SiswaRepository, masing-masing
+// satu koneksi pool dan satu transaksi per batch. put() memblokir saat antrean penuh, jadi parser
+// paling banyak `capacity` batch di depan database (memori tetap, berapa pun ukuran file).
+//
+// Deadlock/timeout InnoDB dicoba ulang (lihat isTransient); error lain menghentikan penulis,
+// batch berikutnya dibuang dan error-nya dilempar ulang dari close().
+public final class SiswaBatchWriter implements AutoCloseable {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+    private static final int ER_LOCK_DEADLOCK = 1213;
+    private static final long RETRY_DELAY_MS = 200;
+    private static final List<String[]> END = new ArrayList<>(); // penanda berhenti, satu per thread
+
+    private static final Metrics.Counter RETRIES = Metrics.counter("jdbc.retries", "Batch import yang dicoba ulang (deadlock/timeout)");
+
+    private final SiswaRepository repo;
+    private final BlockingQueue<List<String[]>> queue;
+    private final Thread[] workers;
+    private final AtomicReference<SQLException> failure = new AtomicReference<>();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    public SiswaBatchWriter(SiswaRepository repo, int threads, int capacity) {
+        if (threads < 1) throw new IllegalArgumentException("Jumlah thread minimal 1: " + threads);
+        this.repo = repo;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(this::drain, "siswa-db-writer-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    // false kalau penulis sudah gagal (baris tidak akan ditulis; lihat close()).
+    public boolean put(List<String[]> rows) throws InterruptedException {
+        if (failed()) return false;
+        if (!rows.isEmpty()) queue.put(rows);
+        return true;
+    }
+
+    public boolean failed() {
+        return failure.get() != null;
+    }
+
+    public long written() {
+        return written.sum();
+    }
+
+    public long retries() {
+        return retries.sum();
+    }
+
+    // Tunggu semua batch di antrean selesai ditulis. Kalau thread pemanggil di-interrupt saat
+    // menunggu: status interrupt dipulihkan, penulis dihentikan dan close() gagal dengan SQLException.
+    @Override
+    public void close() throws SQLException {
+        try {
+            for (int i = 0; i < workers.length; i++) queue.put(END);
+            for (Thread t : workers) t.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (Thread t : workers) t.interrupt();
+            failure.compareAndSet(null, new SQLException("Penulisan database dihentikan sebelum semua batch tertulis", e));
+        }
+        SQLException e = failure.get();
+        if (e != null) throw e;
+    }
+
+    private void drain() {
+        try {
+            for (List<String[]> rows; (rows = queue.take()) != END; ) {
+                if (failed()) continue; // tetap dikuras supaya put() tidak tertahan selamanya
+                write(rows);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<String[]> rows) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                written.add(repo.flush(List.of(), SiswaRepository.rows(rows), null, null));
+                return;
+            } catch (SQLException e) {
+                // flush sudah rollback seluruh batch, jadi aman dikirim ulang
+                if (!isTransient(e) || attempt == MAX_ATTEMPTS) {
+                    failure.compareAndSet(null, e);
+                    return;
+                }
+                retries.increment();
+                RETRIES.inc();
+                Thread.sleep(RETRY_DELAY_MS * attempt);
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, new SQLException(e.toString(), e));
+                return;
+            }
+        }
+    }
+
+    // Driver membungkus error batch (BatchUpdateException, SQLException biasa dari rollback), jadi
+    // seluruh rantai cause/next diperiksa: SQLTransientException (termasuk
+    // SQLTransactionRollbackException), SQLState kelas 40 (rollback transaksi), atau kode MySQL
+    // 1213 (deadlock) / 1205 (lock wait timeout).
+    static boolean isTransient(SQLException e) {
+        int depth = 0;
+        for (Throwable t = e; t != null && depth < 16; depth++) {
+            if (t instanceof SQLTransientException) return true;
+            if (t instanceof SQLException sql) {
+                String state = sql.getSQLState();
+                if (state != null && state.startsWith("40")) return true;
+                if (sql.getErrorCode() == ER_LOCK_DEADLOCK || sql.getErrorCode() == ER_LOCK_WAIT_TIMEOUT) return true;
+                if (sql.getNextException() != null && isTransient(sql.getNextException())) return true;
+            }
+            t = t.getCause() == t ? null : t.getCause();
+        }
+        return false;
+    }
+}
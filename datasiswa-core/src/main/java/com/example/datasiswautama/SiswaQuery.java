@@ -0,0 +1,161 @@
+package com.example.datasiswautama;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Query builder untuk tabel siswa: filter sama-dengan untuk sekolah/jurusan/kelas, pencarian
+// awalan nama (LIKE 'abc%', tetap bisa memakai index), dan urutan per kolom.
+// Nama kolom hanya berasal dari enum Kolom (whitelist); nilai dari pengguna selalu jadi parameter.
+//
+// Urutan selalu (kolom, nama): nama unik, jadi urutannya total dan bisa dipakai untuk keyset
+// pagination dengan Key. Index di schema.sql mengikuti bentuk ini.
+public final class SiswaQuery {
+
+    public enum Kolom {
+        NAMA("nama", 0), KELAS("kelas", 1), JURUSAN("jurusan", 2), SEKOLAH("sekolah", 3);
+
+        final String column;
+        final int index; // posisi di baris {nama, kelas, jurusan, sekolah}
+
+        Kolom(String column, int index) {
+            this.column = column;
+            this.index = index;
+        }
+    }
+
+    // Posisi baris dalam urutan query: nilai kolom urut + nama.
+    public static final class Key {
+        final String value;
+        final String nama;
+
+        Key(String value, String nama) {
+            this.value = value;
+            this.nama = nama;
+        }
+    }
+
+    private static final String COLUMNS = "SELECT nama, kelas, jurusan, sekolah FROM siswa";
+
+    private String sekolah;
+    private String jurusan;
+    private String kelas;
+    private String namaPrefix;
+    private Kolom sortBy = Kolom.NAMA;
+    private boolean descending;
+
+    // null atau kosong = tanpa filter
+    public SiswaQuery sekolah(String sekolah) { this.sekolah = blankToNull(sekolah); return this; }
+    public SiswaQuery jurusan(String jurusan) { this.jurusan = blankToNull(jurusan); return this; }
+    public SiswaQuery kelas(String kelas) { this.kelas = blankToNull(kelas); return this; }
+    public SiswaQuery namaPrefix(String prefix) { this.namaPrefix = blankToNull(prefix == null ? null : prefix.trim()); return this; }
+
+    public SiswaQuery sortBy(Kolom kolom, boolean descending) {
+        this.sortBy = kolom == null ? Kolom.NAMA : kolom;
+        this.descending = descending;
+        return this;
+    }
+
+    public boolean isFiltered() {
+        return sekolah != null || jurusan != null || kelas != null || namaPrefix != null;
+    }
+
+    public Key keyOf(String[] row) {
+        return new Key(row[sortBy.index], row[0]);
+    }
+
+    // Halaman sesudah (forward) atau sebelum (!forward) key; key null = dari awal/akhir.
+    // Untuk !forward baris keluar dalam urutan terbalik; pemanggil membaliknya.
+    Sql page(Key key, boolean forward, int limit) {
+        Sql sql = new Sql(COLUMNS);
+        where(sql, key, forward);
+        boolean desc = descending == forward; // mundur = arah urut dibalik
+        String dir = desc ? " DESC" : "";
+        sql.text.append(" ORDER BY ");
+        if (sortBy != Kolom.NAMA) sql.text.append(sortBy.column).append(dir).append(", ");
+        sql.text.append("nama").append(dir).append(" LIMIT ?");
+        sql.params.add(limit);
+        return sql;
+    }
+
+    // Key baris ke-offset (untuk lompatan jauh tanpa halaman tetangga).
+    Sql keyAt(long offset) {
+        Sql sql = new Sql("SELECT " + sortBy.column + ", nama FROM siswa");
+        where(sql, null, true);
+        String dir = descending ? " DESC" : "";
+        sql.text.append(" ORDER BY ");
+        if (sortBy != Kolom.NAMA) sql.text.append(sortBy.column).append(dir).append(", ");
+        sql.text.append("nama").append(dir).append(" LIMIT 1 OFFSET ?");
+        sql.params.add(offset);
+        return sql;
+    }
+
+    // Nilai berbeda satu kolom (pilihan filter), lewat index (kolom, nama). Tidak memakai filter query.
+    static Sql distinct(Kolom kolom) {
+        return new Sql("SELECT DISTINCT " + kolom.column + " FROM siswa ORDER BY " + kolom.column);
+    }
+
+    // cap > 0: berhenti menghitung setelah cap baris (jumlah pasti tidak perlu untuk hasil cari besar).
+    Sql count(long cap) {
+        Sql sql = new Sql(cap > 0 ? "SELECT COUNT(*) FROM (SELECT 1 FROM siswa" : "SELECT COUNT(*) FROM siswa");
+        where(sql, null, true);
+        if (cap > 0) {
+            sql.text.append(" LIMIT ?) t");
+            sql.params.add(cap);
+        }
+        return sql;
+    }
+
+    private void where(Sql sql, Key key, boolean forward) {
+        List<String> conds = new ArrayList<>();
+        if (sekolah != null) { conds.add("sekolah = ?"); sql.params.add(sekolah); }
+        if (jurusan != null) { conds.add("jurusan = ?"); sql.params.add(jurusan); }
+        if (kelas != null) { conds.add("kelas = ?"); sql.params.add(kelas); }
+        if (namaPrefix != null) {
+            conds.add("nama LIKE ? ESCAPE '!'");
+            sql.params.add(escapeLike(namaPrefix) + "%");
+        }
+        if (key != null) {
+            String op = forward != descending ? ">" : "<";
+            if (sortBy == Kolom.NAMA) {
+                conds.add("nama " + op + " ?");
+                sql.params.add(key.nama);
+            } else {
+                String c = sortBy.column;
+                conds.add("(" + c + " " + op + " ? OR (" + c + " = ? AND nama " + op + " ?))");
+                sql.params.add(key.value);
+                sql.params.add(key.value);
+                sql.params.add(key.nama);
+            }
+        }
+        if (!conds.isEmpty()) sql.text.append(" WHERE ").append(String.join(" AND ", conds));
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isEmpty() ? null : s;
+    }
+
+    static final class Sql {
+        final StringBuilder text;
+        final List<Object> params = new ArrayList<>();
+
+        Sql(String head) {
+            this.text = new StringBuilder(head);
+        }
+
+        PreparedStatement bind(PreparedStatement ps) throws SQLException {
+            for (int i = 0; i < params.size(); i++) ps.setObject(i + 1, params.get(i));
+            return ps;
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.datasiswautama;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+
+// Menulis data siswa ke tabel `siswa` (lihat schema.sql) dalam satu transaksi.
+// Nama adalah kunci unik (sama seperti aturan duplikat di aplikasi), jadi siswa baru dan yang
+// diedit ditulis dengan satu INSERT ... ON DUPLICATE KEY UPDATE, dan yang dihapus dengan DELETE.
+// Nilai baru dirujuk lewat row alias (MySQL 8.0.19+; VALUES(col) deprecated sejak 8.0.20);
+// server yang belum mengenalnya (MySQL lama, MariaDB, H2 untuk uji) tetap memakai VALUES(col).
+// Baris dikirim lewat addBatch/executeBatch per chunk; dengan rewriteBatchedStatements=true
+// (sudah ada di URL DatabaseConnection) Connector/J menggabungkan satu batch INSERT menjadi
+// INSERT multi-baris, jadi 100 ribu siswa = ratusan round trip, bukan 100 ribu.
+//
+// Tidak menyentuh objek JavaFX: pemanggil menyiapkan Rows (snapshot) lalu memanggil flush di
+// thread latar.
+public final class SiswaRepository {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private static final String UPSERT =
+            "INSERT INTO siswa (nama, kelas, jurusan, sekolah) VALUES (?, ?, ?, ?) AS new "
+            + "ON DUPLICATE KEY UPDATE nama = new.nama, kelas = new.kelas, "
+            + "jurusan = new.jurusan, sekolah = new.sekolah";
+    private static final String UPSERT_VALUES =
+            "INSERT INTO siswa (nama, kelas, jurusan, sekolah) VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE nama = VALUES(nama), kelas = VALUES(kelas), "
+            + "jurusan = VALUES(jurusan), sekolah = VALUES(sekolah)";
+    private static final String DELETE = "DELETE FROM siswa WHERE nama = ?";
+
+    private static final Metrics.Timer FLUSH = Metrics.timer("jdbc.flush", "Satu transaksi flush (hapus + upsert)");
+    private static final Metrics.Timer BATCH = Metrics.timer("jdbc.batch", "Satu executeBatch");
+    private static final Metrics.Timer QUERY = Metrics.timer("jdbc.query", "Query baca (count/page/keyAt)");
+    private static final Metrics.Counter ROWS = Metrics.counter("jdbc.rows", "Baris yang dikirim ke database (hapus + upsert)");
+    private static final Metrics.Counter ERRORS = Metrics.counter("jdbc.errors", "Flush yang gagal dan di-rollback");
+
+    private final ConnectionPool pool;
+    private final int batchSize;
+    private volatile String upsert; // dipilih dari metadata koneksi pertama
+
+    public SiswaRepository(ConnectionPool pool, int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("Ukuran batch minimal 1: " + batchSize);
+        this.pool = pool;
+        this.batchSize = batchSize;
+    }
+
+    // Pool bawaan; ukuran batch bisa diatur dengan -Ddatasiswa.db.batchSize.
+    public static SiswaRepository createDefault() {
+        return new SiswaRepository(DatabaseConnection.pool(), Integer.getInteger("datasiswa.db.batchSize", DEFAULT_BATCH_SIZE));
+    }
+
+    // Sumber baris yang akan di-upsert, dibaca per indeks (tanpa membuat objek per baris).
+    public interface Rows {
+        int size();
+        String nama(int i);
+        String kelas(int i);
+        String jurusan(int i);
+        String sekolah(int i);
+    }
+
+    // Hapus dulu, baru upsert (nama yang dihapus lalu dipakai lagi tetap tersimpan).
+    // Semua atau tidak sama sekali: kalau gagal/dibatalkan, transaksi di-rollback.
+    // progress menerima jumlah baris yang sudah dikirim (hapus + upsert).
+    public int flush(List<String> deletedNames, Rows upserts, IntConsumer progress, BooleanSupplier cancelled)
+            throws SQLException {
+        long t = FLUSH.start();
+        try (Connection c = pool.getConnection()) {
+            c.setAutoCommit(false);
+            try {
+                int done = 0;
+                try (PreparedStatement ps = c.prepareStatement(DELETE)) {
+                    int pending = 0;
+                    for (String nama : deletedNames) {
+                        ps.setString(1, nama);
+                        ps.addBatch();
+                        if (++pending == batchSize) {
+                            executeBatch(ps);
+                            done += pending;
+                            pending = 0;
+                            checkpoint(done, progress, cancelled);
+                        }
+                    }
+                    if (pending > 0) executeBatch(ps);
+                    done += pending;
+                }
+                try (PreparedStatement ps = c.prepareStatement(upsertSql(c))) {
+                    int pending = 0;
+                    for (int i = 0, n = upserts.size(); i < n; i++) {
+                        ps.setString(1, upserts.nama(i));
+                        ps.setString(2, upserts.kelas(i));
+                        ps.setString(3, upserts.jurusan(i));
+                        ps.setString(4, upserts.sekolah(i));
+                        ps.addBatch();
+                        if (++pending == batchSize) {
+                            executeBatch(ps);
+                            done += pending;
+                            pending = 0;
+                            checkpoint(done, progress, cancelled);
+                        }
+                    }
+                    if (pending > 0) executeBatch(ps);
+                    done += pending;
+                }
+                c.commit();
+                ROWS.add(done);
+                FLUSH.stop(t);
+                if (progress != null) progress.accept(done);
+                return done;
+            } catch (SQLException | RuntimeException e) {
+                ERRORS.inc();
+                c.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private String upsertSql(Connection c) throws SQLException {
+        String sql = upsert;
+        if (sql == null) {
+            DatabaseMetaData md = c.getMetaData();
+            upsert = sql = supportsRowAlias(md.getDatabaseProductName(), md.getDatabaseProductVersion()) ? UPSERT : UPSERT_VALUES;
+        }
+        return sql;
+    }
+
+    // "8.0.33" ya; "5.7.44", "8.0.18", "5.5.5-10.11.6-MariaDB", H2 tidak.
+    static boolean supportsRowAlias(String product, String version) {
+        if (!"MySQL".equals(product) || version == null || version.contains("MariaDB")) return false;
+        String[] v = version.split("[^0-9]+", 4);
+        try {
+            int major = Integer.parseInt(v[0]);
+            int minor = v.length > 1 ? Integer.parseInt(v[1]) : 0;
+            int patch = v.length > 2 ? Integer.parseInt(v[2]) : 0;
+            return major > 8 || major == 8 && (minor > 0 || patch >= 19);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static void executeBatch(PreparedStatement ps) throws SQLException {
+        long t = BATCH.start();
+        ps.executeBatch();
+        BATCH.stop(t);
+    }
+
+    // Jumlah baris yang cocok; cap > 0 membatasi kerja COUNT untuk hasil pencarian yang besar.
+    public long count(SiswaQuery q, long cap) throws SQLException {
+        SiswaQuery.Sql sql = q.count(cap);
+        long t = QUERY.start();
+        try (Connection c = pool.getConnection();
+             PreparedStatement ps = sql.bind(c.prepareStatement(sql.toString()));
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        } finally {
+            QUERY.stop(t);
+        }
+    }
+
+    // Keyset pagination: baris {nama, kelas, jurusan, sekolah} sesudah key (null = dari awal),
+    // dalam urutan query. Lewat index (kolom urut, nama), tanpa OFFSET.
+    public List<String[]> pageAfter(SiswaQuery q, SiswaQuery.Key after, int limit) throws SQLException {
+        return page(q.page(after, true, limit), limit);
+    }
+
+    // Baris tepat sebelum key, tetap dikembalikan dalam urutan query.
+    public List<String[]> pageBefore(SiswaQuery q, SiswaQuery.Key before, int limit) throws SQLException {
+        List<String[]> rows = page(q.page(before, false, limit), limit);
+        Collections.reverse(rows);
+        return rows;
+    }
+
+    // Key baris di posisi ke-offset; dipakai sekali untuk lompat jauh, lalu lanjut keyset.
+    // Hanya membaca index, tapi tetap O(offset) di server.
+    public SiswaQuery.Key keyAt(SiswaQuery q, long offset) throws SQLException {
+        SiswaQuery.Sql sql = q.keyAt(offset);
+        long t = QUERY.start();
+        try (Connection c = pool.getConnection();
+             PreparedStatement ps = sql.bind(c.prepareStatement(sql.toString()));
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? new SiswaQuery.Key(rs.getString(1), rs.getString(2)) : null;
+        } finally {
+            QUERY.stop(t);
+        }
+    }
+
+    // Semua nilai yang ada di tabel untuk satu kolom, urut (untuk pilihan filter DataSiswaView).
+    public List<String> distinct(SiswaQuery.Kolom kolom) throws SQLException {
+        SiswaQuery.Sql sql = SiswaQuery.distinct(kolom);
+        long t = QUERY.start();
+        try (Connection c = pool.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql.toString());
+             ResultSet rs = ps.executeQuery()) {
+            List<String> values = new ArrayList<>();
+            while (rs.next()) values.add(rs.getString(1));
+            return values;
+        } finally {
+            QUERY.stop(t);
+        }
+    }
+
+    private List<String[]> page(SiswaQuery.Sql sql, int limit) throws SQLException {
+        long t = QUERY.start();
+        try (Connection c = pool.getConnection();
+             PreparedStatement ps = sql.bind(c.prepareStatement(sql.toString()))) {
+            return readRows(ps, limit);
+        } finally {
+            QUERY.stop(t);
+        }
+    }
+
+    private static List<String[]> readRows(PreparedStatement ps, int limit) throws SQLException {
+        List<String[]> rows = new ArrayList<>(limit);
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rows.add(new String[]{rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4)});
+            }
+        }
+        return rows;
+    }
+
+    private static void checkpoint(int done, IntConsumer progress, BooleanSupplier cancelled) {
+        if (progress != null) progress.accept(done);
+        if (cancelled != null && cancelled.getAsBoolean()) {
+            throw new CancellationException("Penyimpanan ke database dibatalkan");
+        }
+    }
+
+    // Baris dari StudentStore berdasarkan id (label kelas/jurusan/sekolah dari kamus store).
+    public static Rows rows(StudentStore store, int[] ids) {
+        return new Rows() {
+            public int size() { return ids.length; }
+            public String nama(int i) { return store.nama(ids[i]); }
+            public String kelas(int i) { return store.kelas(ids[i]); }
+            public String jurusan(int i) { return store.jurusan(ids[i]); }
+            public String sekolah(int i) { return store.sekolah(ids[i]); }
+        };
+    }
+
+    // Baris dari snapshot {nama, kelas, jurusan, sekolah}.
+    public static Rows rows(List<String[]> snapshot) {
+        return new Rows() {
+            public int size() { return snapshot.size(); }
+            public String nama(int i) { return snapshot.get(i)[0]; }
+            public String kelas(int i) { return snapshot.get(i)[1]; }
+            public String jurusan(int i) { return snapshot.get(i)[2]; }
+            public String sekolah(int i) { return snapshot.get(i)[3]; }
+        };
+    }
+}
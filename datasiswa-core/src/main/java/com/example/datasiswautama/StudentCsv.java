@@ -0,0 +1,31 @@
+package com.example.datasiswautama;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+
+// Format CSV data siswa (ditulis saveDataToFile, dibaca MappedCsvReader):
+// satu baris per siswa, kolom nama,kelas,jurusan,kelompok, field dengan koma/kutip/baris baru dikutip.
+public final class StudentCsv {
+
+    private static final Metrics.Timer SAVE = Metrics.timer("csv.save", "Tulis data siswa ke CSV");
+
+    private StudentCsv() {
+    }
+
+    public static void write(BufferedWriter bw, StudentStore store, int[] ids) throws IOException {
+        long t = SAVE.start();
+        for (int id : ids) {
+            bw.write(escape(store.nama(id)) + "," + escape(store.kelas(id)) + "," + escape(store.jurusan(id)) + "," + escape(store.sekolah(id)));
+            bw.newLine();
+        }
+        SAVE.stop(t);
+    }
+
+    public static String escape(String s) {
+        if (s == null) s = "";
+        if (s.contains(",") || s.contains("\"") || s.contains("\n")) {
+            return "\"" + s.replace("\"", "\"\"") + "\"";
+        }
+        return s;
+    }
+}
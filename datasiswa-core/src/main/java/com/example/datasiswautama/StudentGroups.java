@@ -0,0 +1,152 @@
+package com.example.datasiswautama;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Pengelompokan Sekolah -> Jurusan -> Kelas tanpa UI. Urutannya sama dengan pohon SmartDataParser
+// (StudentTreeIndex membangun pohonnya dari sini): grup urut label (kelas numerik 10, 11, 12),
+// siswa di tiap kelas urut nama tanpa membedakan huruf besar/kecil (StudentStore.compareNama).
+// Grup dicari lewat kode kamus store, jadi tidak ada String yang di-hash per siswa.
+public final class StudentGroups {
+
+    public static final int SEKOLAH = 0, JURUSAN = 1, KELAS = 2;
+
+    private static final List<String> KELAS_ORDER = List.of(StudentLineParser.KELAS_UMUM);
+
+    public static final class Group {
+        public final int level;
+        public final int code;       // kode kamus StudentStore untuk level ini
+        public final String label;
+        public final List<Group> children = new ArrayList<>(); // kosong di level kelas
+        int[] ids;                   // hanya level kelas, urut nama
+        int count;
+
+        Group(int level, int code, String label) {
+            this.level = level;
+            this.code = code;
+            this.label = label;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        // Id siswa di kelas ini (urut nama); array kosong untuk level sekolah/jurusan.
+        public int[] ids() {
+            return ids == null ? new int[0] : ids;
+        }
+    }
+
+    private StudentGroups() {
+    }
+
+    public static List<Group> of(StudentStore store, int[] ids) {
+        // kunci 24 bit: sekolah | jurusan | kelas
+        Map<Integer, int[]> members = new HashMap<>();
+        Map<Integer, Integer> sizes = new HashMap<>();
+        for (int id : ids) sizes.merge(key(store, id), 1, Integer::sum);
+        for (Map.Entry<Integer, Integer> e : sizes.entrySet()) members.put(e.getKey(), new int[e.getValue()]);
+        Map<Integer, Integer> fill = new HashMap<>();
+        for (int id : ids) {
+            int k = key(store, id);
+            int i = fill.merge(k, 1, Integer::sum) - 1;
+            members.get(k)[i] = id;
+        }
+
+        Map<Integer, Group> sekolahByCode = new HashMap<>();
+        Map<Integer, Group> jurusanByCode = new HashMap<>();
+        List<Group> roots = new ArrayList<>();
+        for (Map.Entry<Integer, int[]> e : members.entrySet()) {
+            int k = e.getKey();
+            int s = k >>> 16, j = (k >>> 8) & 0xFF, c = k & 0xFF;
+            Group sekolah = sekolahByCode.computeIfAbsent(s, x -> {
+                Group g = new Group(SEKOLAH, s, store.sekolahLabel(s));
+                roots.add(g);
+                return g;
+            });
+            Group jurusan = jurusanByCode.computeIfAbsent(k >>> 8, x -> {
+                Group g = new Group(JURUSAN, j, store.jurusanLabel(j));
+                sekolah.children.add(g);
+                return g;
+            });
+            Group kelas = new Group(KELAS, c, store.kelasLabel(c));
+            kelas.ids = e.getValue();
+            sortByNama(kelas.ids, store);
+            kelas.count = kelas.ids.length;
+            jurusan.children.add(kelas);
+            jurusan.count += kelas.count;
+            sekolah.count += kelas.count;
+        }
+        sort(roots);
+        return roots;
+    }
+
+    // Urutan label grup di satu level (sama dengan pohon).
+    public static int compareLabel(int level, String a, String b) {
+        return level == KELAS ? compareKelas(a, b) : a.compareTo(b);
+    }
+
+    // Kelas numerik (10, 11, 12) lalu urutan Kategori, lalu abjad.
+    public static int compareKelas(String a, String b) {
+        if (a == null) a = "";
+        if (b == null) b = "";
+        try {
+            int ia = Integer.parseInt(a);
+            int ib = Integer.parseInt(b);
+            return Integer.compare(ia, ib);
+        } catch (NumberFormatException ex) {
+            int pa = KELAS_ORDER.indexOf(a);
+            int pb = KELAS_ORDER.indexOf(b);
+            if (pa >= 0 && pb >= 0) return Integer.compare(pa, pb);
+            if (pa >= 0) return -1;
+            if (pb >= 0) return 1;
+            return a.compareTo(b);
+        }
+    }
+
+    private static int key(StudentStore store, int id) {
+        return store.sekolahCode(id) << 16 | store.jurusanCode(id) << 8 | store.kelasCode(id);
+    }
+
+    private static void sort(List<Group> groups) {
+        if (groups.isEmpty()) return;
+        int level = groups.get(0).level;
+        groups.sort(Comparator.comparing((Group g) -> g.label, (a, b) -> compareLabel(level, a, b)));
+        for (Group g : groups) sort(g.children);
+    }
+
+    // Merge sort stabil atas id (tanpa boxing), dibandingkan langsung di arena store.
+    static void sortByNama(int[] ids, StudentStore store) {
+        if (ids.length < 2) return;
+        mergeSort(ids.clone(), ids, 0, ids.length, store);
+    }
+
+    private static void mergeSort(int[] src, int[] dst, int from, int to, StudentStore store) {
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int v = dst[i];
+                int j = i - 1;
+                while (j >= from && store.compareNama(dst[j], v) > 0) {
+                    dst[j + 1] = dst[j];
+                    j--;
+                }
+                dst[j + 1] = v;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(dst, src, from, mid, store);
+        mergeSort(dst, src, mid, to, store);
+        if (store.compareNama(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, from, dst, from, to - from);
+            return;
+        }
+        for (int i = from, p = from, q = mid; i < to; i++) {
+            if (q >= to || (p < mid && store.compareNama(src[p], src[q]) <= 0)) dst[i] = src[p++];
+            else dst[i] = src[q++];
+        }
+    }
+}
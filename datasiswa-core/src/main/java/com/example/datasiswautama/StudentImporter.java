@@ -0,0 +1,386 @@
+package com.example.datasiswautama;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+
+// Pipeline import tanpa UI: parse + validasi -> dedupe (NameIndex) -> StudentStore, id siswa baru
+// dikirim per batch ke BatchListener. Dipakai SmartDataParser (batch -> dataList lewat FX thread),
+// BulkInputParser dan runner baris perintah (BatchImport) dengan engine yang sama.
+//
+// Satu importer = satu penulis store selama import (lihat StudentStore); NameIndex yang diberikan
+// menjadi milik importer (SmartDataParser memberi copy() dari indeksnya).
+public final class StudentImporter {
+
+    public static final int DEFAULT_BATCH = 5_000;
+    public static final int MAX_REJECTS_KEPT = 1_000; // contoh baris ditolak yang disimpan di Summary
+    static final int MERGE_QUEUE_CHUNKS = 64;          // importFiles: chunk parse yang menunggu dedupe
+
+    // Id siswa baru (ids[0..count)); array dipakai ulang setelah listener kembali.
+    public interface BatchListener {
+        void batch(int[] ids, int count);
+    }
+
+    // Dipanggil setiap batch; done/total dalam satuan sumber (baris, atau byte untuk CSV).
+    // Return false = batalkan import (baris yang sudah masuk tetap ada).
+    public interface Progress {
+        boolean update(long done, long total);
+    }
+
+    public static final Progress NO_PROGRESS = (done, total) -> true;
+
+    // Alasan tolak untuk baris CSV dengan kolom kurang dari nama,kelas,jurusan,kelompok.
+    static final String SHORT_ROW = "kolom kurang dari 4";
+
+    private static final Metrics.Timer PARSE = Metrics.timer("import.parse", "Parse satu baris teks bebas");
+    private static final Metrics.Timer DEDUPE = Metrics.timer("import.dedupe", "Cek duplikat + simpan satu siswa ke store");
+    private static final Metrics.Timer PUBLISH = Metrics.timer("import.publish", "BatchListener untuk satu batch siswa baru");
+    private static final Metrics.Timer CSV_LOAD = Metrics.timer("csv.load", "Import satu file CSV");
+    private static final Metrics.Timer TEXT_LOAD = Metrics.timer("text.load", "Import teks bebas (input atau file)");
+    private static final Metrics.Timer SNAPSHOT_LOAD = Metrics.timer("snapshot.load", "Import satu snapshot .dss");
+    private static final Metrics.Timer FILES_LOAD = Metrics.timer("files.load", "Import banyak file sekaligus");
+    private static final Metrics.Counter ADDED = Metrics.counter("import.rows.added", "Siswa baru dari import");
+    private static final Metrics.Counter DUPLICATES = Metrics.counter("import.rows.duplicate", "Baris import yang namanya sudah ada");
+    private static final Metrics.Counter REJECTED = Metrics.counter("import.rows.rejected", "Baris import yang ditolak (format/nama kosong)");
+
+    public static final class Summary {
+        public final long rows;       // baris/record yang dibaca dari sumber (tanpa baris kosong)
+        public final int added;
+        public final int duplicates;
+        public final int rejected;
+        public final List<String> rejectSamples; // "baris (alasan)", maks. MAX_REJECTS_KEPT
+        public final long bytes;
+        public final long nanos;
+        public final boolean cancelled;
+
+        Summary(long rows, int added, int duplicates, int rejected, List<String> rejectSamples, long bytes,
+                long nanos, boolean cancelled) {
+            this.rows = rows;
+            this.added = added;
+            this.duplicates = duplicates;
+            this.rejected = rejected;
+            this.rejectSamples = rejectSamples;
+            this.bytes = bytes;
+            this.nanos = nanos;
+            this.cancelled = cancelled;
+        }
+
+        public double rowsPerSecond() {
+            return rows / Math.max(1e-9, nanos / 1e9);
+        }
+
+        public double megabytesPerSecond() {
+            return bytes / 1e6 / Math.max(1e-9, nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d baris: %,d baru, %,d duplikat, %,d ditolak (%,.0f baris/detik)%s",
+                    rows, added, duplicates, rejected, rowsPerSecond(), cancelled ? ", dibatalkan" : "");
+        }
+    }
+
+    private final StudentStore store;
+    private final NameIndex seen;
+    private final BatchListener listener;
+    private final int[] batch;
+    private int batchLen;
+    private int[] fresh = new int[1024];
+    private int added;
+    private int duplicates;
+    private int rejected;
+    private final List<String> rejectSamples = new ArrayList<>();
+
+    public StudentImporter(StudentStore store, NameIndex seen, int batchSize, BatchListener listener) {
+        this.store = store;
+        this.seen = seen;
+        this.listener = listener;
+        this.batch = new int[batchSize];
+    }
+
+    // ---- baris satu per satu ----
+
+    public void offer(String nama, String kelas, String jurusan, String sekolah) {
+        if (nama == null || nama.isBlank()) {
+            reject(nama, "nama kosong");
+            return;
+        }
+        long t = DEDUPE.start();
+        if (seen.contains(nama)) duplicate();
+        else add(nama, store.encodeKelas(kelas), store.encodeJurusan(jurusan), store.encodeSekolah(sekolah));
+        DEDUPE.stop(t);
+    }
+
+    // Hasil parser sudah membawa kode Kategori; kamus store hanya dipakai untuk nilai lain.
+    public void offer(StudentLineParser.Result r) {
+        long t = DEDUPE.start();
+        if (seen.contains(r.getNama())) {
+            duplicate();
+            DEDUPE.stop(t);
+            return;
+        }
+        int kelas = r.getKelasCode() >= 0 ? r.getKelasCode() : store.encodeKelas(r.getKelas());
+        int jurusan = r.getJurusanCode() >= 0 ? r.getJurusanCode() : store.encodeJurusan(r.getJurusan());
+        int sekolah = r.getSekolahCode() >= 0 ? r.getSekolahCode() : store.encodeSekolah(r.getSekolah());
+        add(r.getNama(), kelas, jurusan, sekolah);
+        DEDUPE.stop(t);
+    }
+
+    // Kode sudah kode store (boleh NO_CODE); nama boleh buffer yang dipakai ulang (StudentSnapshot).
+    public void offer(CharSequence nama, int kelasCode, int jurusanCode, int sekolahCode) {
+        long t = DEDUPE.start();
+        if (seen.contains(nama)) duplicate();
+        else add(nama, kelasCode, jurusanCode, sekolahCode);
+        DEDUPE.stop(t);
+    }
+
+    public void reject(CharSequence line, String reason) {
+        rejected++;
+        REJECTED.inc();
+        if (rejectSamples.size() < MAX_REJECTS_KEPT) rejectSamples.add((line == null ? "" : line.toString().trim()) + " (" + reason + ")");
+    }
+
+    // Jumlah baris sudah diketahui: indeks dedupe dibuat sekali dengan ukuran akhir.
+    public void expect(int rows) {
+        seen.ensureCapacity(seen.size() + rows);
+    }
+
+    public int pending() {
+        return batchLen;
+    }
+
+    public void flush() {
+        if (batchLen == 0) return;
+        long t = PUBLISH.start();
+        listener.batch(batch, batchLen);
+        PUBLISH.stop(t);
+        batchLen = 0;
+    }
+
+    public int added() {
+        return added;
+    }
+
+    // Semua id baru dari importer ini, dalam urutan masuk.
+    public int[] addedIds() {
+        return Arrays.copyOf(fresh, added);
+    }
+
+    // Nama baru vs existingIds + sesama nama baru. Store tidak boleh berubah selama ini berjalan.
+    public List<NearDuplicateDetector.Pair> findNearDuplicates(int[] existingIds, ForkJoinPool pool, BooleanSupplier cancelled) {
+        return new NearDuplicateDetector(store).find(addedIds(), existingIds, pool, cancelled);
+    }
+
+    // Kamus kolom yang penuh (lebih dari 256 nilai berbeda) hanya menolak baris dengan nilai baru itu.
+    private void add(CharSequence nama, int kelas, int jurusan, int sekolah) {
+        String full = kelas < 0 ? "kelas" : jurusan < 0 ? "jurusan" : sekolah < 0 ? "sekolah" : null;
+        if (full != null) reject(nama, "terlalu banyak nilai " + full + " berbeda (maks. 256)");
+        else accept(store.add(nama, kelas, jurusan, sekolah));
+    }
+
+    private void duplicate() {
+        duplicates++;
+        DUPLICATES.inc();
+    }
+
+    private void accept(int id) {
+        ADDED.inc();
+        seen.add(id);
+        if (added == fresh.length) fresh = Arrays.copyOf(fresh, added * 2);
+        fresh[added++] = id;
+        batch[batchLen++] = id;
+        if (batchLen == batch.length) flush();
+    }
+
+    // ---- sumber lengkap ----
+
+    // Teks bebas, satu siswa per baris (format StudentLineParser). Progress dalam baris.
+    public Summary importText(String text, Progress progress) {
+        long t0 = System.nanoTime();
+        StudentLineParser parser = new StudentLineParser();
+        StudentLineParser.Result r = new StudentLineParser.Result();
+        int total = countLines(text);
+        long rows = 0;
+        int done = 0;
+        boolean cancelled = false;
+        for (int pos = 0, len = text.length(); pos < len; ) {
+            int eol = text.indexOf('\n', pos);
+            if (eol < 0) eol = len;
+            int lineStart = pos;
+            pos = eol + 1;
+            done++;
+            long t = PARSE.start();
+            boolean ok = parser.parse(text, lineStart, eol, r);
+            PARSE.stop(t);
+            if (ok) {
+                rows++;
+                offer(r);
+            } else if (r.getSkip() != StudentLineParser.Skip.BLANK) {
+                rows++;
+                reject(text.substring(lineStart, eol), r.getSkip().getMessage());
+            }
+            if (done % batch.length == 0) {
+                flush();
+                if (!progress.update(done, total)) {
+                    cancelled = true;
+                    break;
+                }
+            }
+        }
+        flush();
+        if (!cancelled) progress.update(done, total);
+        return summary(rows, text.length(), t0, cancelled, TEXT_LOAD);
+    }
+
+    // Sama dengan importText, tapi file dibaca baris per baris: heap tidak ikut membesar dengan
+    // ukuran file. Progress dalam karakter yang sudah dibaca vs ukuran file (perkiraan untuk UTF-8).
+    public Summary importTextFile(Path file, Progress progress) throws IOException {
+        long t0 = System.nanoTime();
+        StudentLineParser parser = new StudentLineParser();
+        StudentLineParser.Result r = new StudentLineParser.Result();
+        long size = Math.max(1, Files.size(file));
+        long rows = 0, done = 0, chars = 0;
+        boolean cancelled = false;
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for (String line; (line = in.readLine()) != null; ) {
+                done++;
+                chars += line.length() + 1;
+                long t = PARSE.start();
+                boolean ok = parser.parse(line, r);
+                PARSE.stop(t);
+                if (ok) {
+                    rows++;
+                    offer(r);
+                } else if (r.getSkip() != StudentLineParser.Skip.BLANK) {
+                    rows++;
+                    reject(line, r.getSkip().getMessage());
+                }
+                if (done % batch.length == 0) {
+                    flush();
+                    if (!progress.update(Math.min(chars, size), size)) {
+                        cancelled = true;
+                        break;
+                    }
+                }
+            }
+        }
+        flush();
+        if (!cancelled) progress.update(size, size);
+        return summary(rows, size, t0, cancelled, TEXT_LOAD);
+    }
+
+    // CSV nama,kelas,jurusan,kelompok (StudentCsv). File besar diparse paralel di pool, tapi baris
+    // tetap sampai ke dedupe dalam urutan file. Progress dalam byte.
+    public Summary importCsv(Path file, ForkJoinPool pool, Progress progress) throws IOException {
+        long t0 = System.nanoTime();
+        MappedCsvReader reader = new MappedCsvReader();
+        long size = Math.max(1, Files.size(file));
+        long[] rows = {0};
+        boolean[] cancelled = {false};
+        MappedCsvReader.Stats stats = reader.readParallel(file, pool, new MappedCsvReader.RowSink() {
+            @Override
+            public void row(MappedCsvReader.Row row) {
+                if (cancelled[0]) return;
+                offer(row.string(0),
+                        row.string(1, StudentLineParser.KELAS_UMUM),
+                        row.string(2, StudentLineParser.JURUSAN_UMUM),
+                        row.string(3, StudentLineParser.SEKOLAH_UMUM));
+                counted(row);
+            }
+
+            @Override
+            public void shortRow(MappedCsvReader.Row row) {
+                if (cancelled[0]) return;
+                reject(row.line(), SHORT_ROW);
+                counted(row);
+            }
+
+            private void counted(MappedCsvReader.Row row) {
+                rows[0]++;
+                if (rows[0] % batch.length == 0 && !progress.update(row.offset(), size)) {
+                    cancelled[0] = true;
+                    reader.cancel();
+                }
+            }
+        });
+        flush();
+        if (!cancelled[0]) progress.update(size, size);
+        return summary(rows[0], stats.getBytes(), t0, cancelled[0], CSV_LOAD);
+    }
+
+    // Snapshot biner (StudentSnapshot): checksum diperiksa sebelum baris pertama. Progress dalam baris.
+    public Summary importSnapshot(Path file, Progress progress) throws IOException {
+        long t0 = System.nanoTime();
+        int total = Math.max(1, StudentSnapshot.rowCount(file));
+        expect(total);
+        long[] done = {0};
+        boolean[] cancelled = {false};
+        StudentSnapshot.read(file, store, (nama, kelas, jurusan, sekolah) -> {
+            done[0]++;
+            offer(nama, kelas, jurusan, sekolah);
+            if (done[0] % batch.length == 0 && !progress.update(done[0], total)) cancelled[0] = true;
+        }, () -> cancelled[0]);
+        flush();
+        if (!cancelled[0]) progress.update(total, total);
+        return summary(done[0], Files.size(file), t0, cancelled[0], SNAPSHOT_LOAD);
+    }
+
+    // Banyak file sekaligus (mis. satu CSV per kelas): tiap file dibaca + diparse di thread-nya
+    // sendiri (FileChunkReader), dedupe/merge tetap satu thread di sini, dalam urutan daftar file.
+    // Hasilnya sama dengan mengimpor file satu per satu: nama yang sama di dua file diambil dari
+    // file yang lebih awal di daftar. Progress dalam byte.
+    public Summary importFiles(List<Path> files, Progress progress) throws IOException {
+        long t0 = System.nanoTime();
+        long total = 0;
+        for (Path file : files) total += Files.size(file);
+        total = Math.max(1, total);
+        long rows = 0, done = 0;
+        int chunks = 0, chunksPerBatch = Math.max(1, batch.length / FileChunkReader.CHUNK_ROWS);
+        boolean cancelled = false;
+        try (FileChunkReader reader = new FileChunkReader(files, MERGE_QUEUE_CHUNKS)) {
+            for (FileChunkReader.Chunk c; (c = reader.take()) != null; ) {
+                for (int i = 0; i < c.rows; i++) offer(c.nama[i], c.kelas[i], c.jurusan[i], c.sekolah[i]);
+                for (String[] r : c.rejects) reject(r[0], r[1]);
+                rows += c.rows + c.rejects.size();
+                done += c.bytes;
+                if (++chunks % chunksPerBatch == 0 && !progress.update(done, total)) {
+                    cancelled = true;
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled = true;
+        }
+        flush();
+        if (!cancelled) progress.update(total, total);
+        return summary(rows, total, t0, cancelled, FILES_LOAD);
+    }
+
+    // Pilih pembaca dari isi/ekstensi: snapshot (magic), *.csv, selain itu teks bebas UTF-8.
+    public Summary importFile(Path file, ForkJoinPool pool, Progress progress) throws IOException {
+        if (StudentSnapshot.isSnapshot(file)) return importSnapshot(file, progress);
+        if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")) return importCsv(file, pool, progress);
+        return importTextFile(file, progress);
+    }
+
+    private Summary summary(long rows, long bytes, long t0, boolean cancelled, Metrics.Timer timer) {
+        long nanos = System.nanoTime() - t0;
+        timer.record(nanos);
+        return new Summary(rows, added, duplicates, rejected, List.copyOf(rejectSamples), bytes, nanos, cancelled);
+    }
+
+    private static int countLines(String input) {
+        int n = 1;
+        for (int i = input.indexOf('\n'); i >= 0; i = input.indexOf('\n', i + 1)) n++;
+        return n;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.datasiswautama;
+
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Engine parser baris input bebas untuk SmartDataParser (tanpa JavaFX).
+// Format yang didukung:
+//   "Nama – 10 – AKL – SMK Airlangga"   (pemisah: -, – atau —)
+//   "Nama - 10 - AKL"                     (sekolah ditebak dari jurusan)
+//   "Nama, kelas 11 PPLG" / "Nama kelas 11 PPLG"
+// Satu instance menyimpan Matcher yang dipakai ulang, jadi jangan dibagi antar thread.
+// Kelas, jurusan dan sekolah sekaligus dipetakan ke kode Kategori (lihat Result.get*Code).
+public final class StudentLineParser {
+
+    static final Set<String> JURUSAN_SMK_AIRLANGGA = Set.copyOf(Kategori.Jurusan.labelsFor(Kategori.Sekolah.AIRLANGGA));
+    static final Set<String> JURUSAN_SMK_KESEHATAN = Set.copyOf(Kategori.Jurusan.labelsFor(Kategori.Sekolah.KESEHATAN));
+
+    static final String SMK_AIRLANGGA = Kategori.Sekolah.AIRLANGGA.label();
+    static final String SMK_KESEHATAN = Kategori.Sekolah.KESEHATAN.label();
+    static final String SEKOLAH_TIDAK_DIKETAHUI = Kategori.Sekolah.TIDAK_DIKETAHUI.label();
+
+    // Format "kelas": dikompilasi sekali, bukan per baris
+    private static final Pattern KELAS_FORM = Pattern.compile(
+            "([A-Za-z.'\\- ]+?)\\s*(?:,|)\\s*(?:kelas\\s*)?(\\d{1,2})\\s*([A-Za-z0-9]+)(?:\\s*-\\s*(.+))?",
+            Pattern.CASE_INSENSITIVE);
+
+    // nilai yang sering muncul dipakai ulang supaya tidak membuat String baru
+    // (indeks = kode Kategori)
+    static final String[] KELAS_UMUM = Kategori.labels(Kategori.Kelas.values());
+    static final String[] JURUSAN_UMUM = Kategori.labels(Kategori.Jurusan.values());
+    static final String[] SEKOLAH_UMUM = Kategori.labels(Kategori.Sekolah.values());
+
+    private static final int MAX_PARTS = 4;
+
+    public enum Skip {
+        NONE(""),
+        BLANK("baris kosong"),
+        TOO_FEW_PARTS("kurang dari 3 bagian dipisah tanda hubung"),
+        UNRECOGNIZED("format tidak dikenali");
+
+        private final String message;
+
+        Skip(String message) { this.message = message; }
+
+        public String getMessage() { return message; }
+    }
+
+    // Hasil parsing satu baris; objek yang sama boleh dipakai ulang untuk setiap baris.
+    public static final class Result {
+        private String nama, kelas, jurusan, sekolah;
+        private int kelasCode, jurusanCode, sekolahCode;
+        private Skip skip = Skip.NONE;
+        private int dashParts;
+
+        public boolean isOk() { return skip == Skip.NONE; }
+        public Skip getSkip() { return skip; }
+        public int getDashParts() { return dashParts; }
+
+        public String getNama() { return nama; }
+        public String getKelas() { return kelas; }
+        public String getJurusan() { return jurusan; }
+        public String getSekolah() { return sekolah; }
+
+        // kode Kategori, atau Kategori.TIDAK_DIKENAL kalau nilainya di luar domain
+        public int getKelasCode() { return kelasCode; }
+        public int getJurusanCode() { return jurusanCode; }
+        public int getSekolahCode() { return sekolahCode; }
+
+        private void reset() {
+            nama = kelas = jurusan = sekolah = null;
+            kelasCode = jurusanCode = sekolahCode = Kategori.TIDAK_DIKENAL;
+            skip = Skip.NONE;
+            dashParts = 0;
+        }
+    }
+
+    private final Matcher kelasMatcher = KELAS_FORM.matcher("");
+    // posisi awal/akhir (sudah di-trim) dari 4 bagian pertama
+    private final int[] partStart = new int[MAX_PARTS];
+    private final int[] partEnd = new int[MAX_PARTS];
+
+    public boolean parse(String line, Result out) {
+        return parse(line, 0, line.length(), out);
+    }
+
+    // Parse text[from, to) tanpa menyalin baris; hanya field hasil yang dialokasikan.
+    public boolean parse(String text, int from, int to, Result out) {
+        out.reset();
+        while (from < to && text.charAt(from) <= ' ') from++;
+        while (to > from && text.charAt(to - 1) <= ' ') to--;
+        if (from == to) {
+            out.skip = Skip.BLANK;
+            return false;
+        }
+
+        int parts = scanDashParts(text, from, to);
+        out.dashParts = parts;
+
+        if (parts >= 3) {
+            out.nama = text.substring(partStart[0], partEnd[0]);
+            setKelas(out, text, partStart[1], partEnd[1]);
+            setJurusan(out, text, partStart[2], partEnd[2]);
+            if (parts >= 4) setSekolah(out, text, partStart[3], partEnd[3]);
+        } else {
+            Matcher m = kelasMatcher.reset(text.subSequence(from, to));
+            if (!m.find()) {
+                out.skip = parts == 2 ? Skip.TOO_FEW_PARTS : Skip.UNRECOGNIZED;
+                return false;
+            }
+            out.nama = m.group(1).trim();
+            String kelas = m.group(2).trim(), jurusan = m.group(3);
+            setKelas(out, kelas, 0, kelas.length());
+            setJurusan(out, jurusan, 0, jurusan.length());
+            if (m.group(4) != null) {
+                String sekolah = m.group(4).trim();
+                setSekolah(out, sekolah, 0, sekolah.length());
+            }
+        }
+
+        if (out.sekolah == null || out.sekolah.isBlank()) {
+            // jurusan -> sekolah lewat kode, tanpa toUpperCase/lookup Set
+            int code = Kategori.Jurusan.sekolahCode(out.jurusanCode);
+            if (code < 0) code = Kategori.Sekolah.TIDAK_DIKETAHUI.code();
+            out.sekolahCode = code;
+            out.sekolah = SEKOLAH_UMUM[code];
+        }
+        return true;
+    }
+
+    // Satu lintasan: pisah di '-', '–' atau '—', trim tiap bagian, abaikan bagian kosong.
+    // Mengembalikan jumlah bagian tidak kosong (posisi hanya disimpan untuk 4 bagian pertama).
+    private int scanDashParts(String text, int from, int to) {
+        int count = 0;
+        int start = from;
+        for (int i = from; i <= to; i++) {
+            if (i < to && !isDash(text.charAt(i))) continue;
+            int s = start, e = i;
+            while (s < e && text.charAt(s) <= ' ') s++;
+            while (e > s && text.charAt(e - 1) <= ' ') e--;
+            if (s < e) {
+                if (count < MAX_PARTS) {
+                    partStart[count] = s;
+                    partEnd[count] = e;
+                }
+                count++;
+            }
+            start = i + 1;
+        }
+        return count;
+    }
+
+    private static boolean isDash(char c) {
+        return c == '-' || c == '–' || c == '—';
+    }
+
+    static String determineSekolah(String jurusan) {
+        if (jurusan == null) return null;
+        int code = Kategori.Jurusan.sekolahCode(Kategori.Jurusan.codeOf(jurusan, 0, jurusan.length()));
+        return code < 0 ? null : SEKOLAH_UMUM[code];
+    }
+
+    // Nilai yang dikenal memakai String kanonik dari Kategori; selain itu disalin.
+    private static void setKelas(Result out, String text, int s, int e) {
+        out.kelasCode = Kategori.Kelas.codeOf(text, s, e);
+        out.kelas = out.kelasCode >= 0 ? KELAS_UMUM[out.kelasCode] : text.substring(s, e);
+    }
+
+    private static void setJurusan(Result out, String text, int s, int e) {
+        out.jurusanCode = Kategori.Jurusan.codeOf(text, s, e);
+        out.jurusan = out.jurusanCode >= 0 ? JURUSAN_UMUM[out.jurusanCode] : text.substring(s, e).toUpperCase();
+    }
+
+    private static void setSekolah(Result out, String text, int s, int e) {
+        out.sekolahCode = Kategori.Sekolah.codeOf(text, s, e);
+        out.sekolah = out.sekolahCode >= 0 ? SEKOLAH_UMUM[out.sekolahCode] : text.substring(s, e);
+    }
+}
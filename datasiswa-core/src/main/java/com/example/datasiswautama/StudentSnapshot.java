@@ -0,0 +1,355 @@
+package com.example.datasiswautama;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+import java.util.zip.CRC32;
+
+// Format snapshot biner untuk backup daftar siswa (pengganti CSV untuk data besar).
+//
+//   header (24 byte): magic "DSS1" | versi u16 | cadangan u16 | jumlah baris i32
+//                     | panjang payload i64 | CRC32 payload i32
+//   payload:          3 kamus (kelas, jurusan, sekolah): jumlah u16, lalu per nilai panjang u16 + UTF-8
+//                     3 kolom kode 1 byte per baris (kelas, jurusan, sekolah), kode = indeks kamus file
+//                     nama per baris: panjang u16 + UTF-8
+//
+// Isinya sama dengan CSV (nama, kelas, jurusan, sekolah, urutan baris tetap), jadi bisa bolak-balik.
+// Ditulis/dibaca lewat FileChannel dengan direct buffer; nama ditulis langsung dari arena
+// StudentStore dan dibaca ke char[] yang dipakai ulang (tanpa String per baris).
+// Menulis ke file sementara lalu rename atomik; membaca memeriksa CRC dulu (pass pertama) sebelum
+// ada baris yang diberikan ke sink, jadi file rusak tidak pernah setengah dimuat.
+public final class StudentSnapshot {
+
+    public static final String EXTENSION = ".dss";
+    static final int MAGIC = 0x44535331; // "DSS1"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final int MAX_FIELD_BYTES = 0xFFFF;
+
+    private static final Metrics.Timer SAVE = Metrics.timer("snapshot.save", "Tulis snapshot .dss");
+
+    // nama hanya valid selama pemanggilan (buffer dipakai ulang); kode sudah kode StudentStore.
+    public interface RowSink {
+        void row(CharSequence nama, int kelasCode, int jurusanCode, int sekolahCode);
+    }
+
+    private StudentSnapshot() {
+    }
+
+    // Cek magic saja (untuk memilih pembaca saat memuat file).
+    public static boolean isSnapshot(Path file) {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer b = ByteBuffer.allocate(4);
+            while (b.hasRemaining() && ch.read(b) >= 0) { }
+            return !b.hasRemaining() && b.getInt(0) == MAGIC;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    // Jumlah baris menurut header (juga memeriksa magic dan versi).
+    public static int rowCount(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readHeader(ch).rows;
+        }
+    }
+
+    public static void write(Path file, StudentStore store, int[] ids) throws IOException {
+        long t = SAVE.start();
+        // kamus file: hanya nilai yang dipakai, kode sesuai urutan kemunculan
+        int[][] fileCode = new int[3][256];
+        int[][] storeCodeOf = new int[3][256];
+        int[] dictSize = new int[3];
+        for (int[] m : fileCode) Arrays.fill(m, -1);
+        byte[][] columns = new byte[3][ids.length];
+        for (int r = 0; r < ids.length; r++) {
+            int id = ids[r];
+            int[] codes = {store.kelasCode(id), store.jurusanCode(id), store.sekolahCode(id)};
+            for (int c = 0; c < 3; c++) {
+                int fc = fileCode[c][codes[c]];
+                if (fc < 0) {
+                    fc = fileCode[c][codes[c]] = dictSize[c]++;
+                    storeCodeOf[c][fc] = codes[c];
+                }
+                columns[c][r] = (byte) fc;
+            }
+        }
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer w = new Writer(ch);
+            for (int c = 0; c < 3; c++) {
+                w.ensure(2);
+                w.buf.putShort((short) dictSize[c]);
+                for (int fc = 0; fc < dictSize[c]; fc++) {
+                    int code = storeCodeOf[c][fc];
+                    w.putUtf8(c == 0 ? store.kelasLabel(code) : c == 1 ? store.jurusanLabel(code) : store.sekolahLabel(code));
+                }
+            }
+            for (byte[] col : columns) w.putBytes(col);
+            for (int id : ids) w.putNama(store, id);
+            w.flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putShort((short) VERSION).putShort((short) 0)
+                    .putInt(ids.length).putLong(w.payloadBytes).putInt((int) w.crc.getValue()).flip();
+            while (header.hasRemaining()) ch.write(header, header.position());
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        SAVE.stop(t);
+    }
+
+    // Return = jumlah baris yang diberikan ke sink (kurang dari header kalau dibatalkan).
+    public static int read(Path file, StudentStore store, RowSink sink, BooleanSupplier cancelled) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header h = readHeader(ch);
+            verify(ch, h);
+            ch.position(HEADER_BYTES);
+            Reader r = new Reader(ch);
+
+            int[][] storeCode = new int[3][];
+            for (int c = 0; c < 3; c++) {
+                int n = r.getU16();
+                storeCode[c] = new int[n];
+                for (int fc = 0; fc < n; fc++) {
+                    String label = r.getUtf8().toString();
+                    storeCode[c][fc] = c == 0 ? store.encodeKelas(label) : c == 1 ? store.encodeJurusan(label) : store.encodeSekolah(label);
+                }
+            }
+            byte[][] columns = new byte[3][h.rows];
+            for (byte[] col : columns) r.getBytes(col);
+            int rows = 0;
+            for (; rows < h.rows; rows++) {
+                if ((rows & 0xFFF) == 0 && cancelled.getAsBoolean()) break;
+                CharSequence nama = r.getUtf8();
+                sink.row(nama,
+                        code(storeCode[0], columns[0][rows]),
+                        code(storeCode[1], columns[1][rows]),
+                        code(storeCode[2], columns[2][rows]));
+            }
+            return rows;
+        }
+    }
+
+    private static int code(int[] storeCode, byte fileCode) throws IOException {
+        int fc = fileCode & 0xFF;
+        if (fc >= storeCode.length) throw new IOException("Snapshot rusak: kode di luar kamus");
+        return storeCode[fc];
+    }
+
+    private static final class Header {
+        final int rows;
+        final long payloadBytes;
+        final int crc;
+
+        Header(int rows, long payloadBytes, int crc) {
+            this.rows = rows;
+            this.payloadBytes = payloadBytes;
+            this.crc = crc;
+        }
+    }
+
+    private static Header readHeader(FileChannel ch) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(HEADER_BYTES);
+        while (b.hasRemaining()) {
+            if (ch.read(b, b.position()) < 0) throw new IOException("Bukan snapshot data siswa (terlalu pendek)");
+        }
+        b.flip();
+        if (b.getInt() != MAGIC) throw new IOException("Bukan snapshot data siswa");
+        int version = b.getShort() & 0xFFFF;
+        if (version != VERSION) throw new IOException("Versi snapshot tidak didukung: " + version);
+        b.getShort();
+        int rows = b.getInt();
+        long payload = b.getLong();
+        int crc = b.getInt();
+        if (rows < 0 || payload < 0 || rows > payload / 5) throw new IOException("Header snapshot rusak");
+        return new Header(rows, payload, crc);
+    }
+
+    private static void verify(FileChannel ch, Header h) throws IOException {
+        if (ch.size() != HEADER_BYTES + h.payloadBytes) {
+            throw new IOException("Snapshot terpotong atau rusak (ukuran tidak cocok)");
+        }
+        CRC32 crc = new CRC32();
+        ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        ch.position(HEADER_BYTES);
+        while (ch.read(buf) >= 0) {
+            buf.flip();
+            crc.update(buf);
+            buf.clear();
+        }
+        if ((int) crc.getValue() != h.crc) throw new IOException("Checksum snapshot tidak cocok (file rusak)");
+    }
+
+    private static final class Writer {
+        final FileChannel ch;
+        final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        final CRC32 crc = new CRC32();
+        long payloadBytes;
+
+        Writer(FileChannel ch) throws IOException {
+            this.ch = ch;
+            ch.position(HEADER_BYTES); // header ditulis terakhir
+        }
+
+        void ensure(int n) throws IOException {
+            if (buf.remaining() < n) flush();
+        }
+
+        void flush() throws IOException {
+            buf.flip();
+            payloadBytes += buf.remaining();
+            crc.update(buf);
+            buf.rewind();
+            while (buf.hasRemaining()) ch.write(buf);
+            buf.clear();
+        }
+
+        void putBytes(byte[] b) throws IOException {
+            for (int off = 0; off < b.length; ) {
+                ensure(1);
+                int n = Math.min(buf.remaining(), b.length - off);
+                buf.put(b, off, n);
+                off += n;
+            }
+        }
+
+        void putUtf8(CharSequence s) throws IOException {
+            int len = s.length();
+            ensure(2 + 3 * len);
+            int start = buf.position();
+            buf.position(start + 2);
+            for (int i = 0; i < len; i++) putChar(s.charAt(i), i + 1 < len ? s.charAt(i + 1) : 0);
+            finish(start);
+        }
+
+        // Nama langsung dari arena StudentStore.
+        void putNama(StudentStore store, int id) throws IOException {
+            int len = store.namaLength(id);
+            ensure(2 + 3 * len);
+            int start = buf.position();
+            buf.position(start + 2);
+            for (int i = 0; i < len; i++) {
+                char c = store.namaCharAt(id, i);
+                if (c < 0x80) buf.put((byte) c);
+                else if (putChar(c, i + 1 < len ? store.namaCharAt(id, i + 1) : 0)) i++;
+            }
+            finish(start);
+        }
+
+        // true kalau next ikut terpakai (pasangan surrogate).
+        private boolean putChar(char c, char next) {
+            if (c < 0x80) {
+                buf.put((byte) c);
+            } else if (c < 0x800) {
+                buf.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && Character.isLowSurrogate(next)) {
+                int cp = Character.toCodePoint(c, next);
+                buf.put((byte) (0xF0 | cp >> 18)).put((byte) (0x80 | cp >> 12 & 0x3F))
+                        .put((byte) (0x80 | cp >> 6 & 0x3F)).put((byte) (0x80 | cp & 0x3F));
+                return true;
+            } else {
+                if (Character.isSurrogate(c)) c = '?'; // surrogate tanpa pasangan
+                buf.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+            return false;
+        }
+
+        private void finish(int start) throws IOException {
+            int bytes = buf.position() - start - 2;
+            if (bytes > MAX_FIELD_BYTES) throw new IOException("Nilai terlalu panjang untuk snapshot (" + bytes + " byte)");
+            buf.putShort(start, (short) bytes);
+        }
+    }
+
+    private static final class Reader {
+        final FileChannel ch;
+        final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        final Chars chars = new Chars();
+        byte[] scratch = new byte[256];
+
+        Reader(FileChannel ch) {
+            this.ch = ch;
+            buf.flip(); // kosong
+        }
+
+        void ensure(int n) throws IOException {
+            if (buf.remaining() >= n) return;
+            buf.compact();
+            while (buf.position() < n) {
+                if (ch.read(buf) < 0) throw new EOFException("Snapshot terpotong");
+            }
+            buf.flip();
+        }
+
+        int getU16() throws IOException {
+            ensure(2);
+            return buf.getShort() & 0xFFFF;
+        }
+
+        void getBytes(byte[] out) throws IOException {
+            for (int off = 0; off < out.length; ) {
+                ensure(1);
+                int n = Math.min(buf.remaining(), out.length - off);
+                buf.get(out, off, n);
+                off += n;
+            }
+        }
+
+        CharSequence getUtf8() throws IOException {
+            int n = getU16();
+            ensure(n);
+            if (scratch.length < n) scratch = new byte[Math.max(n, scratch.length * 2)];
+            buf.get(scratch, 0, n);
+            chars.decode(scratch, n);
+            return chars;
+        }
+    }
+
+    // CharSequence di atas char[] yang dipakai ulang.
+    private static final class Chars implements CharSequence {
+        char[] c = new char[256];
+        int len;
+
+        void decode(byte[] b, int n) {
+            if (c.length < n) c = new char[Math.max(n, c.length * 2)];
+            int out = 0;
+            for (int i = 0; i < n; ) {
+                int x = b[i] & 0xFF;
+                if (x < 0x80) {
+                    c[out++] = (char) x;
+                    i++;
+                } else if (x < 0xE0 && i + 1 < n) {
+                    c[out++] = (char) ((x & 0x1F) << 6 | b[i + 1] & 0x3F);
+                    i += 2;
+                } else if (x < 0xF0 && i + 2 < n) {
+                    c[out++] = (char) ((x & 0x0F) << 12 | (b[i + 1] & 0x3F) << 6 | b[i + 2] & 0x3F);
+                    i += 3;
+                } else if (i + 3 < n) {
+                    int cp = (x & 0x07) << 18 | (b[i + 1] & 0x3F) << 12 | (b[i + 2] & 0x3F) << 6 | b[i + 3] & 0x3F;
+                    c[out++] = Character.highSurrogate(cp);
+                    c[out++] = Character.lowSurrogate(cp);
+                    i += 4;
+                } else {
+                    c[out++] = '\uFFFD';
+                    break;
+                }
+            }
+            len = out;
+        }
+
+        @Override public int length() { return len; }
+        @Override public char charAt(int index) { return c[index]; }
+        @Override public CharSequence subSequence(int start, int end) { return new String(c, start, end - start); }
+        @Override public String toString() { return new String(c, 0, len); }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.datasiswautama;
+
+import java.util.Arrays;
+
+// Penghitung jumlah siswa per sekolah, per (sekolah, jurusan) dan per (sekolah, jurusan, kelas),
+// berdasarkan kode kamus StudentStore. Diperbarui O(1) setiap siswa masuk/keluar, jadi label
+// jumlah dan label grup pohon cukup membaca angka, tanpa memindai data.
+// Edit nama tidak mengubah angka apa pun (pengelompokan tidak bergantung pada nama).
+//
+// Tidak thread-safe; pemiliknya yang menentukan thread (SmartDataParser: FX thread,
+// StudentTreeIndex: thread yang membangun/mengubah pohon).
+public final class StudentStats {
+
+    private int total;
+    private final int[] perSekolah = new int[256];
+    private final int[][] perJurusan = new int[256][];   // [sekolah][jurusan], dibuat saat dipakai
+    private final int[][][] perKelas = new int[256][][]; // [sekolah][jurusan][kelas]
+
+    public void add(StudentStore store, int id) {
+        change(store.sekolahCode(id), store.jurusanCode(id), store.kelasCode(id), 1);
+    }
+
+    // Kode siswa harus masih sama dengan saat add (StudentStore.remove tidak mengubah kode).
+    public void remove(StudentStore store, int id) {
+        change(store.sekolahCode(id), store.jurusanCode(id), store.kelasCode(id), -1);
+    }
+
+    public void clear() {
+        total = 0;
+        Arrays.fill(perSekolah, 0);
+        Arrays.fill(perJurusan, null);
+        Arrays.fill(perKelas, null);
+    }
+
+    public int total() {
+        return total;
+    }
+
+    public int sekolah(int sekolah) {
+        return perSekolah[sekolah];
+    }
+
+    public int jurusan(int sekolah, int jurusan) {
+        int[] j = perJurusan[sekolah];
+        return j == null ? 0 : j[jurusan];
+    }
+
+    public int kelas(int sekolah, int jurusan, int kelas) {
+        int[][] j = perKelas[sekolah];
+        int[] k = j == null ? null : j[jurusan];
+        return k == null ? 0 : k[kelas];
+    }
+
+    private void change(int sekolah, int jurusan, int kelas, int delta) {
+        total += delta;
+        perSekolah[sekolah] += delta;
+        int[] j = perJurusan[sekolah];
+        if (j == null) j = perJurusan[sekolah] = new int[256];
+        j[jurusan] += delta;
+        int[][] sj = perKelas[sekolah];
+        if (sj == null) sj = perKelas[sekolah] = new int[256][];
+        int[] k = sj[jurusan];
+        if (k == null) k = sj[jurusan] = new int[256];
+        k[kelas] += delta;
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.datasiswautama;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Penyimpanan siswa berbentuk kolom. Per baris hanya ada:
+//   - kode 1 byte untuk kelas, jurusan dan sekolah (kamus per kolom, maks. 256 nilai;
+//     kode awal = kode Kategori, nilai lain mendapat kode berikutnya; kalau kamus sudah penuh,
+//     encode*() dan add() mengembalikan NO_CODE dan pemanggil menolak baris itu saja),
+//   - posisi + panjang nama di satu arena byte bersama (Latin-1 = 1 byte/char; nama dengan
+//     karakter di luar Latin-1 disimpan 2 byte/char dan ditandai FLAG_WIDE),
+//   - 1 byte flag (terhapus, dst).
+// Baris diidentifikasi dengan id int yang stabil (tidak bergeser saat ada yang dihapus).
+//
+// Tidak thread-safe untuk banyak penulis. Pola yang dipakai: satu penulis pada satu waktu
+// (FX thread, atau worker import selama tombol lain dinonaktifkan), dan id baru diserahkan
+// ke thread pembaca lewat antrean konkuren sehingga isi barisnya sudah terlihat.
+public final class StudentStore {
+
+    static final byte FLAG_DELETED = 1;
+    static final byte FLAG_WIDE = 2;
+    static final byte FLAG_NEAR_DUPLICATE = 4; // ditandai NearDuplicateDetector
+    static final byte FLAG_DIRTY = 8;          // baru/diubah, belum tersimpan ke database
+
+    public static final int NO_CODE = -1; // kamus kolom penuh (256 nilai berbeda)
+
+    private static final int INITIAL = 1024;
+
+    private final Dictionary kelasDict = new Dictionary(StudentLineParser.KELAS_UMUM);
+    private final Dictionary jurusanDict = new Dictionary(StudentLineParser.JURUSAN_UMUM);
+    private final Dictionary sekolahDict = new Dictionary(StudentLineParser.SEKOLAH_UMUM);
+
+    private byte[] kelas = new byte[INITIAL];
+    private byte[] jurusan = new byte[INITIAL];
+    private byte[] sekolah = new byte[INITIAL];
+    private byte[] flags = new byte[INITIAL];
+    private int[] nameStart = new int[INITIAL];
+    private int[] nameLen = new int[INITIAL];
+
+    private byte[] arena = new byte[INITIAL * 16];
+    private int arenaLen;
+    private int garbage; // byte di arena milik nama lama/baris terhapus
+
+    private int size;
+    private int live;
+
+    // NO_CODE (tanpa baris baru) kalau salah satu nilai tidak muat lagi di kamusnya.
+    public int add(CharSequence nama, String kelas, String jurusan, String sekolah) {
+        int k = kelasDict.code(kelas), j = jurusanDict.code(jurusan), s = sekolahDict.code(sekolah);
+        if (k < 0 || j < 0 || s < 0) return NO_CODE;
+        int id = newRow((byte) k, (byte) j, (byte) s);
+        writeName(id, nama);
+        return id;
+    }
+
+    // Kode dari encode*() atau Kategori (kode Kategori selalu sama dengan kode store), bukan NO_CODE.
+    public int add(CharSequence nama, int kelasCode, int jurusanCode, int sekolahCode) {
+        if (kelasCode < 0 || jurusanCode < 0 || sekolahCode < 0) throw new IllegalArgumentException("Kode kolom tidak valid");
+        int id = newRow((byte) kelasCode, (byte) jurusanCode, (byte) sekolahCode);
+        writeName(id, nama);
+        return id;
+    }
+
+    // Untuk pembaca file: nama langsung disalin dari buffer char tanpa String perantara.
+    public int add(char[] src, int off, int len, String kelas, String jurusan, String sekolah) {
+        int k = kelasDict.code(kelas), j = jurusanDict.code(jurusan), s = sekolahDict.code(sekolah);
+        if (k < 0 || j < 0 || s < 0) return NO_CODE;
+        int id = newRow((byte) k, (byte) j, (byte) s);
+        boolean wide = false;
+        for (int i = 0; i < len && !wide; i++) wide = src[off + i] > 0xFF;
+        int p = reserveName(id, len, wide);
+        if (wide) {
+            for (int i = 0; i < len; i++, p += 2) putWide(p, src[off + i]);
+        } else {
+            for (int i = 0; i < len; i++) arena[p + i] = (byte) src[off + i];
+        }
+        return id;
+    }
+
+    public void setNama(int id, CharSequence nama) {
+        garbage += nameBytes(id);
+        writeName(id, nama);
+        flags[id] |= FLAG_DIRTY;
+        if (garbage > arenaLen / 2 && arenaLen > INITIAL * 16) compact();
+    }
+
+    public void remove(int id) {
+        if ((flags[id] & FLAG_DELETED) != 0) return;
+        flags[id] |= FLAG_DELETED;
+        garbage += nameBytes(id);
+        live--;
+    }
+
+    // Kamus tidak ikut dikosongkan: kode yang sudah dibagikan tetap berarti sama.
+    public void clear() {
+        size = live = arenaLen = garbage = 0;
+        Arrays.fill(flags, (byte) 0);
+    }
+
+    public int size() { return size; }       // jumlah id yang pernah dibuat (termasuk terhapus)
+    public int liveCount() { return live; }
+
+    public boolean isDeleted(int id) { return (flags[id] & FLAG_DELETED) != 0; }
+    public boolean isNearDuplicate(int id) { return (flags[id] & FLAG_NEAR_DUPLICATE) != 0; }
+    public boolean isDirty(int id) { return (flags[id] & FLAG_DIRTY) != 0; }
+    public void clearDirty(int id) { flags[id] &= ~FLAG_DIRTY; }
+
+    public void setNearDuplicate(int id, boolean on) {
+        if (on) flags[id] |= FLAG_NEAR_DUPLICATE;
+        else flags[id] &= ~FLAG_NEAR_DUPLICATE;
+    }
+
+    public String nama(int id) {
+        if ((flags[id] & FLAG_WIDE) == 0) {
+            return new String(arena, nameStart[id], nameLen[id], StandardCharsets.ISO_8859_1);
+        }
+        char[] out = new char[nameLen[id]];
+        for (int i = 0; i < out.length; i++) out[i] = namaCharAt(id, i);
+        return new String(out);
+    }
+
+    public int namaLength(int id) { return nameLen[id]; }
+
+    public char namaCharAt(int id, int i) {
+        if ((flags[id] & FLAG_WIDE) == 0) return (char) (arena[nameStart[id] + i] & 0xFF);
+        int p = nameStart[id] + 2 * i;
+        return (char) (((arena[p] & 0xFF) << 8) | (arena[p + 1] & 0xFF));
+    }
+
+    public String kelas(int id) { return kelasDict.label(kelas[id]); }
+    public String jurusan(int id) { return jurusanDict.label(jurusan[id]); }
+    public String sekolah(int id) { return sekolahDict.label(sekolah[id]); }
+
+    public int kelasCode(int id) { return kelas[id] & 0xFF; }
+    public int jurusanCode(int id) { return jurusan[id] & 0xFF; }
+    public int sekolahCode(int id) { return sekolah[id] & 0xFF; }
+
+    // Nilai -> kode (nilai baru didaftarkan ke kamus); NO_CODE kalau kamus sudah penuh.
+    public int encodeKelas(String value) { return kelasDict.code(value); }
+    public int encodeJurusan(String value) { return jurusanDict.code(value); }
+    public int encodeSekolah(String value) { return sekolahDict.code(value); }
+
+    // Kode -> label, O(1).
+    public String kelasLabel(int code) { return kelasDict.label((byte) code); }
+    public String jurusanLabel(int code) { return jurusanDict.label((byte) code); }
+    public String sekolahLabel(int code) { return sekolahDict.label((byte) code); }
+
+    // Setara String.CASE_INSENSITIVE_ORDER, tanpa membuat String.
+    public int compareNama(int a, int b) {
+        int la = nameLen[a], lb = nameLen[b];
+        for (int i = 0, n = Math.min(la, lb); i < n; i++) {
+            char c1 = namaCharAt(a, i), c2 = namaCharAt(b, i);
+            if (c1 != c2) {
+                c1 = Character.toUpperCase(c1);
+                c2 = Character.toUpperCase(c2);
+                if (c1 != c2) {
+                    c1 = Character.toLowerCase(c1);
+                    c2 = Character.toLowerCase(c2);
+                    if (c1 != c2) return c1 - c2;
+                }
+            }
+        }
+        return la - lb;
+    }
+
+    // Setara String.equalsIgnoreCase (lihat foldCase).
+    public boolean namaEqualsIgnoreCase(int id, CharSequence other) {
+        int len = nameLen[id];
+        if (other.length() != len) return false;
+        for (int i = 0; i < len; i++) {
+            char c1 = namaCharAt(id, i), c2 = other.charAt(i);
+            if (c1 != c2 && foldCase(c1) != foldCase(c2)) return false;
+        }
+        return true;
+    }
+
+    // Bentuk kanonik satu karakter untuk perbandingan tanpa huruf besar/kecil: dua karakter
+    // sama menurut String.equalsIgnoreCase tepat jika foldCase-nya sama. ASCII tanpa lookup tabel.
+    static char foldCase(char c) {
+        if (c < 0x80) return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    // foldCase per karakter: kunci String untuk map yang harus mengikuti aturan duplikat yang sama.
+    static String foldCase(String s) {
+        char[] c = new char[s.length()];
+        for (int i = 0; i < c.length; i++) c[i] = foldCase(s.charAt(i));
+        return new String(c);
+    }
+
+    // Perkiraan ukuran heap yang dipakai store (array kolom + arena).
+    public long estimatedBytes() {
+        long perRow = 4L * kelas.length + 8L * nameStart.length;
+        return perRow + arena.length;
+    }
+
+    private int newRow(byte k, byte j, byte s) {
+        if (size == kelas.length) grow();
+        int id = size;
+        kelas[id] = k;
+        jurusan[id] = j;
+        sekolah[id] = s;
+        flags[id] = FLAG_DIRTY;
+        size++;
+        live++;
+        return id;
+    }
+
+    private void writeName(int id, CharSequence nama) {
+        int len = nama.length();
+        boolean wide = false;
+        for (int i = 0; i < len && !wide; i++) wide = nama.charAt(i) > 0xFF;
+        int p = reserveName(id, len, wide);
+        if (wide) {
+            for (int i = 0; i < len; i++, p += 2) putWide(p, nama.charAt(i));
+        } else {
+            for (int i = 0; i < len; i++) arena[p + i] = (byte) nama.charAt(i);
+        }
+    }
+
+    private int reserveName(int id, int len, boolean wide) {
+        int bytes = wide ? 2 * len : len;
+        ensureArena(bytes);
+        if (wide) flags[id] |= FLAG_WIDE;
+        else flags[id] &= ~FLAG_WIDE;
+        int p = arenaLen;
+        nameStart[id] = p;
+        nameLen[id] = len;
+        arenaLen += bytes;
+        return p;
+    }
+
+    private void putWide(int p, char c) {
+        arena[p] = (byte) (c >>> 8);
+        arena[p + 1] = (byte) c;
+    }
+
+    private int nameBytes(int id) {
+        return (flags[id] & FLAG_WIDE) != 0 ? 2 * nameLen[id] : nameLen[id];
+    }
+
+    private void ensureArena(int extra) {
+        if (arenaLen + extra > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length + (arena.length >> 1), arenaLen + extra));
+        }
+    }
+
+    private void grow() {
+        int n = size + (size >> 1) + 1;
+        kelas = Arrays.copyOf(kelas, n);
+        jurusan = Arrays.copyOf(jurusan, n);
+        sekolah = Arrays.copyOf(sekolah, n);
+        flags = Arrays.copyOf(flags, n);
+        nameStart = Arrays.copyOf(nameStart, n);
+        nameLen = Arrays.copyOf(nameLen, n);
+    }
+
+    // Salin nama yang masih hidup ke arena baru; id tidak berubah.
+    private void compact() {
+        byte[] fresh = new byte[Math.max(INITIAL * 16, arenaLen - garbage + (arenaLen >> 3))];
+        int pos = 0;
+        for (int id = 0; id < size; id++) {
+            if (isDeleted(id)) {
+                nameLen[id] = 0;
+                continue;
+            }
+            int bytes = nameBytes(id);
+            System.arraycopy(arena, nameStart[id], fresh, pos, bytes);
+            nameStart[id] = pos;
+            pos += bytes;
+        }
+        arena = fresh;
+        arenaLen = pos;
+        garbage = 0;
+    }
+
+    // Kamus nilai kolom kategorikal -> kode 0..255 (dipakai ulang selama store hidup).
+    static final class Dictionary {
+        private final String[] labels = new String[256];
+        private final Map<String, Integer> codes = new HashMap<>();
+        private int count;
+
+        Dictionary(String[] seed) {
+            for (String v : seed) code(v);
+        }
+
+        int code(String value) {
+            if (value == null) value = "";
+            // String kanonik dari parser/CSV reader: cukup dibandingkan identitasnya
+            for (int i = 0, n = Math.min(count, 8); i < n; i++) {
+                if (labels[i] == value) return i;
+            }
+            Integer c = codes.get(value);
+            if (c != null) return c;
+            if (count == labels.length) return NO_CODE;
+            int code = count;
+            labels[count++] = value;
+            codes.put(value, code);
+            return code;
+        }
+
+        String label(byte code) {
+            return labels[code & 0xFF];
+        }
+    }
+}
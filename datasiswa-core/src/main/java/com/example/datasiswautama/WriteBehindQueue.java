@@ -0,0 +1,396 @@
+package com.example.datasiswautama;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Buffer write-behind untuk perubahan interaktif (tambah manual, edit nama, hapus).
+// FX thread hanya mencatat perubahan ke map + journal lokal lalu langsung kembali; thread latar
+// mengirimnya ke database lewat SiswaRepository setiap flushInterval, atau lebih cepat kalau
+// jumlah perubahan yang antre mencapai maxPending.
+//
+// Perubahan untuk nama yang sama (StudentStore.foldCase, sama dengan aturan duplikat aplikasi dan
+// kunci unik tabel) digabung: hanya operasi terakhir yang dikirim. Urutan antre mengikuti perubahan
+// pertama, jadi entri pertama map selalu yang paling lama menunggu (dipakai untuk metrik lag).
+//
+// Journal: satu baris teks per operasi, di-flush ke OS setiap append (aman kalau proses crash) dan
+// di-force ke disk setiap siklus flush. Saat flush, journal dirotasi ke *.flushing; file itu dihapus
+// setelah commit. Saat start, *.flushing lalu journal diputar ulang ke antrean. upsert/delete
+// mengembalikan false kalau append ke journal gagal: perubahan itu belum aman dari crash, jadi
+// pemanggil tetap menandainya belum tersimpan (FLAG_DIRTY / "Simpan ke DB").
+//
+// Satu journal hanya dipakai satu antrean: *.lock dikunci (FileChannel.tryLock) selama antrean
+// hidup. Jendela/proses kedua mendapat IOException dan berjalan tanpa write-behind, bukan memutar
+// ulang dan merotasi journal milik antrean yang masih aktif.
+public final class WriteBehindQueue implements AutoCloseable {
+
+    private static final long MAX_BACKOFF_MILLIS = 60_000;
+
+    private final SiswaRepository repository;
+    private final Path journalPath;
+    private final Path flushingPath;
+    private final FileChannel lockChannel;
+    private final long flushIntervalMillis;
+    private final int maxPending;
+
+    private final Map<String, Op> pending = new LinkedHashMap<>(); // dijaga oleh lock
+    private final Object lock = new Object();
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private FileChannel journalChannel;
+    private Writer journal;
+    private long backoffMillis;
+    private boolean closed;
+
+    // metrik (ditulis di bawah lock)
+    private long enqueued;
+    private long coalesced;
+    private long flushedRows;
+    private long flushCount;
+    private long failures;
+    private long lastFlushMillis;
+    private long lastFlushAt;
+    private String lastError;
+
+    public WriteBehindQueue(SiswaRepository repository, Path journalPath, long flushIntervalMillis, int maxPending)
+            throws IOException {
+        this.repository = repository;
+        this.journalPath = journalPath;
+        this.flushingPath = journalPath.resolveSibling(journalPath.getFileName() + ".flushing");
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxPending = maxPending;
+        Path dir = journalPath.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path lockPath = journalPath.resolveSibling(journalPath.getFileName() + ".lock");
+        this.lockChannel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock fl;
+        try {
+            fl = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fl = null; // dikunci antrean lain di JVM yang sama
+        }
+        if (fl == null) {
+            lockChannel.close();
+            throw new IOException("Journal " + journalPath + " sedang dipakai jendela/proses lain");
+        }
+        try {
+            replay(flushingPath);
+            replay(journalPath);
+            openJournal();
+            // isi journal lama sudah ada di antrean: tulis ulang dalam bentuk yang sudah digabung
+            synchronized (lock) {
+                rotateJournal();
+                for (Op op : pending.values()) append(op);
+                journal.flush();
+            }
+            Files.deleteIfExists(flushingPath);
+        } catch (IOException | RuntimeException e) {
+            if (journal != null) journal.close();
+            lockChannel.close(); // melepas kunci
+            throw e;
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "datasiswa-write-behind");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.schedule(this::flushCycle, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Journal di ~/.datasiswa (bisa diganti -Ddatasiswa.writeBehind.journal); interval 2 detik
+    // dan ambang 500 perubahan bisa diatur lewat datasiswa.writeBehind.intervalMs / .maxPending.
+    public static WriteBehindQueue createDefault(SiswaRepository repository) throws IOException {
+        Path journal = Path.of(System.getProperty("datasiswa.writeBehind.journal",
+                Path.of(System.getProperty("user.home"), ".datasiswa", "write-behind.journal").toString()));
+        return new WriteBehindQueue(repository, journal,
+                Long.getLong("datasiswa.writeBehind.intervalMs", 2000L),
+                Integer.getInteger("datasiswa.writeBehind.maxPending", 500));
+    }
+
+    // true = tercatat di journal (tetap terkirim walaupun aplikasi crash sebelum flush).
+    public boolean upsert(String nama, String kelas, String jurusan, String sekolah) {
+        return enqueue(new Op(false, nama, kelas, jurusan, sekolah));
+    }
+
+    public boolean delete(String nama) {
+        return enqueue(new Op(true, nama, null, null, null));
+    }
+
+    public Stats stats() {
+        synchronized (lock) {
+            long lag = pending.isEmpty() ? 0 : System.currentTimeMillis() - pending.values().iterator().next().since;
+            return new Stats(pending.size(), lag, enqueued, coalesced, flushedRows, flushCount, failures,
+                    lastFlushMillis, lastFlushAt, lastError);
+        }
+    }
+
+    // Coba kirim sisa antrean sekali lagi (kecuali database sedang gagal); yang belum terkirim
+    // tetap ada di journal untuk start berikutnya.
+    @Override
+    public void close() {
+        boolean tryFlush;
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+            tryFlush = backoffMillis == 0;
+        }
+        flusher.shutdownNow();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (tryFlush) flushNow();
+        synchronized (lock) {
+            try {
+                journal.close();
+            } catch (IOException ignored) {
+                // journal sudah di-flush per append
+            }
+            try {
+                lockChannel.close(); // melepas kunci
+            } catch (IOException ignored) {
+                // kunci tetap lepas saat proses berhenti
+            }
+        }
+    }
+
+    // Antrean tetap menerima op walaupun journal gagal (database tetap dicoba), tapi hasilnya false.
+    private boolean enqueue(Op op) {
+        boolean flushEarly;
+        boolean journaled;
+        synchronized (lock) {
+            if (closed) throw new IllegalStateException("WriteBehindQueue sudah ditutup");
+            Op previous = pending.get(op.key);
+            if (previous != null) {
+                op.since = previous.since;
+                coalesced++;
+            }
+            pending.put(op.key, op);
+            enqueued++;
+            try {
+                append(op);
+                journal.flush();
+                journaled = true;
+            } catch (IOException e) {
+                lastError = "Journal: " + e.getMessage();
+                journaled = false;
+            }
+            // selama backoff tidak dipercepat: database yang sedang mati tidak perlu dibombardir
+            flushEarly = pending.size() >= maxPending && backoffMillis == 0;
+        }
+        if (flushEarly && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(() -> {
+                    flushRequested.set(false);
+                    flushNow();
+                });
+            } catch (RejectedExecutionException e) {
+                // sedang ditutup; close() yang mengirim sisanya
+            }
+        }
+        return journaled;
+    }
+
+    // Siklus berkala; menjadwalkan dirinya sendiri (interval normal, atau backoff setelah gagal).
+    private void flushCycle() {
+        flushNow();
+        long delay;
+        synchronized (lock) {
+            if (closed) return;
+            delay = backoffMillis == 0 ? flushIntervalMillis : backoffMillis;
+        }
+        try {
+            flusher.schedule(this::flushCycle, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // sedang ditutup
+        }
+    }
+
+    // Hanya dipanggil dari thread flusher (atau close setelah flusher berhenti).
+    private boolean flushNow() {
+        List<Op> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) return true;
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+            try {
+                journal.flush();
+                journalChannel.force(false);
+                rotateJournal();
+            } catch (IOException e) {
+                lastError = "Journal: " + e.getMessage();
+            }
+        }
+        List<String> deletes = new ArrayList<>();
+        List<String[]> upserts = new ArrayList<>();
+        for (Op op : batch) {
+            if (op.delete) deletes.add(op.nama);
+            else upserts.add(new String[]{op.nama, op.kelas, op.jurusan, op.sekolah});
+        }
+        long t0 = System.nanoTime();
+        try {
+            repository.flush(deletes, SiswaRepository.rows(upserts), null, null);
+            Files.deleteIfExists(flushingPath);
+            synchronized (lock) {
+                flushCount++;
+                flushedRows += batch.size();
+                lastFlushMillis = (System.nanoTime() - t0) / 1_000_000;
+                lastFlushAt = System.currentTimeMillis();
+                lastError = null;
+                backoffMillis = 0;
+            }
+            return true;
+        } catch (Exception e) {
+            synchronized (lock) {
+                failures++;
+                lastError = e.getMessage();
+                backoffMillis = Math.min(MAX_BACKOFF_MILLIS, Math.max(flushIntervalMillis, backoffMillis * 2));
+                // kembalikan ke antrean kecuali sudah ada perubahan yang lebih baru untuk nama itu;
+                // *.flushing baru dihapus setelah semuanya tercatat lagi di journal aktif
+                try {
+                    for (Op op : batch) {
+                        if (pending.putIfAbsent(op.key, op) == null) append(op);
+                    }
+                    journal.flush();
+                    Files.deleteIfExists(flushingPath);
+                } catch (IOException io) {
+                    lastError = "Journal: " + io.getMessage();
+                }
+            }
+            return false;
+        }
+    }
+
+    // Dipanggil di bawah lock: journal aktif menjadi *.flushing, lalu mulai journal kosong.
+    // Kalau move gagal, journal lama dibuka lagi (append berikutnya tetap tercatat).
+    private void rotateJournal() throws IOException {
+        journal.close();
+        try {
+            Files.move(journalPath, flushingPath, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            openJournal();
+        }
+    }
+
+    private void openJournal() throws IOException {
+        journalChannel = FileChannel.open(journalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        journal = Channels.newWriter(journalChannel, StandardCharsets.UTF_8);
+    }
+
+    private void append(Op op) throws IOException {
+        if (op.delete) {
+            journal.write("D\t" + escape(op.nama) + "\n");
+        } else {
+            journal.write("U\t" + escape(op.nama) + "\t" + escape(op.kelas) + "\t"
+                    + escape(op.jurusan) + "\t" + escape(op.sekolah) + "\n");
+        }
+    }
+
+    private void replay(Path file) throws IOException {
+        if (!Files.exists(file)) return;
+        try (BufferedReader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                String[] f = line.split("\t", -1);
+                Op op;
+                if (f.length == 2 && f[0].equals("D")) op = new Op(true, unescape(f[1]), null, null, null);
+                else if (f.length == 5 && f[0].equals("U")) {
+                    op = new Op(false, unescape(f[1]), unescape(f[2]), unescape(f[3]), unescape(f[4]));
+                } else continue; // baris terakhir yang terpotong saat crash
+                pending.put(op.key, op);
+            }
+        }
+    }
+
+    private static String escape(String s) {
+        if (s == null) return "";
+        if (s.indexOf('\\') < 0 && s.indexOf('\t') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) return s;
+        return s.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String s) {
+        if (s.indexOf('\\') < 0) return s;
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' && i + 1 < s.length()) {
+                char n = s.charAt(++i);
+                sb.append(n == 't' ? '\t' : n == 'n' ? '\n' : n == 'r' ? '\r' : n);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static final class Op {
+        final boolean delete;
+        final String key;
+        final String nama, kelas, jurusan, sekolah;
+        long since = System.currentTimeMillis();
+
+        Op(boolean delete, String nama, String kelas, String jurusan, String sekolah) {
+            this.delete = delete;
+            this.key = StudentStore.foldCase(nama);
+            this.nama = nama;
+            this.kelas = kelas;
+            this.jurusan = jurusan;
+            this.sekolah = sekolah;
+        }
+    }
+
+    public static final class Stats {
+        public final int pending;
+        public final long lagMillis;        // umur perubahan tertua yang belum tersimpan
+        public final long enqueued;
+        public final long coalesced;
+        public final long flushedRows;
+        public final long flushCount;
+        public final long failures;
+        public final long lastFlushMillis;
+        public final long lastFlushAt;
+        public final String lastError;
+
+        Stats(int pending, long lagMillis, long enqueued, long coalesced, long flushedRows, long flushCount,
+              long failures, long lastFlushMillis, long lastFlushAt, String lastError) {
+            this.pending = pending;
+            this.lagMillis = lagMillis;
+            this.enqueued = enqueued;
+            this.coalesced = coalesced;
+            this.flushedRows = flushedRows;
+            this.flushCount = flushCount;
+            this.failures = failures;
+            this.lastFlushMillis = lastFlushMillis;
+            this.lastFlushAt = lastFlushAt;
+            this.lastError = lastError;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("antre=%d lag=%d ms masuk=%d digabung=%d terkirim=%d flush=%d gagal=%d "
+                            + "flush terakhir=%d ms%s",
+                    pending, lagMillis, enqueued, coalesced, flushedRows, flushCount, failures, lastFlushMillis,
+                    lastError == null ? "" : " error=" + lastError);
+        }
+    }
+}
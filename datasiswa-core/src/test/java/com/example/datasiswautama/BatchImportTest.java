@@ -0,0 +1,75 @@
+package com.example.datasiswautama;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchImportTest {
+
+    @TempDir
+    Path dir;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    private int run(String... args) {
+        return BatchImport.run(args, new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void dryRunPrintsGroups() throws IOException {
+        Path csv = dir.resolve("siswa.csv");
+        Files.writeString(csv, "Rina,11,PPLG,SMK Airlangga\nrina,12,PPLG,SMK Airlangga\nBudi,10,AKC,SMK Kesehatan Airlangga\n");
+        assertEquals(BatchImport.EXIT_OK, run("--dry-run", "--threads", "1", csv.toString()));
+        String text = out.toString(StandardCharsets.UTF_8);
+        assertTrue(text.contains("Total: 2 siswa"), text);
+        assertTrue(text.contains("1 duplikat"), text);
+    }
+
+    @Test
+    void shortCsvRowsAreRejected() throws IOException {
+        Path csv = dir.resolve("siswa.csv");
+        Files.writeString(csv, "Rina,10\nBudi,10,AKC,SMK Kesehatan Airlangga\n,11,PPLG,SMK Airlangga\n");
+        assertEquals(BatchImport.EXIT_OK, run("--dry-run", csv.toString()));
+        String text = out.toString(StandardCharsets.UTF_8);
+        assertTrue(text.contains("3 baris: 1 baru, 0 duplikat, 2 ditolak"), text);
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Rina,10 (" + StudentImporter.SHORT_ROW + ")"));
+
+        // jalur banyak file (FileChunkReader) menghitung baris yang sama
+        Path txt = dir.resolve("lain.txt");
+        Files.writeString(txt, "Citra - 12 - FKK\n");
+        out.reset();
+        assertEquals(BatchImport.EXIT_TOO_MANY_REJECTS, run("--dry-run", "--max-rejects", "1", csv.toString(), txt.toString()));
+        text = out.toString(StandardCharsets.UTF_8);
+        assertTrue(text.contains("4 baris: 2 baru, 0 duplikat, 2 ditolak"), text);
+    }
+
+    @Test
+    void unreadableFileFailsWithSummary() throws IOException {
+        Path dss = dir.resolve("siswa" + StudentSnapshot.EXTENSION);
+        StudentStore store = new StudentStore();
+        StudentSnapshot.write(dss, store, new int[]{store.add("Rina", "11", "PPLG", "SMK Airlangga")});
+        byte[] bytes = Files.readAllBytes(dss);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(dss, bytes);
+
+        assertEquals(BatchImport.EXIT_FAILED, run("--dry-run", dss.toString()));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Gagal membaca file"));
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("Selesai dalam"));
+    }
+
+    @Test
+    void badArgumentsAreUsageErrors() {
+        assertEquals(BatchImport.EXIT_USAGE, run("--threads", "0", "a.csv"));
+        assertEquals(BatchImport.EXIT_USAGE, run());
+        assertEquals(BatchImport.EXIT_FAILED, run(dir.resolve("tidak-ada.csv").toString()));
+    }
+}
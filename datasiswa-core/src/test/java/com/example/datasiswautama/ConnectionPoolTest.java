@@ -0,0 +1,163 @@
+package com.example.datasiswautama;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+
+    private ConnectionPool pool;
+
+    @AfterEach
+    void closePool() {
+        if (pool != null) pool.close();
+    }
+
+    @Test
+    void reusesPhysicalConnection() throws SQLException {
+        pool = TestDb.pool(TestDb.url(), 2, 1000, 60_000);
+        Connection raw;
+        try (Connection c = pool.getConnection()) {
+            raw = c.unwrap(Connection.class);
+        }
+        try (Connection c = pool.getConnection()) {
+            assertSame(raw, c.unwrap(Connection.class));
+        }
+        ConnectionPool.Stats s = pool.stats();
+        assertEquals(1, s.created);
+        assertEquals(2, s.acquired);
+        assertEquals(0, s.active);
+        assertEquals(1, s.idle);
+    }
+
+    @Test
+    void acquireTimesOutWhenExhausted() throws SQLException {
+        pool = TestDb.pool(TestDb.url(), 1, 200, 60_000);
+        try (Connection held = pool.getConnection()) {
+            long t0 = System.nanoTime();
+            assertThrows(SQLTimeoutException.class, () -> pool.getConnection());
+            assertTrue((System.nanoTime() - t0) / 1_000_000 >= 150);
+            assertFalse(held.isClosed());
+        }
+        assertEquals(1, pool.stats().timeouts);
+        // izin dikembalikan: peminjaman berikutnya langsung berhasil
+        try (Connection c = pool.getConnection()) {
+            assertFalse(c.isClosed());
+        }
+    }
+
+    @Test
+    void returnRollsBackAndRestoresAutoCommit() throws SQLException {
+        pool = TestDb.pool(TestDb.url(), 1, 1000, 60_000);
+        TestDb.createSchema(pool);
+        try (Connection c = pool.getConnection(); Statement st = c.createStatement()) {
+            c.setAutoCommit(false);
+            c.setReadOnly(false);
+            st.executeUpdate("INSERT INTO siswa (nama, kelas, jurusan, sekolah) VALUES ('Rina', '10', 'PPLG', 'SMK Airlangga')");
+            // dikembalikan tanpa commit
+        }
+        try (Connection c = pool.getConnection()) {
+            assertTrue(c.getAutoCommit());
+        }
+        assertEquals(0, TestDb.count(pool));
+        assertEquals(1, pool.stats().created);
+    }
+
+    @Test
+    void closedLeaseCannotBeUsed() throws SQLException {
+        pool = TestDb.pool(TestDb.url(), 1, 1000, 60_000);
+        Connection c = pool.getConnection();
+        Statement st = c.createStatement();
+        c.close();
+        c.close(); // kedua kalinya tidak mengembalikan dua kali
+        assertTrue(c.isClosed());
+        assertThrows(SQLException.class, c::createStatement);
+        assertThrows(SQLException.class, () -> st.executeQuery("SELECT 1"));
+        assertEquals(0, pool.stats().active);
+    }
+
+    @Test
+    void statementsHandOutThePooledConnection() throws SQLException {
+        pool = TestDb.pool(TestDb.url(), 1, 1000, 60_000);
+        try (Connection c = pool.getConnection()) {
+            try (Statement st = c.createStatement()) {
+                assertSame(c, st.getConnection());
+            }
+            try (PreparedStatement ps = c.prepareStatement("SELECT ?")) {
+                assertSame(c, ps.getConnection());
+                ps.setInt(1, 7);
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(7, rs.getInt(1));
+                }
+            }
+            assertSame(c, c.getMetaData().getConnection());
+        }
+        // close() lewat statement.getConnection() mengembalikan ke pool, bukan menutup koneksi fisik
+        try (Connection c = pool.getConnection(); Statement st = c.createStatement()) {
+            st.getConnection().close();
+        }
+        assertEquals(1, pool.stats().created);
+        assertEquals(0, pool.stats().discarded);
+    }
+
+    @Test
+    void brokenIdleConnectionIsValidatedAndReplaced() throws Exception {
+        pool = TestDb.pool(TestDb.url(), 1, 1000, 60_000);
+        Connection raw;
+        try (Connection c = pool.getConnection()) {
+            raw = c.unwrap(Connection.class);
+        }
+        raw.close(); // putus saat menganggur
+        Thread.sleep(600); // > VALIDATE_AFTER_MS: dicek isValid() sebelum dipinjamkan
+        try (Connection c = pool.getConnection(); Statement st = c.createStatement()) {
+            assertNotSame(raw, c.unwrap(Connection.class));
+            assertTrue(st.execute("SELECT 1"));
+        }
+        assertEquals(2, pool.stats().created);
+        assertEquals(1, pool.stats().discarded);
+    }
+
+    @Test
+    void connectionClosedWhileLeasedIsDiscardedOnReturn() throws SQLException {
+        pool = TestDb.pool(TestDb.url(), 1, 1000, 60_000);
+        try (Connection c = pool.getConnection()) {
+            c.unwrap(Connection.class).close();
+        }
+        assertEquals(1, pool.stats().discarded);
+        assertEquals(0, pool.stats().idle);
+    }
+
+    @Test
+    void idleConnectionsAreEvicted() throws Exception {
+        pool = TestDb.pool(TestDb.url(), 2, 1000, 100);
+        Connection a = pool.getConnection();
+        Connection b = pool.getConnection();
+        a.close();
+        b.close();
+        assertEquals(2, pool.stats().idle);
+        // pembersih berjalan tiap max(1 detik, idleTimeout / 2)
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (pool.stats().idle > 0 && System.currentTimeMillis() < deadline) Thread.sleep(100);
+        assertEquals(0, pool.stats().idle);
+        assertEquals(2, pool.stats().discarded);
+    }
+
+    @Test
+    void closedPoolRejectsBorrowers() throws SQLException {
+        pool = TestDb.pool(TestDb.url(), 1, 1000, 60_000);
+        Connection c = pool.getConnection();
+        pool.close();
+        c.close(); // yang masih dipinjam ditutup saat dikembalikan
+        assertEquals(1, pool.stats().discarded);
+        assertThrows(SQLException.class, () -> pool.getConnection());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.datasiswautama;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCsvReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void quotesEscapesBomAndMultibyte() throws IOException {
+        Path file = dir.resolve("siswa.csv");
+        Files.write(file, ("﻿"
+                + "Rina Safitri,11,PPLG,SMK Airlangga\r\n"
+                + "\"Fauzi, Ahmad\",10,AKL,SMK Airlangga\n"
+                + "\n"
+                + "\"Siti \"\"Ica\"\"\nNurhaliza\",12,TJKT,SMK Airlangga\n"
+                + "kurang,kolom\n"
+                + "José 🎓, 10 ,AKC,SMK Kesehatan Airlangga").getBytes(StandardCharsets.UTF_8));
+        List<String> rows = read(new MappedCsvReader(), file);
+        assertEquals(List.of(
+                "Rina Safitri|11|PPLG|SMK Airlangga",
+                "Fauzi, Ahmad|10|AKL|SMK Airlangga",
+                "Siti \"Ica\"\nNurhaliza|12|TJKT|SMK Airlangga",
+                "pendek: kurang,kolom",
+                "José 🎓|10|AKC|SMK Kesehatan Airlangga"), strip(rows));
+        // jendela kecil: baris, "" dan karakter multibyte terpotong di batas jendela dibaca ulang
+        for (int window = 3; window < 40; window++) {
+            assertEquals(rows, read(new MappedCsvReader(window), file), "jendela " + window);
+        }
+    }
+
+    @Test
+    void parallelSplitMatchesSequentialRead() throws IOException {
+        // > 2 x MIN_CHUNK supaya readParallel benar-benar membagi file. Sebagian besar byte ada di
+        // dalam kutip dan berisi newline/koma, jadi batas chunk sering jatuh di tengah field.
+        Path file = dir.resolve("besar.csv");
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            long bytes = 0;
+            for (int i = 0; bytes < 12_000_000; i++) {
+                String line = i % 7 == 0
+                        ? "Siswa " + i + ",10,PPLG,SMK Airlangga\n"
+                        : i % 11 == 0 ? "Siswa " + i + ",10\n"
+                        : "\"Siswa " + i + "\n\"\"baris\"\", kedua\n" + "x".repeat(i % 50) + "\",11,AKL,SMK Airlangga\n";
+                w.write(line);
+                bytes += line.length(); // ASCII
+            }
+        }
+        List<String> sequential = read(new MappedCsvReader(), file);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<String> parallel = new ArrayList<>();
+            MappedCsvReader.Stats stats = new MappedCsvReader().readParallel(file, pool, collect(parallel));
+            assertEquals(sequential.size(), stats.getRows());
+            assertEquals(Files.size(file), stats.getBytes());
+            assertEquals(sequential, parallel);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Isi field + offset; Row hanya valid selama pemanggilan sink.
+    private static List<String> read(MappedCsvReader reader, Path file) throws IOException {
+        List<String> rows = new ArrayList<>();
+        reader.read(file, collect(rows));
+        return rows;
+    }
+
+    private static MappedCsvReader.RowSink collect(List<String> rows) {
+        return new MappedCsvReader.RowSink() {
+            @Override
+            public void row(MappedCsvReader.Row row) {
+                rows.add(format(row));
+            }
+
+            @Override
+            public void shortRow(MappedCsvReader.Row row) {
+                rows.add("pendek: " + row.line() + "@" + row.offset());
+            }
+        };
+    }
+
+    private static String format(MappedCsvReader.Row row) {
+        return row.string(0) + "|" + row.string(1) + "|" + row.string(2) + "|" + row.string(3) + "@" + row.offset();
+    }
+
+    private static List<String> strip(List<String> rows) {
+        return rows.stream().map(r -> r.substring(0, r.lastIndexOf('@'))).toList();
+    }
+}
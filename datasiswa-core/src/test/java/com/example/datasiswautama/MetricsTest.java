@@ -0,0 +1,188 @@
+package com.example.datasiswautama;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Registry metrik global dan dipakai kelas lain di JVM yang sama: tiap tes memakai nama "uji.*"
+// sendiri dan hanya memeriksa baris keluaran miliknya.
+class MetricsTest {
+
+    private final boolean wasEnabled = Metrics.isEnabled();
+
+    @AfterEach
+    void restore() {
+        Metrics.setEnabled(wasEnabled);
+    }
+
+    @Test
+    void bucketBoundsAreContiguousAndContainTheirValues() {
+        for (int v = 0; v < 8; v++) {
+            assertEquals(v, Metrics.Histogram.bucket(v));
+            assertEquals(v, Metrics.Histogram.lowerBound(v));
+            assertEquals(v, Metrics.Histogram.upperBound(v));
+        }
+        assertEquals(8, Metrics.Histogram.bucket(8));
+        assertEquals(15, Metrics.Histogram.bucket(15));
+        assertEquals(16, Metrics.Histogram.bucket(16));
+        assertEquals(16, Metrics.Histogram.bucket(17));
+        assertEquals(17, Metrics.Histogram.bucket(18));
+
+        int last = Metrics.Histogram.bucket(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, Metrics.Histogram.upperBound(last));
+        for (int b = 0; b < last; b++) {
+            assertEquals(Metrics.Histogram.upperBound(b) + 1, Metrics.Histogram.lowerBound(b + 1), "bucket " + b);
+        }
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 10_000; i++) {
+            long v = random.nextLong(Long.MAX_VALUE) >>> random.nextInt(63);
+            int b = Metrics.Histogram.bucket(v);
+            assertTrue(Metrics.Histogram.lowerBound(b) <= v && v <= Metrics.Histogram.upperBound(b), "nilai " + v);
+            // lebar bucket <= 1/8 batas bawah: galat titik tengah <= 6%
+            assertTrue(Metrics.Histogram.upperBound(b) - Metrics.Histogram.lowerBound(b) <= Metrics.Histogram.lowerBound(b) / 8, "nilai " + v);
+        }
+    }
+
+    @Test
+    void percentileIsBucketMidpointClampedToMax() {
+        Metrics.setEnabled(true);
+        Metrics.Histogram h = Metrics.histogram("uji.persentil", "Persentil");
+        assertEquals(0, h.percentile(0.5));
+        for (int v = 1; v <= 7; v++) h.record(v);
+        h.record(100);   // bucket 96..103, titik tengah 99
+        h.record(-5);    // dicatat sebagai 0
+        assertEquals(9, h.count());
+        assertEquals(128, h.sum());
+        assertEquals(100, h.max());
+        assertEquals(0, h.percentile(0));
+        assertEquals(4, h.percentile(0.5));
+        assertEquals(99, h.percentile(0.99));
+
+        Metrics.Histogram single = Metrics.histogram("uji.persentil.max", "Persentil");
+        single.record(960); // bucket 960..1023: titik tengah 991 > max
+        assertEquals(960, single.percentile(0.5));
+        assertEquals(960, single.percentile(1));
+    }
+
+    @Test
+    void disabledRegistryRecordsNothing() {
+        Metrics.setEnabled(false);
+        Metrics.Counter c = Metrics.counter("uji.mati.counter", "Mati");
+        Metrics.Histogram h = Metrics.histogram("uji.mati.histogram", "Mati");
+        Metrics.Timer t = Metrics.timer("uji.mati.timer", "Mati");
+        c.inc();
+        c.add(10);
+        h.record(5);
+        long start = t.start();
+        assertEquals(0, start);
+        t.stop(start);
+        assertEquals(0, c.value());
+        assertEquals(0, h.count());
+        assertEquals(0, t.count());
+
+        // start() saat hidup, stop() setelah dimatikan: tidak dicatat
+        Metrics.setEnabled(true);
+        start = t.start();
+        assertNotEquals(0, start);
+        Metrics.setEnabled(false);
+        t.stop(start);
+        assertEquals(0, t.count());
+    }
+
+    @Test
+    void sameNameReturnsSameHandleAndTypeMustMatch() {
+        Metrics.Counter c = Metrics.counter("uji.daftar.counter", "Pertama");
+        assertSame(c, Metrics.counter("uji.daftar.counter", "Kedua"));
+        assertEquals("Pertama", c.help);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> Metrics.histogram("uji.daftar.counter", "Lain"));
+        assertTrue(e.getMessage().contains("counter"), e.getMessage());
+
+        Metrics.histogram("uji.daftar.histogram", "Histogram");
+        assertThrows(IllegalArgumentException.class, () -> Metrics.timer("uji.daftar.histogram", "Lain"));
+        assertThrows(IllegalArgumentException.class, () -> Metrics.counter("uji.daftar.histogram", "Lain"));
+        // Timer adalah Histogram: boleh diambil lagi sebagai histogram
+        Metrics.Timer t = Metrics.timer("uji.daftar.timer", "Timer");
+        assertSame(t, Metrics.histogram("uji.daftar.timer", "Lain"));
+
+        List<String> names = Metrics.all().stream().map(m -> m.name).filter(n -> n.startsWith("uji.daftar.")).toList();
+        assertEquals(List.of("uji.daftar.counter", "uji.daftar.histogram", "uji.daftar.timer"), names);
+    }
+
+    @Test
+    void jsonAndPrometheusOutput() {
+        Metrics.setEnabled(true);
+        Metrics.counter("uji.ekspor-counter", "kata \"kutip\" \\ baris\nkedua").add(3);
+        Metrics.Timer t = Metrics.timer("uji.ekspor.timer", "Waktu");
+        t.record(1_000_000);   // bucket 983040..1048575, titik tengah 1015807 ns
+        t.record(2_000_000);   // titik tengah di atas max: dijepit ke 2 ms
+        Metrics.histogram("uji.ekspor.histogram", "Ukuran").record(10);
+
+        assertEquals(List.of(
+                "  {\"name\":\"uji.ekspor-counter\",\"type\":\"counter\",\"help\":\"kata \\\"kutip\\\" \\\\ baris\\nkedua\",\"value\":3}",
+                "  {\"name\":\"uji.ekspor.histogram\",\"type\":\"histogram\",\"help\":\"Ukuran\",\"count\":1,\"sum\":10,\"p50\":10,\"p99\":10,\"max\":10}",
+                "  {\"name\":\"uji.ekspor.timer\",\"type\":\"timer\",\"help\":\"Waktu\",\"count\":2,\"sum_ms\":3,\"p50_ms\":1.01581,\"p99_ms\":2,\"max_ms\":2}"),
+                lines(Metrics.toJson(), "\"uji.ekspor"));
+        assertTrue(Metrics.toJson().startsWith("{\"enabled\":true,\"metrics\":["));
+
+        assertEquals(List.of(
+                "# HELP datasiswa_uji_ekspor_counter_total kata \"kutip\" \\\\ baris\\nkedua",
+                "# TYPE datasiswa_uji_ekspor_counter_total counter",
+                "datasiswa_uji_ekspor_counter_total 3",
+                "# HELP datasiswa_uji_ekspor_histogram Ukuran",
+                "# TYPE datasiswa_uji_ekspor_histogram summary",
+                "datasiswa_uji_ekspor_histogram{quantile=\"0.5\"} 10",
+                "datasiswa_uji_ekspor_histogram{quantile=\"0.99\"} 10",
+                "datasiswa_uji_ekspor_histogram_sum 10",
+                "datasiswa_uji_ekspor_histogram_count 1",
+                "# HELP datasiswa_uji_ekspor_timer_seconds Waktu",
+                "# TYPE datasiswa_uji_ekspor_timer_seconds summary",
+                "datasiswa_uji_ekspor_timer_seconds{quantile=\"0.5\"} 0.00101581",
+                "datasiswa_uji_ekspor_timer_seconds{quantile=\"0.99\"} 0.00200000",
+                "datasiswa_uji_ekspor_timer_seconds_sum 0.00300000",
+                "datasiswa_uji_ekspor_timer_seconds_count 2"),
+                lines(Metrics.toPrometheus(), "datasiswa_uji_ekspor_"));
+    }
+
+    @Test
+    void serverAnswersGetOnAnyFreePort() throws IOException, InterruptedException {
+        Metrics.setEnabled(true);
+        Metrics.counter("uji.server", "Server").inc();
+        try (MetricsServer server = MetricsServer.start(0)) {
+            assertTrue(server.url().matches("http://.+:\\d+/metrics"), server.url());
+            assertFalse(server.url().endsWith(":0/metrics"), server.url());
+            HttpClient client = HttpClient.newHttpClient();
+
+            HttpResponse<String> text = client.send(HttpRequest.newBuilder(URI.create(server.url())).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, text.statusCode());
+            assertTrue(text.headers().firstValue("Content-Type").orElse("").startsWith("text/plain; version=0.0.4"));
+            assertTrue(text.body().contains("\ndatasiswa_uji_server_total 1\n"), text.body());
+
+            HttpResponse<String> json = client.send(HttpRequest.newBuilder(URI.create(server.url() + ".json")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, json.statusCode());
+            assertTrue(json.body().contains("{\"name\":\"uji.server\",\"type\":\"counter\",\"help\":\"Server\",\"value\":1}"), json.body());
+
+            HttpResponse<String> post = client.send(HttpRequest.newBuilder(URI.create(server.url()))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(405, post.statusCode());
+        }
+    }
+
+    // Baris milik tes ini saja; koma pemisah JSON tergantung metrik lain yang terdaftar.
+    private static List<String> lines(String text, String marker) {
+        return text.lines().filter(l -> l.contains(marker)).map(l -> l.endsWith(",") ? l.substring(0, l.length() - 1) : l)
+                .collect(Collectors.toList());
+    }
+}
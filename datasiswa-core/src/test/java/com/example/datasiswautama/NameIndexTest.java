@@ -0,0 +1,65 @@
+package com.example.datasiswautama;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTest {
+
+    private final StudentStore store = new StudentStore();
+    private final NameIndex index = new NameIndex(store);
+
+    @Test
+    void duplicatesIgnoreCaseButNotAccents() {
+        assertTrue(index.add(store.add("Rina Safitri", "11", "PPLG", "SMK Airlangga")));
+        assertTrue(index.contains("rina safitri"));
+        assertTrue(index.contains("RINA SAFITRI"));
+        assertFalse(index.contains("Rina  Safitri"));
+        assertFalse(index.add(store.add("RINA safitri", "10", "AKL", "SMK Airlangga")));
+
+        assertTrue(index.add(store.add("José", "10", "AKL", "SMK Airlangga")));
+        assertTrue(index.contains("JOSÉ"));
+        assertFalse(index.contains("Jose"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void growsAndRemovesWithoutLosingProbeChains() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            int id = store.add("Siswa " + i, "10", "PPLG", "SMK Airlangga");
+            assertTrue(index.add(id));
+            ids.add(id);
+        }
+        assertEquals(5_000, index.size());
+        // hapus separuh (backward shift), sisanya harus tetap ditemukan
+        for (int i = 0; i < ids.size(); i += 2) assertTrue(index.remove(ids.get(i)));
+        assertFalse(index.remove(ids.get(0)));
+        assertEquals(2_500, index.size());
+        for (int i = 0; i < 5_000; i++) assertEquals(i % 2 == 1, index.contains("SISWA " + i), "Siswa " + i);
+    }
+
+    @Test
+    void copyIsIndependent() {
+        index.add(store.add("Rina", "11", "PPLG", "SMK Airlangga"));
+        NameIndex copy = index.copy();
+        copy.add(store.add("Budi", "12", "AKC", "SMK Kesehatan Airlangga"));
+        assertTrue(copy.contains("budi"));
+        assertFalse(index.contains("budi"));
+        index.clear();
+        assertTrue(copy.contains("rina"));
+        assertFalse(index.contains("rina"));
+    }
+
+    @Test
+    void ensureCapacityKeepsEntries() {
+        for (int i = 0; i < 100; i++) index.add(store.add("Siswa " + i, "10", "PPLG", "SMK Airlangga"));
+        long before = index.estimatedBytes();
+        index.ensureCapacity(100_000);
+        assertTrue(index.estimatedBytes() > before);
+        for (int i = 0; i < 100; i++) assertTrue(index.contains("siswa " + i));
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.datasiswautama;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameSearchIndexTest {
+
+    private final StudentStore store = new StudentStore();
+    private final NameSearchIndex index = new NameSearchIndex(store);
+
+    @Test
+    void substringAndWordPrefixQueries() {
+        int siti = add("Siti Nurhaliza");
+        int ahmad = add("Ahmad Fauzi");
+        int nurul = add("Nurul Aini");
+
+        assertEquals(List.of(siti, nurul), search("NUR"));
+        assertEquals(List.of(siti), search("  urhal "));
+        assertEquals(List.of(ahmad), search("ad fa"));
+        assertEquals(List.of(), search("xyz"));
+        assertEquals(List.of(), search("   "));
+
+        // 1-2 karakter hanya cocok di awal kata: "al" di tengah "Nurhaliza" tidak dihitung
+        assertEquals(List.of(nurul), search("ai"));
+        assertEquals(List.of(), search("al"));
+        assertEquals(List.of(siti, nurul), search("n"));
+        assertEquals(List.of(ahmad), search("f"));
+        assertEquals(List.of(), search("z"));
+
+        // out lebih kecil dari hasil: return tetap jumlah semua yang cocok
+        int[] out = new int[1];
+        assertEquals(2, index.search("nur", out));
+        assertEquals(siti, out[0]);
+    }
+
+    @Test
+    void renameReportsTheIdOnceAndDropsStalePostings() {
+        int id = add("Siti Nurhaliza");
+        int other = add("Siti Aminah");
+        store.setNama(id, "Siti Sarah");
+        index.rename(id);
+
+        // posting "nur"/"n" dari nama lama masih ada, tapi id yang diganti selalu diverifikasi
+        assertEquals(List.of(), search("nur"));
+        assertEquals(List.of(), search("n"));
+        // gram yang ada di nama lama dan baru: satu kali saja
+        assertEquals(List.of(id, other), search("siti"));
+        assertEquals(List.of(id, other), search("si"));
+        assertEquals(List.of(id), search("sar"));
+        assertEquals(List.of(id, other), search("s"));
+
+        store.setNama(id, "Siti Nurhaliza");
+        index.rename(id);
+        assertEquals(List.of(id), search("nur"));
+        assertEquals(List.of(id, other), search("iti"));
+    }
+
+    @Test
+    void exactShortQueriesSkipVerification() {
+        int id = add("Budi Santoso");
+        // nama diganti tanpa rename(): query <= 3 karakter memakai posting apa adanya,
+        // query lebih panjang memverifikasi ke store
+        store.setNama(id, "Dewi Lestari");
+        assertEquals(List.of(id), search("san"));
+        assertEquals(List.of(id), search("bu"));
+        assertEquals(List.of(), search("sant"));
+        assertEquals(List.of(), search("dew"));
+    }
+
+    @Test
+    void deletedIdsAreFiltered() {
+        int rina = add("Rina Safitri");
+        int rini = add("Rini Safitri");
+        store.remove(rina);
+        assertEquals(List.of(rini), search("saf"));
+        assertEquals(List.of(rini), search("safitri"));
+        assertEquals(List.of(rini), search("r"));
+    }
+
+    @Test
+    void rehashKeepsLivePostings() {
+        SplittableRandom random = new SplittableRandom(11);
+        List<String> names = new ArrayList<>();
+        int first = add("Siti Nurhaliza");
+        names.add("Siti Nurhaliza");
+        assertEquals(List.of(first), search("nurh"));
+        long before = index.estimatedBytes();
+        // > 3/4 x 4096 gram berbeda: tabel gram dibesarkan beberapa kali
+        for (int i = 0; i < 3_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int c = 0; c < 8; c++) sb.append((char) ('a' + random.nextInt(26)));
+            names.add(sb.toString());
+            add(sb.toString());
+        }
+        assertTrue(index.estimatedBytes() > 2 * before);
+        assertEquals(List.of(first), search("nurh"));
+        for (int i = 0; i < names.size(); i += 97) {
+            String query = names.get(i).substring(2, 6);
+            assertEquals(bruteForce(names, query), search(query), query);
+            String prefix = names.get(i).substring(0, 2);
+            assertEquals(bruteForcePrefix(names, prefix), search(prefix), prefix);
+        }
+    }
+
+    @Test
+    void clearDropsEverything() {
+        int id = add("Siti Nurhaliza");
+        store.setNama(id, "Siti Sarah");
+        index.rename(id);
+        index.clear();
+        assertEquals(List.of(), search("siti"));
+        assertEquals(List.of(), search("s"));
+
+        // id lama tidak lagi dianggap "renamed": setelah clear indeks diisi ulang dari store
+        index.add(id);
+        store.setNama(id, "Budi Santoso");
+        assertEquals(List.of(id), search("sar")); // posting pasti, tanpa verifikasi
+    }
+
+    private int add(String nama) {
+        int id = store.add(nama, "10", "PPLG", "SMK Airlangga");
+        index.add(id);
+        return id;
+    }
+
+    private List<Integer> search(String query) {
+        int[] out = new int[store.size() + 1];
+        int n = index.search(query, out);
+        return Arrays.stream(out, 0, n).boxed().toList();
+    }
+
+    // id = posisi di daftar nama (semua nama ditambahkan berurutan ke store kosong)
+    private static List<Integer> bruteForce(List<String> names, String query) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 0; id < names.size(); id++) {
+            if (names.get(id).toLowerCase(Locale.ROOT).contains(query.toLowerCase(Locale.ROOT))) ids.add(id);
+        }
+        return ids;
+    }
+
+    private static List<Integer> bruteForcePrefix(List<String> names, String prefix) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 0; id < names.size(); id++) {
+            for (String word : names.get(id).toLowerCase(Locale.ROOT).split(" ")) {
+                if (word.startsWith(prefix.toLowerCase(Locale.ROOT))) {
+                    ids.add(id);
+                    break;
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.datasiswautama;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearDuplicateDetectorTest {
+
+    private final StudentStore store = new StudentStore();
+
+    @Test
+    void findsSpacingTyposAndTranspositions() {
+        int siti = add("Siti Nurhaliza");
+        int ahmad = add("Ahmad Fauzi");
+        int dewi = add("Dewi Lestari");
+        int eko = add("Eko");
+        int[] existing = {siti, ahmad, dewi, eko};
+
+        int sitiBaru = add("Siti Nur-Haliza");
+        int ahmadBaru = add("Ahmad Fauzy");
+        int dewiBaru = add("Dewi Lestrai");
+        int eka = add("Eka"); // nama pendek: harus sama persis setelah normalisasi
+        int budi = add("Budi Santoso");
+        int[] fresh = {sitiBaru, ahmadBaru, dewiBaru, eka, budi};
+
+        List<NearDuplicateDetector.Pair> pairs = find(fresh, existing, ForkJoinPool.commonPool());
+        assertEquals(3, pairs.size());
+        assertPair(pairs.get(0), sitiBaru, siti, 0);
+        assertPair(pairs.get(1), ahmadBaru, ahmad, 1);
+        assertPair(pairs.get(2), dewiBaru, dewi, 1);
+    }
+
+    @Test
+    void newNamesAreComparedWithEarlierNewNames() {
+        int first = add("Rahmawati Kusuma");
+        int second = add("Rahmawati Kusumah");
+        int other = add("Teguh Setiawan");
+        List<NearDuplicateDetector.Pair> pairs = find(new int[]{first, second, other}, new int[0], ForkJoinPool.commonPool());
+        assertEquals(1, pairs.size());
+        assertPair(pairs.get(0), second, first, 1);
+    }
+
+    @Test
+    void deletedNamesAreIgnored() {
+        int old = add("Ahmad Fauzi");
+        store.remove(old);
+        int fresh = add("Ahmad Fauzy");
+        assertTrue(find(new int[]{fresh}, new int[]{old}, ForkJoinPool.commonPool()).isEmpty());
+    }
+
+    @Test
+    void parallelScanMatchesSingleThread() {
+        String[] depan = {"Ahmad", "Budi", "Citra", "Dewi", "Eka", "Fajar", "Gita", "Hadi"};
+        String[] belakang = {"Santoso", "Pratama", "Wijaya", "Safitri", "Nurhaliza", "Saputra"};
+        SplittableRandom random = new SplittableRandom(7);
+        int[] existing = new int[70_000]; // > 2 chunk nama lama
+        for (int i = 0; i < existing.length; i++) {
+            existing[i] = add(depan[random.nextInt(depan.length)] + " " + belakang[random.nextInt(belakang.length)] + " " + i);
+        }
+        int[] fresh = new int[500];
+        for (int i = 0; i < fresh.length; i++) {
+            String nama = store.nama(existing[random.nextInt(existing.length)]);
+            fresh[i] = add(i % 2 == 0 ? nama + "x" : nama.replace(' ', '.'));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4), one = new ForkJoinPool(1);
+        try {
+            List<NearDuplicateDetector.Pair> parallel = find(fresh, existing, pool);
+            List<NearDuplicateDetector.Pair> single = find(fresh, existing, one);
+            assertFalse(parallel.isEmpty());
+            assertEquals(single.size(), parallel.size());
+            for (int i = 0; i < single.size(); i++) {
+                assertPair(parallel.get(i), single.get(i).id, single.get(i).matchId, single.get(i).distance);
+            }
+        } finally {
+            pool.shutdown();
+            one.shutdown();
+        }
+    }
+
+    private int add(String nama) {
+        return store.add(nama, "10", "PPLG", "SMK Airlangga");
+    }
+
+    private List<NearDuplicateDetector.Pair> find(int[] fresh, int[] existing, ForkJoinPool pool) {
+        return new NearDuplicateDetector(store).find(fresh, existing, pool, () -> false);
+    }
+
+    private static void assertPair(NearDuplicateDetector.Pair p, int id, int matchId, int distance) {
+        assertEquals(id, p.id);
+        assertEquals(matchId, p.matchId);
+        assertEquals(distance, p.distance);
+    }
+}
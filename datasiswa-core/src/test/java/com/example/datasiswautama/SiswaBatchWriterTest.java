@@ -0,0 +1,89 @@
+package com.example.datasiswautama;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SiswaBatchWriterTest {
+
+    private ConnectionPool pool;
+    private SiswaRepository repo;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = TestDb.pool(TestDb.url(), 2, 1000, 60_000);
+        TestDb.createSchema(pool);
+        repo = new SiswaRepository(pool, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void transientErrorsAreFoundInsideWrappers() {
+        // Connector/J: deadlock di tengah executeBatch dibungkus BatchUpdateException
+        SQLException deadlock = new SQLTransactionRollbackException("Deadlock found", "40001", 1213);
+        assertTrue(SiswaBatchWriter.isTransient(new BatchUpdateException("batch", "40001", 1213, new int[0], deadlock)));
+        assertTrue(SiswaBatchWriter.isTransient(new BatchUpdateException("batch", null, 0, new int[0], deadlock)));
+        assertTrue(SiswaBatchWriter.isTransient(new SQLException("rollback gagal", "HY000", 0, deadlock)));
+
+        SQLException chained = new SQLException("batch");
+        chained.setNextException(new SQLException("Lock wait timeout exceeded", "HY000", 1205));
+        assertTrue(SiswaBatchWriter.isTransient(chained));
+        assertTrue(SiswaBatchWriter.isTransient(new SQLException("serialization failure", "40001")));
+
+        assertFalse(SiswaBatchWriter.isTransient(new SQLIntegrityConstraintViolationException("NOT NULL", "23000", 1048)));
+        assertFalse(SiswaBatchWriter.isTransient(new BatchUpdateException("batch", "42S02", 1146, new int[0],
+                new SQLException("Table doesn't exist", "42S02", 1146))));
+    }
+
+    @Test
+    void writesAllBatchesBeforeClose() throws Exception {
+        SiswaBatchWriter writer = new SiswaBatchWriter(repo, 2, 2);
+        for (int b = 0; b < 10; b++) {
+            List<String[]> rows = new ArrayList<>();
+            for (int i = 0; i < 50; i++) rows.add(new String[]{"Siswa " + b + "." + i, "10", "PPLG", "SMK Airlangga"});
+            assertTrue(writer.put(rows));
+        }
+        writer.close();
+        assertEquals(500, writer.written());
+        assertEquals(500, TestDb.count(pool));
+        assertEquals(0, writer.retries());
+    }
+
+    @Test
+    void permanentErrorIsNotRetriedAndIsThrownFromClose() throws Exception {
+        SiswaBatchWriter writer = new SiswaBatchWriter(repo, 1, 1);
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{"Rina", null, "PPLG", "SMK Airlangga"}); // kelas NOT NULL
+        writer.put(rows);
+        assertThrows(SQLException.class, writer::close);
+        assertTrue(writer.failed());
+        assertEquals(0, writer.retries());
+        assertFalse(writer.put(List.<String[]>of(new String[]{"Budi", "10", "AKL", "SMK Airlangga"})));
+    }
+
+    @Test
+    void interruptedCloseFailsAndKeepsTheInterrupt() {
+        SiswaBatchWriter writer = new SiswaBatchWriter(repo, 1, 1);
+        Thread.currentThread().interrupt();
+        try {
+            SQLException e = assertThrows(SQLException.class, writer::close);
+            assertInstanceOf(InterruptedException.class, e.getCause());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.datasiswautama;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SiswaRepositoryTest {
+
+    private ConnectionPool pool;
+    private SiswaRepository repo;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = TestDb.pool(TestDb.url(), 2, 1000, 60_000);
+        TestDb.createSchema(pool);
+        repo = new SiswaRepository(pool, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void flushUpsertsByCaseInsensitiveName() throws SQLException {
+        assertEquals(2, repo.flush(List.of(), SiswaRepository.rows(List.of(
+                row("Rina Safitri", "10", "PPLG", "SMK Airlangga"),
+                row("Ahmad Fauzi", "11", "AKL", "SMK Airlangga"))), null, null));
+        repo.flush(List.of(), SiswaRepository.rows(List.<String[]>of(row("rina safitri", "12", "TJKT", "SMK Airlangga"))), null, null);
+
+        List<String[]> all = repo.pageAfter(new SiswaQuery(), null, 10);
+        assertEquals(2, all.size());
+        String[] rina = all.get(1);
+        assertTrue("Rina Safitri".equalsIgnoreCase(rina[0]));
+        assertEquals("12", rina[1]);
+        assertEquals("TJKT", rina[2]);
+    }
+
+    @Test
+    void deletesRunBeforeUpserts() throws SQLException {
+        repo.flush(List.of(), SiswaRepository.rows(List.<String[]>of(row("Budi", "10", "AKC", "SMK Kesehatan Airlangga"))), null, null);
+        // dihapus lalu ditambahkan lagi dengan nama yang sama dalam satu flush: tetap ada
+        repo.flush(List.of("Budi", "Tidak Ada"), SiswaRepository.rows(List.<String[]>of(row("Budi", "11", "AKC", "SMK Kesehatan Airlangga"))), null, null);
+        List<String[]> all = repo.pageAfter(new SiswaQuery(), null, 10);
+        assertEquals(1, all.size());
+        assertEquals("11", all.get(0)[1]);
+
+        repo.flush(List.of("BUDI"), SiswaRepository.rows(List.of()), null, null);
+        assertEquals(0, TestDb.count(pool));
+    }
+
+    @Test
+    void progressIsReportedPerBatch() throws SQLException {
+        List<Integer> progress = new ArrayList<>();
+        assertEquals(5, repo.flush(List.of(), SiswaRepository.rows(roster(5)), progress::add, null));
+        assertEquals(List.of(2, 4, 5), progress);
+    }
+
+    @Test
+    void failedFlushRollsBackEarlierBatches() throws SQLException {
+        List<String[]> rows = roster(5);
+        rows.get(3)[1] = null; // kelas NOT NULL: batch kedua gagal, batch pertama sudah terkirim
+        assertThrows(SQLException.class, () -> repo.flush(List.of(), SiswaRepository.rows(rows), null, null));
+        assertEquals(0, TestDb.count(pool));
+        assertEquals(0, pool.stats().active);
+    }
+
+    @Test
+    void cancelledFlushRollsBack() throws SQLException {
+        assertThrows(CancellationException.class,
+                () -> repo.flush(List.of(), SiswaRepository.rows(roster(5)), null, () -> true));
+        assertEquals(0, TestDb.count(pool));
+    }
+
+    @Test
+    void keysetPagesWalkTheWholeTableInOrder() throws SQLException {
+        List<String[]> rows = roster(23);
+        repo.flush(List.of(), SiswaRepository.rows(rows), null, null);
+        SiswaQuery q = new SiswaQuery().sortBy(SiswaQuery.Kolom.KELAS, true);
+
+        List<String[]> expected = new ArrayList<>(rows);
+        expected.sort(Comparator.<String[], String>comparing(r -> r[1]).reversed().thenComparing(r -> r[0], Comparator.reverseOrder()));
+
+        List<List<String[]>> pages = new ArrayList<>();
+        List<String[]> walked = new ArrayList<>();
+        for (List<String[]> page = repo.pageAfter(q, null, 10); !page.isEmpty();
+             page = repo.pageAfter(q, q.keyOf(page.get(page.size() - 1)), 10)) {
+            pages.add(page);
+            walked.addAll(page);
+        }
+        assertEquals(List.of(10, 10, 3), pages.stream().map(List::size).toList());
+        assertEquals(names(expected), names(walked));
+
+        // mundur dari baris pertama halaman terakhir = halaman kedua, dalam urutan query
+        List<String[]> before = repo.pageBefore(q, q.keyOf(pages.get(2).get(0)), 10);
+        assertEquals(names(pages.get(1)), names(before));
+
+        assertEquals(expected.get(15)[0], repo.keyAt(q, 15).nama);
+        assertNull(repo.keyAt(q, 23));
+        assertEquals(23, repo.count(q, 0));
+        assertEquals(5, repo.count(q, 5));
+    }
+
+    @Test
+    void filtersAndPrefixSearch() throws SQLException {
+        repo.flush(List.of(), SiswaRepository.rows(List.of(
+                row("A_b", "10", "PPLG", "SMK Airlangga"),
+                row("Axb", "10", "PPLG", "SMK Airlangga"),
+                row("A%c", "11", "FKK", "SMK Kesehatan Airlangga"),
+                row("Budi", "12", "FKK", "SMK Kesehatan Airlangga"))), null, null);
+
+        // _ dan % di awalan dicari apa adanya, bukan wildcard
+        assertEquals(List.of("A_b"), names(repo.pageAfter(new SiswaQuery().namaPrefix("a_"), null, 10)));
+        assertEquals(List.of("A%c"), names(repo.pageAfter(new SiswaQuery().namaPrefix("A%"), null, 10)));
+
+        SiswaQuery kesehatan = new SiswaQuery().sekolah("SMK Kesehatan Airlangga").jurusan("FKK");
+        assertEquals(List.of("A%c", "Budi"), names(repo.pageAfter(kesehatan, null, 10)));
+        assertEquals(1, repo.count(new SiswaQuery().sekolah("SMK Kesehatan Airlangga").kelas("12"), 0));
+    }
+
+    @Test
+    void distinctValuesPerColumn() throws SQLException {
+        repo.flush(List.of(), SiswaRepository.rows(List.of(
+                row("Rina", "10", "PPLG", "SMK Airlangga"),
+                row("Ahmad", "10", "Tata Boga", "Tidak Diketahui"),
+                row("Budi", "12", "FKK", "SMK Kesehatan Airlangga"))), null, null);
+        assertEquals(List.of("SMK Airlangga", "SMK Kesehatan Airlangga", "Tidak Diketahui"), repo.distinct(SiswaQuery.Kolom.SEKOLAH));
+        assertEquals(List.of("FKK", "PPLG", "Tata Boga"), repo.distinct(SiswaQuery.Kolom.JURUSAN));
+        assertEquals(List.of("10", "12"), repo.distinct(SiswaQuery.Kolom.KELAS));
+    }
+
+    @Test
+    void rowAliasOnlyOnMysql8019AndLater() {
+        assertTrue(SiswaRepository.supportsRowAlias("MySQL", "8.0.33"));
+        assertTrue(SiswaRepository.supportsRowAlias("MySQL", "8.0.19"));
+        assertTrue(SiswaRepository.supportsRowAlias("MySQL", "8.4.0-commercial"));
+        assertFalse(SiswaRepository.supportsRowAlias("MySQL", "8.0.18"));
+        assertFalse(SiswaRepository.supportsRowAlias("MySQL", "5.7.44-log"));
+        assertFalse(SiswaRepository.supportsRowAlias("MySQL", "5.5.5-10.11.6-MariaDB"));
+        assertFalse(SiswaRepository.supportsRowAlias("H2", "2.2.224 (2023-09-17)"));
+    }
+
+    private static String[] row(String nama, String kelas, String jurusan, String sekolah) {
+        return new String[]{nama, kelas, jurusan, sekolah};
+    }
+
+    private static List<String[]> roster(int n) {
+        String[] kelas = {"10", "11", "12"};
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            rows.add(row(String.format("Siswa %02d", i), kelas[i % 3], "PPLG", "SMK Airlangga"));
+        }
+        return rows;
+    }
+
+    private static List<String> names(List<String[]> rows) {
+        return rows.stream().map(r -> r[0]).toList();
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.datasiswautama;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentImporterTest {
+
+    @TempDir
+    Path dir;
+
+    private final StudentStore store = new StudentStore();
+    private final NameIndex seen = new NameIndex(store);
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private final List<String> published = new ArrayList<>();
+
+    private StudentImporter importer(int batchSize) {
+        return new StudentImporter(store, seen, batchSize, (ids, count) -> {
+            batchSizes.add(count);
+            for (int i = 0; i < count; i++) published.add(store.nama(ids[i]));
+        });
+    }
+
+    @Test
+    void textImportDedupesAndRejects() {
+        seen.add(store.add("Rina Safitri", "11", "PPLG", "SMK Airlangga"));
+        StudentImporter importer = importer(2);
+        StudentImporter.Summary s = importer.importText(String.join("\n",
+                "RINA SAFITRI - 12 - PPLG",          // sudah ada
+                "Ahmad Fauzi - 10 - AKL",
+                "",
+                "Budi Santoso, kelas 11 AKC",
+                "ahmad fauzi - 11 - TJKT",           // duplikat di dalam teks
+                "Siti - PPLG",
+                "Dewi Lestari - 12 - TJKT - SMK Airlangga"), StudentImporter.NO_PROGRESS);
+
+        assertEquals(6, s.rows);
+        assertEquals(3, s.added);
+        assertEquals(2, s.duplicates);
+        assertEquals(1, s.rejected);
+        assertTrue(s.rejectSamples.get(0).startsWith("Siti - PPLG ("), s.rejectSamples.get(0));
+        assertEquals(List.of("Ahmad Fauzi", "Budi Santoso", "Dewi Lestari"), published);
+        assertEquals(List.of(1, 1, 1), batchSizes); // flush juga tiap batchSize baris teks
+        assertEquals("SMK Kesehatan Airlangga", store.sekolah(importer.addedIds()[1]));
+    }
+
+    @Test
+    void progressCanCancel() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100; i++) text.append("Siswa ").append(i).append(" - 10 - PPLG\n");
+        StudentImporter.Summary s = importer(10).importText(text.toString(), (done, total) -> done < 30);
+        assertTrue(s.cancelled);
+        assertEquals(30, s.added);
+        assertEquals(30, published.size());
+    }
+
+    @Test
+    void fullColumnDictionaryRejectsOnlyNewValues() {
+        StudentImporter importer = importer(100);
+        for (int i = 0; i < 300; i++) importer.offer("Siswa " + i, "10", "Jurusan " + i, "SMK Airlangga");
+        importer.offer("Siswa Lain", "10", "PPLG", "SMK Airlangga");
+        importer.flush();
+        // 256 kode dikurangi 8 jurusan Kategori yang sudah ada di kamus
+        int room = 256 - Kategori.Jurusan.values().length;
+        // Summary berisi hitungan kumulatif importer; teks kosong tidak menambah apa-apa
+        StudentImporter.Summary s = importer.importText("", StudentImporter.NO_PROGRESS);
+        assertEquals(room + 1, s.added);
+        assertEquals(300 - room, s.rejected);
+        assertTrue(s.rejectSamples.get(0).contains("jurusan"), s.rejectSamples.get(0));
+        assertTrue(seen.contains("siswa lain"));
+    }
+
+    @Test
+    void csvSnapshotAndTextFilesGoThroughTheSameDedupe() throws IOException {
+        Path csv = dir.resolve("kelas10.csv");
+        Files.writeString(csv, "Rina,10,PPLG,SMK Airlangga\n\"Fauzi, Ahmad\",10,AKL,SMK Airlangga\n");
+        assertEquals(2, importer(10).importFile(csv, ForkJoinPool.commonPool(), StudentImporter.NO_PROGRESS).added);
+
+        StudentStore other = new StudentStore();
+        Path dss = dir.resolve("kelas11" + StudentSnapshot.EXTENSION);
+        StudentSnapshot.write(dss, other, new int[]{
+                other.add("rina", "11", "PPLG", "SMK Airlangga"),
+                other.add("Budi", "11", "Tata Boga", "SMK Lain")});
+        StudentImporter.Summary s = importer(10).importFile(dss, ForkJoinPool.commonPool(), StudentImporter.NO_PROGRESS);
+        assertEquals(1, s.added);
+        assertEquals(1, s.duplicates);
+
+        Path txt = dir.resolve("kelas12.txt");
+        Files.writeString(txt, "Budi - 12 - AKC\nCitra - 12 - FKK\n");
+        s = importer(10).importFile(txt, ForkJoinPool.commonPool(), StudentImporter.NO_PROGRESS);
+        assertEquals(1, s.added);
+        assertEquals(List.of("Rina", "Fauzi, Ahmad", "Budi", "Citra"), published);
+        int budi = store.size() - 2;
+        assertEquals("Tata Boga", store.jurusan(budi));
+    }
+
+    @Test
+    void importFilesReadsEveryFile() throws IOException {
+        List<Path> files = new ArrayList<>();
+        Set<String> expected = new HashSet<>();
+        for (int f = 0; f < 5; f++) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 3_000; i++) {
+                sb.append("Siswa ").append(f).append('.').append(i).append(",1").append(f % 3).append(",PPLG,SMK Airlangga\n");
+                expected.add("Siswa " + f + "." + i);
+            }
+            Path file = dir.resolve("kelas" + f + ".csv");
+            Files.writeString(file, sb);
+            files.add(file);
+        }
+        Path txt = dir.resolve("lain.txt");
+        Files.writeString(txt, "siswa 0.0 - 10 - PPLG\nTanpa Kelas\nCitra - 12 - FKK\n");
+        files.add(txt);
+        expected.add("Citra");
+
+        long[] lastProgress = {0, 0};
+        StudentImporter.Summary s = importer(StudentImporter.DEFAULT_BATCH).importFiles(files, (done, total) -> {
+            assertTrue(done >= lastProgress[0]);
+            lastProgress[0] = done;
+            lastProgress[1] = total;
+            return true;
+        });
+        assertEquals(15_003, s.rows);
+        assertEquals(15_001, s.added);
+        assertEquals(1, s.duplicates);
+        assertEquals(1, s.rejected);
+        assertEquals(expected, new HashSet<>(published));
+        assertEquals(lastProgress[1], lastProgress[0]);
+        assertEquals(s.bytes, lastProgress[1]);
+    }
+
+    @Test
+    void importFilesResolvesDuplicatesInFileOrder() throws IOException {
+        // file pertama besar (selesai dibaca paling akhir), file kedua kecil dengan nama yang sama
+        StringBuilder big = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) big.append("Siswa ").append(i).append(",10,PPLG,SMK Airlangga\n");
+        big.append("Rina,10,PPLG,SMK Airlangga\n");
+        Path first = dir.resolve("kelas10.csv");
+        Files.writeString(first, big);
+        Path second = dir.resolve("kelas11.txt");
+        Files.writeString(second, "RINA - 11 - AKL\nBudi - 11 - AKL\n");
+
+        for (int run = 0; run < 5; run++) {
+            StudentStore store = new StudentStore();
+            NameIndex seen = new NameIndex(store);
+            List<Integer> order = new ArrayList<>();
+            StudentImporter importer = new StudentImporter(store, seen, 1_000, (ids, count) -> {
+                for (int i = 0; i < count; i++) order.add(ids[i]);
+            });
+            StudentImporter.Summary s = importer.importFiles(List.of(first, second), StudentImporter.NO_PROGRESS);
+            assertEquals(20_002, s.added);
+            assertEquals(1, s.duplicates);
+            int rina = order.get(20_000);
+            assertEquals("Rina", store.nama(rina));
+            assertEquals("10", store.kelas(rina));
+            assertEquals("Siswa 0", store.nama(order.get(0)));
+            assertEquals("Budi", store.nama(order.get(20_001)));
+        }
+    }
+
+    @Test
+    void importFilesReportsTheFailingFile() throws IOException {
+        Path ok = dir.resolve("ok.csv");
+        Files.writeString(ok, "Rina,10,PPLG,SMK Airlangga\n");
+        Path broken = dir.resolve("rusak" + StudentSnapshot.EXTENSION);
+        StudentSnapshot.write(broken, store, new int[]{store.add("Budi", "10", "AKL", "SMK Airlangga")});
+        byte[] bytes = Files.readAllBytes(broken);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(broken, bytes);
+
+        IOException e = assertThrows(IOException.class,
+                () -> importer(10).importFiles(List.of(ok, broken), StudentImporter.NO_PROGRESS));
+        assertTrue(e.getMessage().contains("rusak.dss"), e.getMessage());
+        assertEquals(0, importer(10).importFiles(List.of(), StudentImporter.NO_PROGRESS).rows);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.datasiswautama;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentLineParserTest {
+
+    private final StudentLineParser parser = new StudentLineParser();
+    private final StudentLineParser.Result r = new StudentLineParser.Result();
+
+    @Test
+    void dashFormWithSchool() {
+        assertTrue(parser.parse("  Rina Safitri – 11 —  pplg - SMK Airlangga ", r));
+        assertEquals("Rina Safitri", r.getNama());
+        assertEquals("11", r.getKelas());
+        assertEquals("PPLG", r.getJurusan());
+        assertEquals("SMK Airlangga", r.getSekolah());
+        assertEquals(4, r.getDashParts());
+        assertEquals(Kategori.Kelas.XI.code(), r.getKelasCode());
+        assertEquals(Kategori.Jurusan.PPLG.code(), r.getJurusanCode());
+        assertEquals(Kategori.Sekolah.AIRLANGGA.code(), r.getSekolahCode());
+        // nilai yang dikenal memakai String kanonik, bukan salinan baru
+        assertSame(StudentLineParser.KELAS_UMUM[r.getKelasCode()], r.getKelas());
+        assertSame(StudentLineParser.JURUSAN_UMUM[r.getJurusanCode()], r.getJurusan());
+    }
+
+    @Test
+    void schoolIsInferredFromJurusan() {
+        assertTrue(parser.parse("Budi Santoso - 12 - akc", r));
+        assertEquals("AKC", r.getJurusan());
+        assertEquals("SMK Kesehatan Airlangga", r.getSekolah());
+        assertEquals(Kategori.Sekolah.KESEHATAN.code(), r.getSekolahCode());
+
+        assertTrue(parser.parse("Dewi - 10 - Tata Boga", r));
+        assertEquals("TATA BOGA", r.getJurusan());
+        assertEquals(Kategori.TIDAK_DIKENAL, r.getJurusanCode());
+        assertEquals("Tidak Diketahui", r.getSekolah());
+    }
+
+    @Test
+    void kelasForm() {
+        assertTrue(parser.parse("Siti Nurhaliza, kelas 10 TJKT", r));
+        assertEquals("Siti Nurhaliza", r.getNama());
+        assertEquals("10", r.getKelas());
+        assertEquals("TJKT", r.getJurusan());
+        assertEquals("SMK Airlangga", r.getSekolah());
+
+        assertTrue(parser.parse("Ahmad Fauzi kelas 11 FKK", r));
+        assertEquals("Ahmad Fauzi", r.getNama());
+        assertEquals("SMK Kesehatan Airlangga", r.getSekolah());
+    }
+
+    @Test
+    void skippedLinesResetTheResult() {
+        assertTrue(parser.parse("Rina - 11 - PPLG", r));
+        assertFalse(parser.parse("   \t", r));
+        assertEquals(StudentLineParser.Skip.BLANK, r.getSkip());
+        assertNull(r.getNama());
+
+        assertFalse(parser.parse("Rina - PPLG", r));
+        assertEquals(StudentLineParser.Skip.TOO_FEW_PARTS, r.getSkip());
+        assertFalse(parser.parse("hanya nama", r));
+        assertEquals(StudentLineParser.Skip.UNRECOGNIZED, r.getSkip());
+        assertFalse(r.isOk());
+    }
+
+    @Test
+    void parsesARangeWithoutCopyingTheLine() {
+        String text = "Rina - 11 - PPLG\nBudi - 12 - AKC\n";
+        int eol = text.indexOf('\n');
+        assertTrue(parser.parse(text, eol + 1, text.length() - 1, r));
+        assertEquals("Budi", r.getNama());
+        assertEquals("12", r.getKelas());
+        assertTrue(parser.parse(text, 0, eol, r));
+        assertEquals("Rina", r.getNama());
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.datasiswautama;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private final StudentStore store = new StudentStore();
+
+    @Test
+    void roundTripKeepsRowsAndOrder() throws IOException {
+        int[] ids = {
+                store.add("Rina Safitri", "11", "PPLG", "SMK Airlangga"),
+                store.add("José Ñandú 🎓", "10", "AKC", "SMK Kesehatan Airlangga"),
+                store.add("Ahmad", "13", "Tata Boga", "SMK Lain"),
+                store.add("", "12", "TJKT", "SMK Airlangga")};
+        Path file = dir.resolve("siswa" + StudentSnapshot.EXTENSION);
+        StudentSnapshot.write(file, store, ids);
+
+        assertTrue(StudentSnapshot.isSnapshot(file));
+        assertEquals(4, StudentSnapshot.rowCount(file));
+        assertFalse(Files.exists(dir.resolve("siswa.dss.tmp")));
+
+        // store lain dengan kamus lain: kode dipetakan ulang lewat label
+        StudentStore other = new StudentStore();
+        other.encodeJurusan("Multimedia");
+        List<String> rows = new ArrayList<>();
+        assertEquals(4, StudentSnapshot.read(file, other, (nama, k, j, s) ->
+                rows.add(nama + "|" + other.kelasLabel(k) + "|" + other.jurusanLabel(j) + "|" + other.sekolahLabel(s)), () -> false));
+        assertEquals(List.of(
+                "Rina Safitri|11|PPLG|SMK Airlangga",
+                "José Ñandú 🎓|10|AKC|SMK Kesehatan Airlangga",
+                "Ahmad|13|Tata Boga|SMK Lain",
+                "|12|TJKT|SMK Airlangga"), rows);
+    }
+
+    @Test
+    void corruptPayloadIsRejectedBeforeAnyRow() throws IOException {
+        Path file = snapshot(100);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 3] ^= 0x20; // satu huruf nama terakhir
+        Files.write(file, bytes);
+        assertRejected(file, "Checksum");
+    }
+
+    @Test
+    void truncatedOrForeignFilesAreRejected() throws IOException {
+        Path file = snapshot(100);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertRejected(file, "terpotong");
+
+        Path csv = dir.resolve("siswa.csv");
+        Files.writeString(csv, "Rina,11,PPLG,SMK Airlangga\n".repeat(3));
+        assertFalse(StudentSnapshot.isSnapshot(csv));
+        assertThrows(IOException.class, () -> StudentSnapshot.rowCount(csv));
+    }
+
+    @Test
+    void codeOutsideTheDictionaryIsAnIOException() throws IOException {
+        Path file = dir.resolve("siswa" + StudentSnapshot.EXTENSION);
+        StudentSnapshot.write(file, store, new int[]{store.add("Rina", "11", "PPLG", "SMK Airlangga")});
+        byte[] bytes = Files.readAllBytes(file);
+        // kamus: 3 x jumlah u16 + "11", "PPLG", "SMK Airlangga" (panjang u16 + UTF-8), lalu kode kelas
+        int kelasCode = StudentSnapshot.HEADER_BYTES + 3 * 2 + (2 + 2) + (2 + 4) + (2 + 13);
+        assertEquals(0, bytes[kelasCode]);
+        bytes[kelasCode] = 5;
+        // CRC tetap cocok: yang diuji pemeriksaan kode, bukan checksum
+        CRC32 crc = new CRC32();
+        crc.update(bytes, StudentSnapshot.HEADER_BYTES, bytes.length - StudentSnapshot.HEADER_BYTES);
+        ByteBuffer.wrap(bytes).putInt(20, (int) crc.getValue());
+        Files.write(file, bytes);
+        assertRejected(file, "kode di luar kamus");
+    }
+
+    @Test
+    void cancelStopsBetweenRows() throws IOException {
+        Path file = snapshot(10_000);
+        int[] seen = {0};
+        int read = StudentSnapshot.read(file, new StudentStore(), (nama, k, j, s) -> seen[0]++, () -> seen[0] > 0);
+        assertEquals(seen[0], read);
+        assertTrue(read < 10_000);
+    }
+
+    private Path snapshot(int rows) throws IOException {
+        int[] ids = new int[rows];
+        for (int i = 0; i < rows; i++) ids[i] = store.add("Siswa " + i, "10", "PPLG", "SMK Airlangga");
+        Path file = dir.resolve("siswa" + StudentSnapshot.EXTENSION);
+        StudentSnapshot.write(file, store, ids);
+        return file;
+    }
+
+    private static void assertRejected(Path file, String message) {
+        int[] seen = {0};
+        IOException e = assertThrows(IOException.class,
+                () -> StudentSnapshot.read(file, new StudentStore(), (nama, k, j, s) -> seen[0]++, () -> false));
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+        assertEquals(0, seen[0]);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.datasiswautama;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+// H2 in-memory dengan MODE=MySQL untuk uji JDBC. IGNORECASE meniru collation *_ci di schema.sql
+// (nama unik tanpa membedakan huruf besar/kecil); tiap pemanggilan url() = database baru.
+final class TestDb {
+
+    private TestDb() {
+    }
+
+    static String url() {
+        return "jdbc:h2:mem:siswa-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    static ConnectionPool pool(String url, int maxSize, long acquireTimeoutMillis, long idleTimeoutMillis) {
+        return new ConnectionPool(url, "sa", "", maxSize, acquireTimeoutMillis, idleTimeoutMillis);
+    }
+
+    // Tabel siswa dari schema.sql (tanpa CREATE DATABASE/collation MySQL).
+    static void createSchema(ConnectionPool pool) throws SQLException {
+        try (Connection c = pool.getConnection(); Statement st = c.createStatement()) {
+            st.execute("CREATE TABLE siswa ("
+                    + "id INT AUTO_INCREMENT PRIMARY KEY, "
+                    + "nama VARCHAR(150) NOT NULL, "
+                    + "kelas VARCHAR(10) NOT NULL, "
+                    + "jurusan VARCHAR(20) NOT NULL, "
+                    + "sekolah VARCHAR(100) NOT NULL, "
+                    + "UNIQUE KEY uk_siswa_nama (nama), "
+                    + "KEY idx_siswa_sjk_nama (sekolah, jurusan, kelas, nama), "
+                    + "KEY idx_siswa_sekolah_nama (sekolah, nama), "
+                    + "KEY idx_siswa_jurusan_nama (jurusan, nama), "
+                    + "KEY idx_siswa_kelas_nama (kelas, nama))");
+        }
+    }
+
+    static int count(ConnectionPool pool) throws SQLException {
+        try (Connection c = pool.getConnection(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM siswa")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.datasiswautama;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindQueueTest {
+
+    private static final long NEVER = 3_600_000; // hanya flush saat close()
+
+    @TempDir
+    Path dir;
+
+    private ConnectionPool pool;
+    private SiswaRepository repo;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = TestDb.pool(TestDb.url(), 2, 1000, 60_000);
+        TestDb.createSchema(pool);
+        repo = new SiswaRepository(pool, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void closeFlushesCoalescedChanges() throws Exception {
+        try (WriteBehindQueue q = new WriteBehindQueue(repo, dir.resolve("wb.journal"), NEVER, 1000)) {
+            assertTrue(q.upsert("Rina", "10", "PPLG", "SMK Airlangga"));
+            assertTrue(q.upsert("RINA", "11", "PPLG", "SMK Airlangga"));
+            assertTrue(q.upsert("Budi", "12", "AKC", "SMK Kesehatan Airlangga"));
+            assertTrue(q.delete("budi"));
+            WriteBehindQueue.Stats s = q.stats();
+            assertEquals(2, s.pending);
+            assertEquals(2, s.coalesced);
+        }
+        List<String[]> rows = repo.pageAfter(new SiswaQuery(), null, 10);
+        assertEquals(1, rows.size());
+        assertEquals("11", rows.get(0)[1]);
+        assertFalse(Files.exists(dir.resolve("wb.journal.flushing")));
+    }
+
+    @Test
+    void keyFollowsTheDuplicateRule() throws Exception {
+        // "İlham".toLowerCase(Locale.ROOT) = "i̇lham" (i + titik kombinasi), tapi equalsIgnoreCase
+        // dan NameIndex menganggap "İlham", "ILHAM" dan "ilham" nama yang sama
+        StudentStore store = new StudentStore();
+        NameIndex names = new NameIndex(store);
+        names.add(store.add("İlham", "10", "PPLG", "SMK Airlangga"));
+        assertTrue(names.contains("ILHAM"));
+        assertTrue(names.contains("ilham"));
+        try (WriteBehindQueue q = new WriteBehindQueue(repo, dir.resolve("wb.journal"), NEVER, 1000)) {
+            q.upsert("İlham", "10", "PPLG", "SMK Airlangga");
+            q.upsert("ILHAM", "10", "PPLG", "SMK Airlangga");
+            q.upsert("ilham", "11", "PPLG", "SMK Airlangga");
+            assertEquals(1, q.stats().pending);
+        }
+    }
+
+    @Test
+    void secondQueueOnTheSameJournalIsRefused() throws Exception {
+        Path journal = dir.resolve("wb.journal");
+        try (WriteBehindQueue q = new WriteBehindQueue(repo, journal, NEVER, 1000)) {
+            q.upsert("Rina", "10", "PPLG", "SMK Airlangga");
+            assertThrows(IOException.class, () -> new WriteBehindQueue(repo, journal, NEVER, 1000));
+            // journal milik antrean pertama tidak disentuh
+            assertTrue(Files.readString(journal).contains("Rina"));
+            assertTrue(q.upsert("Budi", "10", "AKL", "SMK Airlangga"));
+        }
+        assertEquals(2, TestDb.count(pool));
+        // setelah ditutup, kuncinya lepas
+        new WriteBehindQueue(repo, journal, NEVER, 1000).close();
+    }
+
+    @Test
+    void unsentChangesAreReplayedOnNextStart() throws Exception {
+        Path journal = dir.resolve("wb.journal");
+        pool.close();
+        ConnectionPool down = TestDb.pool("jdbc:h2:mem:tidak-ada;IFEXISTS=TRUE", 1, 100, 60_000);
+        try (WriteBehindQueue q = new WriteBehindQueue(new SiswaRepository(down, 100), journal, NEVER, 1000)) {
+            q.upsert("Rina", "10", "PPLG", "SMK Airlangga");
+            q.upsert("Tab\there", "11", "AKL", "SMK Airlangga");
+        } finally {
+            down.close();
+        }
+        setUp();
+        try (WriteBehindQueue q = new WriteBehindQueue(repo, journal, NEVER, 1000)) {
+            assertEquals(2, q.stats().pending);
+        }
+        assertEquals(List.of("Rina", "Tab\there"),
+                repo.pageAfter(new SiswaQuery(), null, 10).stream().map(r -> r[0]).toList());
+    }
+}
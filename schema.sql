@@ -0,0 +1,40 @@
+-- Skema database untuk SiswaRepository (MySQL 8; uji JDBC memakai tabel yang sama di H2 MODE=MySQL,
+-- tanpa collation MySQL, lihat TestDb).
+-- Nama unik tanpa membedakan huruf besar/kecil tapi tetap membedakan aksen (utf8mb4_0900_as_ci),
+-- sama dengan aturan duplikat di aplikasi (StudentStore.namaEqualsIgnoreCase / NameIndex):
+-- "José" dan "Jose" dua siswa berbeda. SiswaRepository memakai kunci ini untuk
+-- INSERT ... ON DUPLICATE KEY UPDATE, jadi collation yang mengabaikan aksen (*_ai_ci) akan
+-- menimpa siswa yang satu dengan yang lain.
+
+CREATE DATABASE IF NOT EXISTS db_siswa_airlangga
+    CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_as_ci;
+
+USE db_siswa_airlangga;
+
+CREATE TABLE IF NOT EXISTS siswa (
+    id      INT AUTO_INCREMENT PRIMARY KEY,
+    nama    VARCHAR(150) NOT NULL COLLATE utf8mb4_0900_as_ci,
+    kelas   VARCHAR(10)  NOT NULL,
+    jurusan VARCHAR(20)  NOT NULL,
+    sekolah VARCHAR(100) NOT NULL,
+    UNIQUE KEY uk_siswa_nama (nama),
+    -- Semua query DataSiswaView berbentuk WHERE <filter sama-dengan> [AND nama LIKE 'x%']
+    -- ORDER BY <kolom>, nama LIMIT n; index di bawah membuat bentuk-bentuk umumnya menjadi range scan
+    -- sepanjang n baris (tanpa filesort), termasuk keyset "sesudah (kolom, nama)".
+    KEY idx_siswa_sjk_nama (sekolah, jurusan, kelas, nama), -- filter lengkap sekolah+jurusan+kelas
+    KEY idx_siswa_sekolah_nama (sekolah, nama),             -- filter/urut sekolah
+    KEY idx_siswa_jurusan_nama (jurusan, nama),             -- filter/urut jurusan (jurusan menentukan sekolah)
+    KEY idx_siswa_kelas_nama (kelas, nama)                  -- filter/urut kelas
+);
+
+-- Untuk database yang dibuat dengan collation utf8mb4_0900_ai_ci (siswa yang sudah tergabung
+-- karena beda aksen tidak kembali; import ulang dari CSV/snapshot untuk memulihkannya):
+-- ALTER DATABASE db_siswa_airlangga CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_as_ci;
+-- ALTER TABLE siswa MODIFY nama VARCHAR(150) NOT NULL COLLATE utf8mb4_0900_as_ci;
+
+-- Untuk database yang dibuat dengan versi skema sebelumnya:
+-- ALTER TABLE siswa
+--     ADD KEY idx_siswa_sjk_nama (sekolah, jurusan, kelas, nama),
+--     ADD KEY idx_siswa_sekolah_nama (sekolah, nama),
+--     ADD KEY idx_siswa_jurusan_nama (jurusan, nama),
+--     ADD KEY idx_siswa_kelas_nama (kelas, nama);